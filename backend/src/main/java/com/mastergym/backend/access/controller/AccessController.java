@@ -0,0 +1,29 @@
+package com.mastergym.backend.access.controller;
+
+import com.mastergym.backend.access.dto.AccessCheckResponse;
+import com.mastergym.backend.access.service.AccessIndexService;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.gym.GymContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/access")
+public class AccessController {
+
+    private final AccessIndexService accessIndexService;
+
+    public AccessController(AccessIndexService accessIndexService) {
+        this.accessIndexService = accessIndexService;
+    }
+
+    @GetMapping("/check")
+    public AccessCheckResponse check(@RequestParam String cedula) {
+        if (cedula.isBlank()) {
+            throw new BadRequestException("cedula es requerida");
+        }
+        return accessIndexService.check(GymContext.requireGymId(), cedula);
+    }
+}
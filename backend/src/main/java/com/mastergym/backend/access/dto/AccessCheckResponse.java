@@ -0,0 +1,17 @@
+package com.mastergym.backend.access.dto;
+
+import com.mastergym.backend.common.enums.ClientStatus;
+
+import java.time.LocalDate;
+
+public record AccessCheckResponse(
+        boolean allowed,
+        Long clientId,
+        ClientStatus estado,
+        LocalDate fechaVencimiento,
+        Long diasRestantes
+) {
+    public static AccessCheckResponse unknown() {
+        return new AccessCheckResponse(false, null, null, null, null);
+    }
+}
@@ -0,0 +1,172 @@
+package com.mastergym.backend.access.service;
+
+import com.mastergym.backend.access.dto.AccessCheckResponse;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientStatusCalculator;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.text.TextNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Indice en memoria cedula -> vigencia por gym; el chequeo de acceso no toca la base de datos.
+// Una cedula puede estar en varios clientes: se guardan todos y basta que uno este vigente para entrar
+@Service
+public class AccessIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessIndexService.class);
+
+    private final ClientRepository clientRepository;
+    private final Map<Long, Map<String, List<AccessEntry>>> gyms = new ConcurrentHashMap<>();
+
+    public AccessIndexService(ClientRepository clientRepository) {
+        this.clientRepository = clientRepository;
+    }
+
+    private record AccessEntry(Long clientId, LocalDate fechaInicioMembresia, LocalDate fechaVencimiento) {}
+
+    public AccessCheckResponse check(Long gymId, String cedula) {
+        String key = key(cedula);
+        if (key == null) return AccessCheckResponse.unknown();
+        List<AccessEntry> entries = gymIndex(gymId).get(key);
+        if (entries == null) return AccessCheckResponse.unknown();
+
+        // Entra si cualquiera de sus clientes esta ACTIVO hoy; de los candidatos se informa el que vence mas tarde
+        LocalDate today = LocalDate.now();
+        List<AccessEntry> active = entries.stream().filter(e -> statusOn(e, today) == ClientStatus.ACTIVO).toList();
+        AccessEntry entry = (active.isEmpty() ? entries : active).stream()
+                .reduce(AccessIndexService::laterExpiry)
+                .orElseThrow();
+        ClientStatus estado = statusOn(entry, today);
+        boolean allowed = estado == ClientStatus.ACTIVO;
+        Long diasRestantes = allowed ? ChronoUnit.DAYS.between(today, entry.fechaVencimiento()) : null;
+        return new AccessCheckResponse(allowed, entry.clientId(), estado, entry.fechaVencimiento(), diasRestantes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Map<Long, Map<String, List<AccessEntry>>> loaded = new HashMap<>();
+        for (Object[] row : clientRepository.findAccessRows()) {
+            Long gymId = (Long) row[0];
+            index(loaded.computeIfAbsent(gymId, id -> new ConcurrentHashMap<>()), row);
+        }
+        gyms.putAll(loaded);
+        log.info("Indice de acceso construido: {} gyms", loaded.size());
+    }
+
+    // Red de seguridad ante eventos perdidos mientras un gym se cargaba
+    @Scheduled(cron = "${app.access.index.refresh-cron:0 0 * * * *}")
+    public void refreshAll() {
+        for (Long gymId : List.copyOf(gyms.keySet())) {
+            try {
+                gyms.put(gymId, load(gymId));
+            } catch (Exception ex) {
+                log.warn("No se pudo refrescar el indice de acceso del gym {}: {}", gymId, ex.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        Map<String, List<AccessEntry>> index = gyms.get(event.gymId());
+        if (index == null) return;
+        ClientSnapshot before = event.before();
+        ClientSnapshot after = event.after();
+        if (before != null) {
+            String key = key(before.cedula());
+            if (key != null) {
+                index.computeIfPresent(key, (k, current) -> without(current, before.id()));
+            }
+        }
+        if (after != null) {
+            String key = key(after.cedula());
+            if (key != null) {
+                AccessEntry entry = new AccessEntry(after.id(), after.fechaInicioMembresia(), after.fechaVencimiento());
+                index.compute(key, (k, current) -> with(current, entry));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientsBulkChanged(ClientsBulkChangedEvent event) {
+        if (gyms.containsKey(event.gymId())) {
+            gyms.put(event.gymId(), load(event.gymId()));
+        }
+    }
+
+    private Map<String, List<AccessEntry>> gymIndex(Long gymId) {
+        Map<String, List<AccessEntry>> index = gyms.get(gymId);
+        if (index != null) return index;
+        // Solo ocurre si se consulta antes de que termine la carga inicial
+        Map<String, List<AccessEntry>> loaded = load(gymId);
+        index = gyms.putIfAbsent(gymId, loaded);
+        return index != null ? index : loaded;
+    }
+
+    private Map<String, List<AccessEntry>> load(Long gymId) {
+        Map<String, List<AccessEntry>> index = new ConcurrentHashMap<>();
+        for (Object[] row : clientRepository.findAccessRowsByGymId(gymId)) {
+            index(index, row);
+        }
+        return index;
+    }
+
+    private static void index(Map<String, List<AccessEntry>> index, Object[] row) {
+        String key = key((String) row[2]);
+        if (key == null) return;
+        AccessEntry entry = new AccessEntry((Long) row[1], (LocalDate) row[3], (LocalDate) row[4]);
+        index.compute(key, (k, current) -> with(current, entry));
+    }
+
+    // Listas inmutables: check las lee sin bloqueo mientras compute las reemplaza
+    private static List<AccessEntry> with(List<AccessEntry> entries, AccessEntry entry) {
+        List<AccessEntry> result = new ArrayList<>(entries == null ? 1 : entries.size() + 1);
+        if (entries != null) {
+            for (AccessEntry current : entries) {
+                if (!current.clientId().equals(entry.clientId())) result.add(current);
+            }
+        }
+        result.add(entry);
+        return List.copyOf(result);
+    }
+
+    // null quita la cedula del indice cuando no queda ningun cliente con ella
+    private static List<AccessEntry> without(List<AccessEntry> entries, Long clientId) {
+        List<AccessEntry> remaining = entries.stream().filter(entry -> !entry.clientId().equals(clientId)).toList();
+        return remaining.isEmpty() ? null : remaining;
+    }
+
+    private static ClientStatus statusOn(AccessEntry entry, LocalDate today) {
+        return ClientStatusCalculator.resolve(entry.fechaInicioMembresia(), entry.fechaVencimiento(), today);
+    }
+
+    private static AccessEntry laterExpiry(AccessEntry a, AccessEntry b) {
+        if (a.fechaVencimiento() == null) return b;
+        if (b.fechaVencimiento() == null) return a;
+        return b.fechaVencimiento().isAfter(a.fechaVencimiento()) ? b : a;
+    }
+
+    private static String key(String cedula) {
+        if (cedula == null) return null;
+        String digits = TextNormalizer.digits(cedula);
+        if (!digits.isEmpty()) return digits;
+        String trimmed = cedula.trim().toUpperCase(Locale.ROOT);
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mastergym.backend.attendance.controller;
+
+import com.mastergym.backend.attendance.dto.AttendanceResponse;
+import com.mastergym.backend.attendance.dto.CheckInRequest;
+import com.mastergym.backend.attendance.service.AttendanceService;
+import com.mastergym.backend.common.error.BadRequestException;
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/attendance")
+public class AttendanceController {
+
+    private final AttendanceService attendanceService;
+
+    public AttendanceController(AttendanceService attendanceService) {
+        this.attendanceService = attendanceService;
+    }
+
+    @PostMapping("/check-in")
+    public ResponseEntity<AttendanceResponse> checkIn(@Valid @RequestBody CheckInRequest request) {
+        AttendanceResponse accepted = attendanceService.checkIn(request.getClientId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(accepted);
+    }
+
+    @GetMapping
+    public Page<AttendanceResponse> listByClient(
+            @RequestParam Long clientId,
+            @PageableDefault(size = 50, sort = "checkedInAt", direction = Sort.Direction.DESC) Pageable pageable
+    ) {
+        if (pageable.getPageSize() > 200) {
+            throw new BadRequestException("size máximo permitido: 200");
+        }
+        return attendanceService.listByClient(clientId, pageable);
+    }
+}
@@ -0,0 +1,10 @@
+package com.mastergym.backend.attendance.dto;
+
+import java.time.OffsetDateTime;
+
+// id es null mientras la visita sigue en el buffer (respuesta del check-in)
+public record AttendanceResponse(
+        Long id,
+        Long clientId,
+        OffsetDateTime checkedInAt
+) {}
@@ -0,0 +1,19 @@
+package com.mastergym.backend.attendance.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class CheckInRequest {
+
+    @NotNull(message = "clientId es obligatorio")
+    @Positive(message = "clientId debe ser mayor a 0")
+    private Long clientId;
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+}
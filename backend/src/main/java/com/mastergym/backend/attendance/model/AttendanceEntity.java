@@ -0,0 +1,50 @@
+package com.mastergym.backend.attendance.model;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+// Solo inserciones: las filas llegan por lotes desde AttendanceBuffer
+@Entity
+@Table(
+        name = "attendance",
+        indexes = {
+                @Index(name = "idx_attendance_gym_client_time", columnList = "gym_id, client_id, checked_in_at"),
+                @Index(name = "idx_attendance_gym_time", columnList = "gym_id, checked_in_at")
+        }
+)
+public class AttendanceEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gym_id", nullable = false)
+    private Long gymId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "client_id", nullable = false)
+    private ClientEntity client;
+
+    @Column(name = "checked_in_at", nullable = false)
+    private OffsetDateTime checkedInAt;
+
+    public AttendanceEntity() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGymId() {
+        return gymId;
+    }
+
+    public ClientEntity getClient() {
+        return client;
+    }
+
+    public OffsetDateTime getCheckedInAt() {
+        return checkedInAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mastergym.backend.attendance.repository;
+
+import com.mastergym.backend.attendance.model.AttendanceEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AttendanceRepository extends JpaRepository<AttendanceEntity, Long> {
+
+    Page<AttendanceEntity> findByGymIdAndClientId(Long gymId, Long clientId, Pageable pageable);
+}
@@ -0,0 +1,255 @@
+package com.mastergym.backend.attendance.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Buffer de check-ins: el request solo encola; las filas se insertan por lotes multi-fila.
+// Si la base no responde, el lote se agrega a un archivo spool que se reintenta en cada flush.
+@Component
+public class AttendanceBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceBuffer.class);
+    private static final String SPOOL_FILE = "attendance.spool";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Path spoolPath;
+
+    private final Queue<PendingCheckIn> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attendance-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AttendanceBuffer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.attendance.batch-size:200}") int batchSize,
+            @Value("${app.attendance.spool-dir:data/spool}") String spoolDir
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.spoolPath = Paths.get(spoolDir).resolve(SPOOL_FILE);
+    }
+
+    public record PendingCheckIn(Long gymId, Long clientId, OffsetDateTime checkedInAt) {}
+
+    public void append(PendingCheckIn checkIn) {
+        queue.add(checkIn);
+        if (queued.incrementAndGet() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayOnStartup() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${app.attendance.flush-interval-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) return;
+        try {
+            if (!replaySpool()) {
+                // Base aun caida: lo nuevo tambien va al spool para conservar el orden
+                spool(drain(Integer.MAX_VALUE));
+                return;
+            }
+            List<PendingCheckIn> batch;
+            while (!(batch = drain(batchSize)).isEmpty()) {
+                int done = insert(batch);
+                if (done < batch.size()) {
+                    spool(batch.subList(done, batch.size()));
+                    spool(drain(Integer.MAX_VALUE));
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        flushLock.lock();
+        try {
+            List<PendingCheckIn> remaining = drain(Integer.MAX_VALUE);
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                List<PendingCheckIn> batch = remaining.subList(from, Math.min(remaining.size(), from + batchSize));
+                int done = insert(batch);
+                if (done < batch.size()) {
+                    spool(remaining.subList(from + done, remaining.size()));
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pending() {
+        return queued.get();
+    }
+
+    private List<PendingCheckIn> drain(int max) {
+        List<PendingCheckIn> batch = new ArrayList<>();
+        PendingCheckIn next;
+        while (batch.size() < max && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        queued.addAndGet(-batch.size());
+        return batch;
+    }
+
+    // Filas del inicio del lote ya resueltas (insertadas o descartadas por invalidas, ej. cliente borrado).
+    // Menos que batch.size() solo si la base dejo de responder: el resto va al spool sin duplicar lo ya insertado
+    private int insert(List<PendingCheckIn> batch) {
+        if (batch.isEmpty()) return 0;
+        try {
+            jdbcTemplate.update(multiRowInsert(batch.size()), toArgs(batch));
+            return batch.size();
+        } catch (DataIntegrityViolationException ex) {
+            for (int i = 0; i < batch.size(); i++) {
+                PendingCheckIn row = batch.get(i);
+                try {
+                    jdbcTemplate.update(multiRowInsert(1), toArgs(List.of(row)));
+                } catch (DataIntegrityViolationException rowEx) {
+                    log.warn("Check-in descartado (cliente {} del gym {}): {}", row.clientId(), row.gymId(), rowEx.getMessage());
+                } catch (DataAccessException rowEx) {
+                    log.warn("No se pudo guardar check-ins de asistencia ({} filas pendientes): {}", batch.size() - i, rowEx.getMessage());
+                    return i;
+                }
+            }
+            return batch.size();
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo guardar lote de asistencia ({} filas): {}", batch.size(), ex.getMessage());
+            return 0;
+        }
+    }
+
+    private static String multiRowInsert(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO attendance (gym_id, client_id, checked_in_at) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(?, ?, ?)");
+        }
+        return sql.toString();
+    }
+
+    private static Object[] toArgs(List<PendingCheckIn> batch) {
+        Object[] args = new Object[batch.size() * 3];
+        int i = 0;
+        for (PendingCheckIn row : batch) {
+            args[i++] = row.gymId();
+            args[i++] = row.clientId();
+            args[i++] = Timestamp.from(row.checkedInAt().toInstant());
+        }
+        return args;
+    }
+
+    private void spool(List<PendingCheckIn> rows) {
+        if (rows.isEmpty()) return;
+        List<String> lines = rows.stream().map(AttendanceBuffer::spoolLine).toList();
+        try {
+            Files.createDirectories(spoolPath.getParent());
+            Files.write(spoolPath, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException ex) {
+            // Ultimo recurso: devolver al buffer y reintentar en el proximo flush
+            log.error("No se pudo escribir el spool de asistencia {}: {}", spoolPath, ex.getMessage());
+            queue.addAll(rows);
+            queued.addAndGet(rows.size());
+        }
+    }
+
+    // true si el spool quedo vacio
+    private boolean replaySpool() {
+        if (!Files.exists(spoolPath)) return true;
+        List<PendingCheckIn> rows = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(spoolPath, StandardCharsets.UTF_8)) {
+                PendingCheckIn row = parseSpoolLine(line);
+                if (row != null) rows.add(row);
+            }
+        } catch (IOException ex) {
+            log.error("No se pudo leer el spool de asistencia {}: {}", spoolPath, ex.getMessage());
+            return false;
+        }
+
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<PendingCheckIn> batch = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            int done = insert(batch);
+            if (done < batch.size()) {
+                rewriteSpool(rows.subList(from + done, rows.size()));
+                return false;
+            }
+        }
+        try {
+            Files.delete(spoolPath);
+            log.info("Spool de asistencia reprocesado: {} check-ins", rows.size());
+        } catch (IOException ex) {
+            log.error("No se pudo eliminar el spool de asistencia {}: {}", spoolPath, ex.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    private void rewriteSpool(List<PendingCheckIn> remaining) {
+        List<String> lines = remaining.stream().map(AttendanceBuffer::spoolLine).toList();
+        try {
+            Files.write(spoolPath, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        } catch (IOException ex) {
+            log.error("No se pudo reescribir el spool de asistencia {}: {}", spoolPath, ex.getMessage());
+        }
+    }
+
+    private static String spoolLine(PendingCheckIn row) {
+        return row.gymId() + "," + row.clientId() + "," + row.checkedInAt();
+    }
+
+    private static PendingCheckIn parseSpoolLine(String line) {
+        String[] parts = line.split(",", 3);
+        try {
+            if (parts.length != 3) throw new IllegalArgumentException("columnas esperadas: 3");
+            return new PendingCheckIn(Long.valueOf(parts[0]), Long.valueOf(parts[1]), OffsetDateTime.parse(parts[2]));
+        } catch (RuntimeException ex) {
+            log.warn("Linea de spool de asistencia ignorada '{}': {}", line, ex.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mastergym.backend.attendance.service;
+
+import com.mastergym.backend.attendance.dto.AttendanceResponse;
+import com.mastergym.backend.attendance.model.AttendanceEntity;
+import com.mastergym.backend.attendance.repository.AttendanceRepository;
+import com.mastergym.backend.client.service.ClientLookupCache;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.gym.GymContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+
+@Service
+public class AttendanceService {
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceBuffer attendanceBuffer;
+    private final ClientLookupCache clientLookupCache;
+
+    public AttendanceService(
+            AttendanceRepository attendanceRepository,
+            AttendanceBuffer attendanceBuffer,
+            ClientLookupCache clientLookupCache
+    ) {
+        this.attendanceRepository = attendanceRepository;
+        this.attendanceBuffer = attendanceBuffer;
+        this.clientLookupCache = clientLookupCache;
+    }
+
+    public AttendanceResponse checkIn(Long clientId) {
+        Long gymId = GymContext.requireGymId();
+        requireClient(gymId, clientId);
+        OffsetDateTime now = OffsetDateTime.now();
+        attendanceBuffer.append(new AttendanceBuffer.PendingCheckIn(gymId, clientId, now));
+        return new AttendanceResponse(null, clientId, now);
+    }
+
+    // Las visitas aun en el buffer aparecen tras el siguiente flush
+    public Page<AttendanceResponse> listByClient(Long clientId, Pageable pageable) {
+        Long gymId = GymContext.requireGymId();
+        requireClient(gymId, clientId);
+        return attendanceRepository.findByGymIdAndClientId(gymId, clientId, pageable).map(this::toResponse);
+    }
+
+    private void requireClient(Long gymId, Long clientId) {
+        if (clientLookupCache.find(gymId, clientId).isEmpty()) {
+            throw new NotFoundException("Cliente no encontrado");
+        }
+    }
+
+    private AttendanceResponse toResponse(AttendanceEntity e) {
+        return new AttendanceResponse(e.getId(), e.getClient().getId(), e.getCheckedInAt());
+    }
+}
@@ -1,36 +1,82 @@
 package com.mastergym.backend.client.controller;
 
+import com.mastergym.backend.client.dto.ClientDeletionResponse;
+import com.mastergym.backend.client.dto.ClientImportResponse;
+import com.mastergym.backend.client.dto.ClientOverdueResponse;
 import com.mastergym.backend.client.dto.ClientRequest;
 import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.dto.ClientStatsResponse;
+import com.mastergym.backend.client.dto.ClientSuggestion;
+import com.mastergym.backend.client.service.ClientImportService;
+import com.mastergym.backend.client.service.ClientOverdueService;
 import com.mastergym.backend.client.service.ClientReminderService;
 import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.client.service.ClientStatsService;
+import com.mastergym.backend.client.service.ClientSuggestService;
+import com.mastergym.backend.common.enums.ClientStatus;
 import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.export.ExportFormat;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.idempotency.IdempotencyService;
+import com.mastergym.backend.common.idempotency.IdempotentResult;
+import com.mastergym.backend.common.pagination.CursorPage;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.mastergym.backend.client.dto.ClientUpdateRequest;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/clients")
 public class ClientController {
 
     private final ClientService clientService;
     private final ClientReminderService clientReminderService;
+    private final ClientImportService clientImportService;
+    private final ClientStatsService clientStatsService;
+    private final ClientSuggestService clientSuggestService;
+    private final ClientOverdueService clientOverdueService;
+    private final IdempotencyService idempotencyService;
 
-    public ClientController(ClientService clientService, ClientReminderService clientReminderService) {
+    public ClientController(
+            ClientService clientService,
+            ClientReminderService clientReminderService,
+            ClientImportService clientImportService,
+            ClientStatsService clientStatsService,
+            ClientSuggestService clientSuggestService,
+            ClientOverdueService clientOverdueService,
+            IdempotencyService idempotencyService
+    ) {
         this.clientService = clientService;
         this.clientReminderService = clientReminderService;
+        this.clientImportService = clientImportService;
+        this.clientStatsService = clientStatsService;
+        this.clientSuggestService = clientSuggestService;
+        this.clientOverdueService = clientOverdueService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
-    public ResponseEntity<ClientResponse> createClient(@Valid @RequestBody ClientRequest request) {
-        ClientResponse created = clientService.createClient(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<ClientResponse> createClient(
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody ClientRequest request
+    ) {
+        IdempotentResult<ClientResponse> result = idempotencyService.execute(
+                idempotencyKey, "POST /api/clients", request, ClientResponse.class, () -> clientService.createClient(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
     }
 
     @GetMapping
@@ -44,6 +90,77 @@ public class ClientController {
         return clientService.listClients(search, pageable);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ClientImportResponse importClients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) {
+        boolean ndjson = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON);
+        return clientImportService.importClients(body, ndjson);
+    }
+
+    @GetMapping(params = "after")
+    public CursorPage<ClientResponse> listClientsAfter(
+            @RequestParam(required = false) String search,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        if (size < 1 || size > 200) {
+            throw new BadRequestException("size debe estar entre 1 y 200");
+        }
+        return clientService.listClientsAfter(search, after, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        Long gymId = GymContext.requireGymId();
+        StreamingResponseBody body = output -> clientService.exportClients(gymId, search, exportFormat, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"clientes." + exportFormat.extension() + "\"")
+                .contentType(exportFormat.mediaType())
+                .body(body);
+    }
+
+    @GetMapping("/stats")
+    public ClientStatsResponse stats() {
+        return clientStatsService.stats(GymContext.requireGymId());
+    }
+
+    @GetMapping("/overdue")
+    public List<ClientOverdueResponse> overdue(@RequestParam(defaultValue = "200") int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new BadRequestException("limit debe estar entre 1 y 1000");
+        }
+        return clientOverdueService.overdue(GymContext.requireGymId(), LocalDate.now(), limit);
+    }
+
+    @GetMapping("/suggest")
+    public List<ClientSuggestion> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) ClientStatus estado
+    ) {
+        if (limit < 1 || limit > 50) {
+            throw new BadRequestException("limit debe estar entre 1 y 50");
+        }
+        return clientSuggestService.suggest(GymContext.requireGymId(), q, limit, estado);
+    }
+
+    @GetMapping("/search")
+    public List<ClientResponse> searchClients(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (limit < 1 || limit > 50) {
+            throw new BadRequestException("limit debe estar entre 1 y 50");
+        }
+        return clientService.searchClients(q, limit);
+    }
+
 
     @GetMapping("/{id}")
     public ClientResponse getClientById(
@@ -66,6 +183,17 @@ public class ClientController {
         return ResponseEntity.noContent().build();
     }
 
+    // Estado de la purga en segundo plano del cliente borrado
+    @GetMapping("/{id}/deletion")
+    public ClientDeletionResponse getClientDeletion(@PathVariable Long id) {
+        return clientService.getDeletionForClient(id);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    public ClientDeletionResponse getDeletion(@PathVariable Long jobId) {
+        return clientService.getDeletion(jobId);
+    }
+
     @PostMapping("/{id}/reminder")
     public ResponseEntity<Void> sendReminder(@PathVariable Long id) {
         clientReminderService.sendReminder(id);
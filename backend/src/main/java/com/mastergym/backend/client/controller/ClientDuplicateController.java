@@ -0,0 +1,40 @@
+package com.mastergym.backend.client.controller;
+
+import com.mastergym.backend.client.dto.ClientMergeRequest;
+import com.mastergym.backend.client.dto.ClientMergeResponse;
+import com.mastergym.backend.client.dto.DuplicateReportResponse;
+import com.mastergym.backend.client.service.ClientDuplicateService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/clients/duplicates")
+public class ClientDuplicateController {
+
+    private final ClientDuplicateService clientDuplicateService;
+
+    public ClientDuplicateController(ClientDuplicateService clientDuplicateService) {
+        this.clientDuplicateService = clientDuplicateService;
+    }
+
+    @GetMapping
+    public DuplicateReportResponse report() {
+        return clientDuplicateService.report();
+    }
+
+    @PostMapping("/scan")
+    public ResponseEntity<DuplicateReportResponse> scan() {
+        clientDuplicateService.requestScan();
+        return ResponseEntity.accepted().body(clientDuplicateService.report());
+    }
+
+    @PostMapping("/merge")
+    public ClientMergeResponse merge(@Valid @RequestBody ClientMergeRequest request) {
+        return clientDuplicateService.merge(request.getKeepId(), request.getRemoveId());
+    }
+}
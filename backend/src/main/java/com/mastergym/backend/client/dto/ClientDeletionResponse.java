@@ -0,0 +1,32 @@
+package com.mastergym.backend.client.dto;
+
+import com.mastergym.backend.client.model.ClientDeletionEntity;
+import com.mastergym.backend.common.enums.ClientDeletionStatus;
+
+import java.time.OffsetDateTime;
+
+public record ClientDeletionResponse(
+        Long id,
+        Long clientId,
+        ClientDeletionStatus status,
+        long paymentsDeleted,
+        long measurementsDeleted,
+        long attendanceDeleted,
+        OffsetDateTime requestedAt,
+        OffsetDateTime finishedAt,
+        String lastError
+) {
+    public static ClientDeletionResponse from(ClientDeletionEntity e) {
+        return new ClientDeletionResponse(
+                e.getId(),
+                e.getClientId(),
+                e.getStatus(),
+                e.getPaymentsDeleted(),
+                e.getMeasurementsDeleted(),
+                e.getAttendanceDeleted(),
+                e.getRequestedAt(),
+                e.getFinishedAt(),
+                e.getLastError()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.mastergym.backend.client.dto;
+
+import java.util.List;
+
+public record ClientImportResponse(
+        int totalRows,
+        int imported,
+        int failed,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+    public record RowError(
+            int row,
+            String message
+    ) {}
+}
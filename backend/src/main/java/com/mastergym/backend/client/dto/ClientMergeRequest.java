@@ -0,0 +1,31 @@
+package com.mastergym.backend.client.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class ClientMergeRequest {
+
+    @NotNull(message = "keepId es obligatorio")
+    @Positive(message = "keepId debe ser mayor a 0")
+    private Long keepId;
+
+    @NotNull(message = "removeId es obligatorio")
+    @Positive(message = "removeId debe ser mayor a 0")
+    private Long removeId;
+
+    public Long getKeepId() {
+        return keepId;
+    }
+
+    public void setKeepId(Long keepId) {
+        this.keepId = keepId;
+    }
+
+    public Long getRemoveId() {
+        return removeId;
+    }
+
+    public void setRemoveId(Long removeId) {
+        this.removeId = removeId;
+    }
+}
@@ -0,0 +1,10 @@
+package com.mastergym.backend.client.dto;
+
+public record ClientMergeResponse(
+        ClientResponse client,
+        Long removedId,
+        long paymentsMoved,
+        long measurementsMoved,
+        long attendanceMoved,
+        ClientDeletionResponse deletion
+) {}
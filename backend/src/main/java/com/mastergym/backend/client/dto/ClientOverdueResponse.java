@@ -0,0 +1,27 @@
+package com.mastergym.backend.client.dto;
+
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Fila de la lista de cobro: ultimo pago y plan habitual pueden venir nulos si el cliente no tiene pagos
+public record ClientOverdueResponse(
+        Long id,
+        String nombre,
+        String apellido,
+        String cedula,
+        String telefono,
+        String email,
+        ClientStatus estado,
+        LocalDate fechaVencimiento,
+        long diasVencido,
+        LocalDate ultimoPagoFecha,
+        BigDecimal ultimoPagoMonto,
+        PaymentCurrency ultimoPagoMoneda,
+        Long planId,
+        String planNombre,
+        BigDecimal planPrecio,
+        PaymentCurrency planMoneda
+) {}
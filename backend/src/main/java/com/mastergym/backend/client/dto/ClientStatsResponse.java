@@ -0,0 +1,13 @@
+package com.mastergym.backend.client.dto;
+
+import java.time.OffsetDateTime;
+
+public record ClientStatsResponse(
+        long total,
+        long activos,
+        long morosos,
+        long inactivos,
+        long vencenEstaSemana,
+        long nuevosEsteMes,
+        OffsetDateTime reconciliadoEn
+) {}
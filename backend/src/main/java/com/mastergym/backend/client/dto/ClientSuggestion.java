@@ -0,0 +1,14 @@
+package com.mastergym.backend.client.dto;
+
+import com.mastergym.backend.common.enums.ClientStatus;
+
+import java.time.LocalDate;
+
+public record ClientSuggestion(
+        Long id,
+        String nombre,
+        String apellido,
+        String cedula,
+        ClientStatus estado,
+        LocalDate fechaVencimiento
+) {}
@@ -0,0 +1,13 @@
+package com.mastergym.backend.client.dto;
+
+import java.util.List;
+
+// reasons: claves compartidas ("cedula", "telefono", "email", "nombre")
+public record DuplicatePair(
+        Long clientId,
+        String nombreCompleto,
+        Long otherClientId,
+        String otherNombreCompleto,
+        double score,
+        List<String> reasons
+) {}
@@ -0,0 +1,12 @@
+package com.mastergym.backend.client.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// generatedAt == null: el gym aun no tiene un analisis terminado
+public record DuplicateReportResponse(
+        OffsetDateTime generatedAt,
+        int clientsScanned,
+        boolean running,
+        List<DuplicatePair> pairs
+) {}
@@ -0,0 +1,11 @@
+package com.mastergym.backend.client.event;
+
+import com.mastergym.backend.client.model.ClientSnapshot;
+
+// before == null: cliente creado; after == null: cliente eliminado
+public record ClientChangedEvent(
+        Long gymId,
+        Long clientId,
+        ClientSnapshot before,
+        ClientSnapshot after
+) {}
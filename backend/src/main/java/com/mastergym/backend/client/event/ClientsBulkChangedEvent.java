@@ -0,0 +1,4 @@
+package com.mastergym.backend.client.event;
+
+// Cambios masivos sin detalle por cliente (importacion, barrido de estados)
+public record ClientsBulkChangedEvent(Long gymId) {}
@@ -0,0 +1,100 @@
+package com.mastergym.backend.client.model;
+
+import com.mastergym.backend.common.enums.ClientDeletionStatus;
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+// Trabajo de purga del historial de un cliente borrado; los contadores se actualizan por lote
+@Entity
+@Table(
+        name = "client_deletions",
+        indexes = {
+                @Index(name = "idx_client_deletions_status", columnList = "status, requested_at")
+        }
+)
+public class ClientDeletionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gym_id", nullable = false)
+    private Long gymId;
+
+    // Sin FK: la fila del cliente desaparece al final de la purga
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ClientDeletionStatus status = ClientDeletionStatus.PENDING;
+
+    @Column(name = "payments_deleted", nullable = false)
+    private long paymentsDeleted;
+
+    @Column(name = "measurements_deleted", nullable = false)
+    private long measurementsDeleted;
+
+    @Column(name = "attendance_deleted", nullable = false)
+    private long attendanceDeleted;
+
+    @Column(name = "requested_at", nullable = false)
+    private OffsetDateTime requestedAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public ClientDeletionEntity() {
+    }
+
+    public ClientDeletionEntity(Long gymId, Long clientId) {
+        this.gymId = gymId;
+        this.clientId = clientId;
+        this.status = ClientDeletionStatus.PENDING;
+        this.requestedAt = OffsetDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGymId() {
+        return gymId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public ClientDeletionStatus getStatus() {
+        return status;
+    }
+
+    public long getPaymentsDeleted() {
+        return paymentsDeleted;
+    }
+
+    public long getMeasurementsDeleted() {
+        return measurementsDeleted;
+    }
+
+    public long getAttendanceDeleted() {
+        return attendanceDeleted;
+    }
+
+    public OffsetDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
@@ -1,12 +1,23 @@
 package com.mastergym.backend.client.model;
 
 import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.text.TextNormalizer;
 import jakarta.persistence.*;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
+// Los clientes marcados como borrados quedan fuera de toda consulta JPA mientras se purga su historial
 @Entity
-@Table(name = "clients")
+@SQLRestriction("deleted_at is null")
+@Table(
+        name = "clients",
+        indexes = {
+                @Index(name = "idx_clients_gym_id", columnList = "gym_id"),
+                @Index(name = "idx_clients_gym_vencimiento", columnList = "gym_id, fecha_vencimiento"),
+                @Index(name = "idx_clients_gym_registro", columnList = "gym_id, fecha_registro, id")
+        }
+)
 public class ClientEntity {
 
     @Id
@@ -39,6 +50,18 @@ public class ClientEntity {
 
     private String notas;
 
+    // Texto normalizado (sin tildes, minusculas) para busqueda; en Postgres lleva indice trigram
+    @Column(name = "search_text", length = 600)
+    private String searchText;
+
+    @Column(name = "deleted_at")
+    private OffsetDateTime deletedAt;
+
+    // Version optimista: las escrituras JPA y los UPDATE de membresia del ledger solo aplican sobre la version leida
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private long version;
+
     public ClientEntity() {
     }
 
@@ -55,6 +78,28 @@ public class ClientEntity {
         this.fechaRegistro = OffsetDateTime.now();
     }
 
+    @PrePersist
+    @PreUpdate
+    void refreshSearchText() {
+        this.searchText = buildSearchText();
+    }
+
+    public String buildSearchText() {
+        StringBuilder sb = new StringBuilder();
+        appendToken(sb, TextNormalizer.fold(nombre));
+        appendToken(sb, TextNormalizer.fold(apellido));
+        appendToken(sb, TextNormalizer.digits(cedula));
+        appendToken(sb, TextNormalizer.digits(telefono));
+        appendToken(sb, TextNormalizer.fold(email));
+        return sb.toString();
+    }
+
+    private static void appendToken(StringBuilder sb, String token) {
+        if (token == null || token.isEmpty()) return;
+        if (!sb.isEmpty()) sb.append(' ');
+        sb.append(token);
+    }
+
     // Getters y setters
 
     public Long getId() {
@@ -148,4 +193,24 @@ public class ClientEntity {
     public void setNotas(String notas) {
         this.notas = notas;
     }
+
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public void setSearchText(String searchText) {
+        this.searchText = searchText;
+    }
+
+    public OffsetDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(OffsetDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,39 @@
+package com.mastergym.backend.client.model;
+
+import com.mastergym.backend.common.enums.ClientStatus;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+// Copia inmutable de ClientEntity: segura para caches e indices compartidos entre hilos
+public record ClientSnapshot(
+        Long id,
+        Long gymId,
+        String nombre,
+        String apellido,
+        String cedula,
+        String telefono,
+        String email,
+        ClientStatus estado,
+        OffsetDateTime fechaRegistro,
+        LocalDate fechaInicioMembresia,
+        LocalDate fechaVencimiento,
+        String notas
+) {
+    public static ClientSnapshot from(ClientEntity e) {
+        return new ClientSnapshot(
+                e.getId(),
+                e.getGymId(),
+                e.getNombre(),
+                e.getApellido(),
+                e.getCedula(),
+                e.getTelefono(),
+                e.getEmail(),
+                e.getEstado(),
+                e.getFechaRegistro(),
+                e.getFechaInicioMembresia(),
+                e.getFechaVencimiento(),
+                e.getNotas()
+        );
+    }
+}
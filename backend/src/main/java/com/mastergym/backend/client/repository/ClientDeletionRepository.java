@@ -0,0 +1,18 @@
+package com.mastergym.backend.client.repository;
+
+import com.mastergym.backend.client.model.ClientDeletionEntity;
+import com.mastergym.backend.common.enums.ClientDeletionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ClientDeletionRepository extends JpaRepository<ClientDeletionEntity, Long> {
+
+    Optional<ClientDeletionEntity> findByIdAndGymId(Long id, Long gymId);
+
+    Optional<ClientDeletionEntity> findFirstByGymIdAndClientIdOrderByIdDesc(Long gymId, Long clientId);
+
+    List<ClientDeletionEntity> findTop20ByStatusInOrderByRequestedAtAsc(Collection<ClientDeletionStatus> statuses);
+}
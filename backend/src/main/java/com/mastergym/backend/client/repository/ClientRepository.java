@@ -1,17 +1,111 @@
 package com.mastergym.backend.client.repository;
 
 import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.common.enums.ClientStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 
 public interface ClientRepository extends JpaRepository<ClientEntity, Long>, JpaSpecificationExecutor<ClientEntity> {
 
     Optional<ClientEntity> findByIdAndGymId(Long id, Long gymId);
 
+    List<ClientEntity> findByGymIdAndIdIn(Long gymId, Collection<Long> ids);
+
+    boolean existsByGymIdAndCedulaAndIdNotIn(Long gymId, String cedula, Collection<Long> ids);
+
     List<ClientEntity> findByFechaVencimiento(LocalDate fechaVencimiento);
 
+    List<ClientEntity> findTop500BySearchTextIsNull();
+
+    @Query("select c.cedula from ClientEntity c where c.gymId = :gymId and c.cedula is not null")
+    List<String> findCedulasByGymId(@Param("gymId") Long gymId);
+
+    @Query("select c.email from ClientEntity c where c.gymId = :gymId and c.email is not null")
+    List<String> findEmailsByGymId(@Param("gymId") Long gymId);
+
+    // Mismas reglas que ClientStatusCalculator sobre las fechas: no depende de que el sweeper ya haya corrido hoy
+    @Query("""
+            select
+              sum(case when c.fechaVencimiento is null or c.fechaInicioMembresia > :today then 1 else 0 end),
+              sum(case when c.fechaVencimiento < :today
+                        and (c.fechaInicioMembresia is null or c.fechaInicioMembresia <= :today) then 1 else 0 end),
+              sum(case when c.fechaVencimiento >= :today
+                        and (c.fechaInicioMembresia is null or c.fechaInicioMembresia <= :today) then 1 else 0 end)
+            from ClientEntity c where c.gymId = :gymId
+            """)
+    List<Object[]> countByStatusOn(@Param("gymId") Long gymId, @Param("today") LocalDate today);
+
+    @Query("""
+            select c.fechaVencimiento, count(c) from ClientEntity c
+            where c.gymId = :gymId and c.fechaVencimiento >= :from
+            group by c.fechaVencimiento
+            """)
+    List<Object[]> countByFechaVencimientoFrom(@Param("gymId") Long gymId, @Param("from") LocalDate from);
+
+    @Query("select count(c) from ClientEntity c where c.gymId = :gymId and c.fechaRegistro >= :from")
+    long countRegisteredSince(@Param("gymId") Long gymId, @Param("from") OffsetDateTime from);
+
+    @Query("""
+            select c.gymId, c.id, c.cedula, c.fechaInicioMembresia, c.fechaVencimiento from ClientEntity c
+            where c.cedula is not null
+            """)
+    List<Object[]> findAccessRows();
+
+    @Query("""
+            select c.gymId, c.id, c.cedula, c.fechaInicioMembresia, c.fechaVencimiento from ClientEntity c
+            where c.gymId = :gymId and c.cedula is not null
+            """)
+    List<Object[]> findAccessRowsByGymId(@Param("gymId") Long gymId);
+
+    @Query("""
+            select c.id, c.nombre, c.apellido, c.cedula, c.fechaInicioMembresia, c.fechaVencimiento from ClientEntity c
+            where c.gymId = :gymId
+            """)
+    List<Object[]> findSuggestRowsByGymId(@Param("gymId") Long gymId);
+
+    @Query("""
+            select c.id, c.nombre, c.apellido, c.cedula, c.telefono, c.email from ClientEntity c
+            where c.gymId = :gymId
+            """)
+    Stream<Object[]> streamDuplicateRows(@Param("gymId") Long gymId);
+
+    @Query("select distinct c.gymId from ClientEntity c")
+    List<Long> findDistinctGymIds();
+
+    @Modifying
+    @Query("""
+            update ClientEntity c set c.estado = :estado
+            where c.gymId = :gymId and c.estado <> :estado
+              and (c.fechaVencimiento is null or c.fechaInicioMembresia > :today)
+            """)
+    int markInactivo(@Param("gymId") Long gymId, @Param("today") LocalDate today, @Param("estado") ClientStatus estado);
+
+    @Modifying
+    @Query("""
+            update ClientEntity c set c.estado = :estado
+            where c.gymId = :gymId and c.estado <> :estado
+              and c.fechaVencimiento < :today
+              and (c.fechaInicioMembresia is null or c.fechaInicioMembresia <= :today)
+            """)
+    int markMoroso(@Param("gymId") Long gymId, @Param("today") LocalDate today, @Param("estado") ClientStatus estado);
+
+    @Modifying
+    @Query("""
+            update ClientEntity c set c.estado = :estado
+            where c.gymId = :gymId and c.estado <> :estado
+              and c.fechaVencimiento >= :today
+              and (c.fechaInicioMembresia is null or c.fechaInicioMembresia <= :today)
+            """)
+    int markActivo(@Param("gymId") Long gymId, @Param("today") LocalDate today, @Param("estado") ClientStatus estado);
+
 }
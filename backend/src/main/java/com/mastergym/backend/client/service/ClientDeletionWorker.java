@@ -0,0 +1,115 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.model.ClientDeletionEntity;
+import com.mastergym.backend.client.repository.ClientDeletionRepository;
+import com.mastergym.backend.common.enums.ClientDeletionStatus;
+import com.mastergym.backend.payment.service.MembershipLedgerService;
+import com.mastergym.backend.payment.service.PaymentRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+// Purga en segundo plano: cada lote es una transaccion corta (DELETE ... LIMIT n + progreso),
+// asi ninguna fila ni tabla queda bloqueada mientras se borra un historial grande.
+// Un error deja el trabajo en RUNNING con last_error y se reintenta en la siguiente pasada.
+@Service
+public class ClientDeletionWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientDeletionWorker.class);
+
+    private record ChildTable(String table, String progressColumn) {}
+
+    private static final List<ChildTable> CHILD_TABLES = List.of(
+            new ChildTable("attendance", "attendance_deleted"),
+            new ChildTable("payments", "payments_deleted"),
+            new ChildTable("measurements", "measurements_deleted")
+    );
+
+    private final ClientDeletionRepository clientDeletionRepository;
+    private final PaymentRollupService paymentRollupService;
+    private final MembershipLedgerService membershipLedgerService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ClientDeletionWorker(
+            ClientDeletionRepository clientDeletionRepository,
+            PaymentRollupService paymentRollupService,
+            MembershipLedgerService membershipLedgerService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.clients.deletion.batch-size:500}") int batchSize
+    ) {
+        this.clientDeletionRepository = clientDeletionRepository;
+        this.paymentRollupService = paymentRollupService;
+        this.membershipLedgerService = membershipLedgerService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.clients.deletion.poll-ms:2000}")
+    public void processPending() {
+        List<ClientDeletionEntity> jobs = clientDeletionRepository.findTop20ByStatusInOrderByRequestedAtAsc(
+                List.of(ClientDeletionStatus.PENDING, ClientDeletionStatus.RUNNING));
+        for (ClientDeletionEntity job : jobs) {
+            try {
+                purge(job);
+            } catch (Exception ex) {
+                log.warn("Purga del cliente {} (trabajo {}) interrumpida: {}", job.getClientId(), job.getId(), ex.getMessage());
+                jdbcTemplate.update("UPDATE client_deletions SET last_error = ? WHERE id = ?",
+                        truncate(ex.getMessage()), job.getId());
+            }
+        }
+    }
+
+    private void purge(ClientDeletionEntity job) {
+        jdbcTemplate.update("UPDATE client_deletions SET status = ? WHERE id = ?",
+                ClientDeletionStatus.RUNNING.name(), job.getId());
+        // Un periodo por pago de membresia: cabe en un solo borrado
+        transactionTemplate.executeWithoutResult(status ->
+                membershipLedgerService.removeClient(job.getGymId(), job.getClientId()));
+
+        for (ChildTable child : CHILD_TABLES) {
+            String deleteSql = "DELETE FROM " + child.table() + " WHERE id IN ("
+                    + "SELECT id FROM " + child.table() + " WHERE gym_id = ? AND client_id = ? ORDER BY id LIMIT ?)";
+            String progressSql = "UPDATE client_deletions SET " + child.progressColumn() + " = "
+                    + child.progressColumn() + " + ? WHERE id = ?";
+            int deleted;
+            do {
+                Integer batch = transactionTemplate.execute(status -> {
+                    // El rollup diario se descuenta en la misma transaccion que el borrado del lote
+                    if (child.table().equals("payments")) {
+                        paymentRollupService.removeClientBatch(job.getGymId(), job.getClientId(), batchSize);
+                    }
+                    int rows = jdbcTemplate.update(deleteSql, job.getGymId(), job.getClientId(), batchSize);
+                    if (rows > 0) jdbcTemplate.update(progressSql, rows, job.getId());
+                    return rows;
+                });
+                deleted = batch == null ? 0 : batch;
+            } while (deleted >= batchSize);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // SQL directo: la entidad excluye filas con deleted_at
+            jdbcTemplate.update("DELETE FROM clients WHERE id = ? AND gym_id = ? AND deleted_at IS NOT NULL",
+                    job.getClientId(), job.getGymId());
+            jdbcTemplate.update("UPDATE client_deletions SET status = ?, finished_at = ?, last_error = NULL WHERE id = ?",
+                    ClientDeletionStatus.DONE.name(), Timestamp.from(Instant.now()), job.getId());
+        });
+        log.info("Cliente {} del gym {} purgado (trabajo {})", job.getClientId(), job.getGymId(), job.getId());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
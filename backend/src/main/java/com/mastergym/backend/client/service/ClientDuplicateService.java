@@ -0,0 +1,343 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.dto.ClientDeletionResponse;
+import com.mastergym.backend.client.dto.ClientMergeResponse;
+import com.mastergym.backend.client.dto.DuplicatePair;
+import com.mastergym.backend.client.dto.DuplicateReportResponse;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.model.ClientDeletionEntity;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientDeletionRepository;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.audit.AuditService;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.error.ConflictException;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.text.TextNormalizer;
+import com.mastergym.backend.payment.service.MembershipLedgerService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+// Deteccion de duplicados por bloques: una pasada en streaming arma claves (cedula, telefono,
+// email, nombre fonetico) y solo se comparan clientes que comparten alguna clave.
+// Los bloques muy grandes (ej. un telefono de relleno) se ignoran para no volver cuadratico el analisis.
+@Service
+public class ClientDuplicateService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientDuplicateService.class);
+
+    private static final int MAX_BLOCK_SIZE = 100;
+    private static final double MIN_SCORE = 0.5;
+    private static final int MIN_CEDULA_DIGITS = 5;
+    private static final int MIN_PHONE_DIGITS = 7;
+    private static final int PHONE_KEY_DIGITS = 8;
+
+    private static final List<String> CHILD_TABLES = List.of("payments", "measurements", "attendance");
+
+    private final ClientRepository clientRepository;
+    private final ClientDeletionRepository clientDeletionRepository;
+    private final ClientService clientService;
+    private final MembershipLedgerService membershipLedgerService;
+    private final AuditService auditService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    private final Map<Long, DuplicateReportResponse> reports = new ConcurrentHashMap<>();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ClientDuplicateService(
+            ClientRepository clientRepository,
+            ClientDeletionRepository clientDeletionRepository,
+            ClientService clientService,
+            MembershipLedgerService membershipLedgerService,
+            AuditService auditService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.clients.duplicates.merge-batch-size:500}") int batchSize
+    ) {
+        this.clientRepository = clientRepository;
+        this.clientDeletionRepository = clientDeletionRepository;
+        this.clientService = clientService;
+        this.membershipLedgerService = membershipLedgerService;
+        this.auditService = auditService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    private record Row(
+            Long id,
+            String nombreCompleto,
+            String foldedName,
+            String cedulaKey,
+            String phoneKey,
+            String emailKey,
+            String nameKey
+    ) {}
+
+    private record PairKey(Long a, Long b) {
+        static PairKey of(Long x, Long y) {
+            return x < y ? new PairKey(x, y) : new PairKey(y, x);
+        }
+    }
+
+    public DuplicateReportResponse report() {
+        Long gymId = GymContext.requireGymId();
+        DuplicateReportResponse report = reports.get(gymId);
+        boolean isRunning = running.contains(gymId);
+        if (report == null) return new DuplicateReportResponse(null, 0, isRunning, List.of());
+        return new DuplicateReportResponse(report.generatedAt(), report.clientsScanned(), isRunning, report.pairs());
+    }
+
+    public void requestScan() {
+        Long gymId = GymContext.requireGymId();
+        if (!running.add(gymId)) return;
+        executor.execute(() -> {
+            try {
+                reports.put(gymId, scan(gymId));
+            } catch (Exception ex) {
+                log.warn("No se pudo analizar duplicados del gym {}: {}", gymId, ex.getMessage());
+            } finally {
+                running.remove(gymId);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${app.clients.duplicates.cron:0 30 2 * * *}")
+    public void scanAll() {
+        for (Long gymId : clientRepository.findDistinctGymIds()) {
+            if (!running.add(gymId)) continue;
+            try {
+                reports.put(gymId, scan(gymId));
+            } catch (Exception ex) {
+                log.warn("No se pudo analizar duplicados del gym {}: {}", gymId, ex.getMessage());
+            } finally {
+                running.remove(gymId);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    DuplicateReportResponse scan(Long gymId) {
+        Map<Long, Row> rows = new HashMap<>();
+        Map<String, List<Long>> blocks = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> stream = clientRepository.streamDuplicateRows(gymId)) {
+                stream.forEach(raw -> {
+                    Row row = toRow(raw);
+                    rows.put(row.id(), row);
+                    addToBlock(blocks, "c:", row.cedulaKey(), row.id());
+                    addToBlock(blocks, "t:", row.phoneKey(), row.id());
+                    addToBlock(blocks, "e:", row.emailKey(), row.id());
+                    addToBlock(blocks, "n:", row.nameKey(), row.id());
+                });
+            }
+        });
+
+        Set<PairKey> compared = new HashSet<>();
+        List<DuplicatePair> pairs = new ArrayList<>();
+        int skippedBlocks = 0;
+        for (List<Long> block : blocks.values()) {
+            if (block.size() < 2) continue;
+            if (block.size() > MAX_BLOCK_SIZE) {
+                skippedBlocks += 1;
+                continue;
+            }
+            for (int i = 0; i < block.size(); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    if (!compared.add(PairKey.of(block.get(i), block.get(j)))) continue;
+                    DuplicatePair pair = compare(rows.get(block.get(i)), rows.get(block.get(j)));
+                    if (pair != null) pairs.add(pair);
+                }
+            }
+        }
+        if (skippedBlocks > 0) {
+            log.info("Duplicados gym {}: {} bloques ignorados por superar {} clientes", gymId, skippedBlocks, MAX_BLOCK_SIZE);
+        }
+        pairs.sort(Comparator.comparingDouble(DuplicatePair::score).reversed()
+                .thenComparing(DuplicatePair::clientId));
+        return new DuplicateReportResponse(OffsetDateTime.now(), rows.size(), false, List.copyOf(pairs));
+    }
+
+    // Todo en una transaccion: si algo falla a mitad no queda un duplicado borrado con parte del historial movido
+    public ClientMergeResponse merge(Long keepId, Long removeId) {
+        Long gymId = GymContext.requireGymId();
+        if (keepId.equals(removeId)) {
+            throw new BadRequestException("keepId y removeId deben ser distintos");
+        }
+        Map<String, Long> moved = new LinkedHashMap<>();
+        ClientDeletionEntity job = transactionTemplate.execute(status -> {
+            ClientEntity removed = clientRepository.findByIdAndGymId(removeId, gymId)
+                    .orElseThrow(() -> new NotFoundException("Cliente a fusionar no encontrado"));
+            ClientEntity kept = clientRepository.findByIdAndGymId(keepId, gymId)
+                    .orElseThrow(() -> new NotFoundException("Cliente a conservar no encontrado"));
+            ClientSnapshot removedSnapshot = ClientSnapshot.from(removed);
+            if (kept.getCedula() == null && removed.getCedula() != null
+                    && clientRepository.existsByGymIdAndCedulaAndIdNotIn(gymId, removed.getCedula(), List.of(keepId, removeId))) {
+                throw new ConflictException("La cedula " + removed.getCedula() + " ya pertenece a otro cliente");
+            }
+
+            // 1) El duplicado deja de aceptar escrituras; el flush va antes de los UPDATE por JDBC
+            removed.setDeletedAt(OffsetDateTime.now());
+            clientRepository.saveAndFlush(removed);
+            eventPublisher.publishEvent(new ClientChangedEvent(gymId, removeId, removedSnapshot, null));
+
+            // 2) Historial movido por lotes cortos
+            for (String table : CHILD_TABLES) {
+                moved.put(table, repoint(table, gymId, removeId, keepId));
+            }
+            membershipLedgerService.reassignClient(gymId, removeId, keepId);
+
+            // 3) Datos de contacto faltantes pasan al cliente conservado; las fechas ya las recalculo el ledger
+            ClientSnapshot keptBefore = ClientSnapshot.from(kept);
+            absorb(kept, removedSnapshot);
+            ClientEntity saved = clientRepository.save(kept);
+            eventPublisher.publishEvent(new ClientChangedEvent(gymId, keepId, keptBefore, ClientSnapshot.from(saved)));
+
+            // 4) El duplicado ya no tiene historial: la purga solo elimina su fila
+            return clientDeletionRepository.save(new ClientDeletionEntity(gymId, removeId));
+        });
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("keepId", keepId);
+        details.put("removeId", removeId);
+        details.putAll(moved);
+        auditService.log("MERGE", "client", keepId, details);
+
+        reports.computeIfPresent(gymId, (id, report) -> withoutClient(report, removeId));
+
+        return new ClientMergeResponse(
+                clientService.getClientById(keepId),
+                removeId,
+                moved.get("payments"),
+                moved.get("measurements"),
+                moved.get("attendance"),
+                ClientDeletionResponse.from(job)
+        );
+    }
+
+    // Lotes acotados dentro de la transaccion del merge: cada UPDATE toca a lo sumo batchSize filas
+    private long repoint(String table, Long gymId, Long fromClientId, Long toClientId) {
+        String sql = "UPDATE " + table + " SET client_id = ? WHERE id IN ("
+                + "SELECT id FROM " + table + " WHERE gym_id = ? AND client_id = ? LIMIT ?)";
+        long total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql, toClientId, gymId, fromClientId, batchSize);
+            total += updated;
+        } while (updated >= batchSize);
+        return total;
+    }
+
+    private static void absorb(ClientEntity kept, ClientSnapshot removed) {
+        if (kept.getApellido() == null) kept.setApellido(removed.apellido());
+        if (kept.getCedula() == null) kept.setCedula(removed.cedula());
+        if (kept.getTelefono() == null) kept.setTelefono(removed.telefono());
+        if (kept.getEmail() == null) kept.setEmail(removed.email());
+    }
+
+    private static DuplicateReportResponse withoutClient(DuplicateReportResponse report, Long clientId) {
+        List<DuplicatePair> remaining = report.pairs().stream()
+                .filter(pair -> !pair.clientId().equals(clientId) && !pair.otherClientId().equals(clientId))
+                .toList();
+        return new DuplicateReportResponse(report.generatedAt(), report.clientsScanned(), false, remaining);
+    }
+
+    private static Row toRow(Object[] raw) {
+        Long id = (Long) raw[0];
+        String nombre = (String) raw[1];
+        String apellido = (String) raw[2];
+        String nombreCompleto = apellido == null ? nombre : nombre + " " + apellido;
+
+        String cedula = TextNormalizer.digits((String) raw[3]);
+        String phone = TextNormalizer.digits((String) raw[4]);
+        String email = raw[5] == null ? "" : ((String) raw[5]).trim().toLowerCase(Locale.ROOT);
+
+        List<String> nombreTokens = TextNormalizer.tokens(nombre);
+        List<String> apellidoTokens = TextNormalizer.tokens(apellido);
+        String nameKey = null;
+        if (!nombreTokens.isEmpty() && !apellidoTokens.isEmpty()) {
+            nameKey = TextNormalizer.phonetic(nombreTokens.get(0)) + "|" + TextNormalizer.phonetic(apellidoTokens.get(0));
+        }
+
+        return new Row(
+                id,
+                nombreCompleto,
+                TextNormalizer.fold(nombreCompleto),
+                cedula.length() >= MIN_CEDULA_DIGITS ? cedula : null,
+                phone.length() >= MIN_PHONE_DIGITS ? phone.substring(Math.max(0, phone.length() - PHONE_KEY_DIGITS)) : null,
+                email.isEmpty() ? null : email,
+                nameKey
+        );
+    }
+
+    private static void addToBlock(Map<String, List<Long>> blocks, String prefix, String key, Long id) {
+        if (key == null) return;
+        blocks.computeIfAbsent(prefix + key, k -> new ArrayList<>(2)).add(id);
+    }
+
+    private static DuplicatePair compare(Row a, Row b) {
+        double score = 0;
+        List<String> reasons = new ArrayList<>(4);
+        if (a.cedulaKey() != null && a.cedulaKey().equals(b.cedulaKey())) {
+            score += 0.6;
+            reasons.add("cedula");
+        }
+        if (a.emailKey() != null && a.emailKey().equals(b.emailKey())) {
+            score += 0.4;
+            reasons.add("email");
+        }
+        if (a.phoneKey() != null && a.phoneKey().equals(b.phoneKey())) {
+            score += 0.3;
+            reasons.add("telefono");
+        }
+        if (!a.foldedName().isEmpty() && a.foldedName().equals(b.foldedName())) {
+            score += 0.4;
+            reasons.add("nombre");
+        } else if (a.nameKey() != null && a.nameKey().equals(b.nameKey())) {
+            score += 0.3;
+            reasons.add("nombre");
+        }
+        if (score < MIN_SCORE) return null;
+        return new DuplicatePair(a.id(), a.nombreCompleto(), b.id(), b.nombreCompleto(),
+                Math.min(1.0, Math.round(score * 100.0) / 100.0), List.copyOf(reasons));
+    }
+}
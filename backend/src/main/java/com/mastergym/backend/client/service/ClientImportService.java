@@ -0,0 +1,314 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.dto.ClientImportResponse;
+import com.mastergym.backend.client.dto.ClientRequest;
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.audit.AuditService;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.text.TextNormalizer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ClientImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO clients (gym_id, nombre, apellido, cedula, telefono, email, estado, fecha_registro, notas, search_text)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ClientRepository clientRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public ClientImportService(
+            ClientRepository clientRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            Validator validator,
+            ObjectMapper objectMapper,
+            AuditService auditService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.clients.import.batch-size:500}") int batchSize
+    ) {
+        this.clientRepository = clientRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public ClientImportResponse importClients(InputStream input, boolean ndjson) {
+        Long gymId = GymContext.requireGymId();
+        ImportState state = new ImportState(
+                new HashSet<>(clientRepository.findCedulasByGymId(gymId)),
+                clientRepository.findEmailsByGymId(gymId).stream()
+                        .map(email -> email.toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toCollection(HashSet::new))
+        );
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowParser parser = ndjson ? new NdjsonRowParser() : null;
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber += 1;
+                if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) continue;
+                if (parser == null) {
+                    parser = CsvRowParser.fromHeader(line);
+                    continue;
+                }
+                state.totalRows += 1;
+                processRow(gymId, lineNumber, line, parser, state);
+                if (state.pending.size() >= batchSize) {
+                    flush(state);
+                }
+            }
+            flush(state);
+        } catch (IOException ex) {
+            throw new BadRequestException("No se pudo leer el archivo de importacion");
+        } finally {
+            // Los lotes ya confirmados cuentan aunque la lectura falle despues
+            if (state.imported > 0) {
+                eventPublisher.publishEvent(new ClientsBulkChangedEvent(gymId));
+            }
+        }
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("totalRows", state.totalRows);
+        details.put("imported", state.imported);
+        details.put("failed", state.failed);
+        auditService.log("IMPORT", "client", null, details);
+
+        state.errors.sort(Comparator.comparingInt(ClientImportResponse.RowError::row));
+        return new ClientImportResponse(state.totalRows, state.imported, state.failed, state.errors, state.errorsTruncated);
+    }
+
+    private void processRow(Long gymId, int lineNumber, String line, RowParser parser, ImportState state) {
+        ClientRequest request;
+        try {
+            request = parser.parse(line);
+        } catch (IllegalArgumentException | JacksonException ex) {
+            state.reject(lineNumber, "fila con formato invalido");
+            return;
+        }
+
+        Set<ConstraintViolation<ClientRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            state.reject(lineNumber, message);
+            return;
+        }
+
+        String cedula = request.getCedula();
+        if (state.cedulas.contains(cedula)) {
+            state.reject(lineNumber, "cedula duplicada: " + cedula);
+            return;
+        }
+        String email = request.getEmail() == null ? null : request.getEmail().toLowerCase(Locale.ROOT);
+        if (email != null && state.emails.contains(email)) {
+            state.reject(lineNumber, "email duplicado: " + request.getEmail());
+            return;
+        }
+        state.cedulas.add(cedula);
+        if (email != null) state.emails.add(email);
+
+        ClientEntity entity = new ClientEntity(
+                gymId,
+                request.getNombre(),
+                request.getApellido(),
+                cedula,
+                request.getTelefono(),
+                request.getEmail(),
+                request.getNotas()
+        );
+        entity.setSearchText(entity.buildSearchText());
+        state.pending.add(new PendingRow(lineNumber, entity));
+    }
+
+    // Cada lote va en su propia transaccion: un error de BD solo descarta ese lote
+    private void flush(ImportState state) {
+        if (state.pending.isEmpty()) return;
+        List<PendingRow> rows = List.copyOf(state.pending);
+        state.pending.clear();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                ClientEntity e = row.entity();
+                ps.setLong(1, e.getGymId());
+                ps.setString(2, e.getNombre());
+                ps.setString(3, e.getApellido());
+                ps.setString(4, e.getCedula());
+                ps.setString(5, e.getTelefono());
+                ps.setString(6, e.getEmail());
+                ps.setString(7, e.getEstado().name());
+                ps.setTimestamp(8, Timestamp.from(e.getFechaRegistro().toInstant()));
+                ps.setString(9, e.getNotas());
+                ps.setString(10, e.getSearchText());
+            }));
+            state.imported += rows.size();
+        } catch (DataAccessException ex) {
+            for (PendingRow row : rows) {
+                state.reject(row.lineNumber(), "no se pudo guardar la fila");
+            }
+        }
+    }
+
+    private record PendingRow(int lineNumber, ClientEntity entity) {}
+
+    private static final class ImportState {
+        private final Set<String> cedulas;
+        private final Set<String> emails;
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<ClientImportResponse.RowError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private int totalRows;
+        private int imported;
+        private int failed;
+
+        private ImportState(Set<String> cedulas, Set<String> emails) {
+            this.cedulas = cedulas;
+            this.emails = emails;
+        }
+
+        private void reject(int lineNumber, String message) {
+            failed += 1;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ClientImportResponse.RowError(lineNumber, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    private interface RowParser {
+        ClientRequest parse(String line);
+    }
+
+    private final class NdjsonRowParser implements RowParser {
+        @Override
+        public ClientRequest parse(String line) {
+            return objectMapper.readValue(line, ClientRequest.class);
+        }
+    }
+
+    private static final class CsvRowParser implements RowParser {
+        private static final Set<String> COLUMNS = Set.of("nombre", "apellido", "cedula", "telefono", "email", "notas");
+
+        private final char delimiter;
+        private final Map<String, Integer> columnIndex;
+
+        private CsvRowParser(char delimiter, Map<String, Integer> columnIndex) {
+            this.delimiter = delimiter;
+            this.columnIndex = columnIndex;
+        }
+
+        // Acepta ',' o ';' (Excel en espanol) y encabezados en cualquier orden
+        static CsvRowParser fromHeader(String header) {
+            char delimiter = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+            List<String> names = split(header, delimiter);
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                String name = TextNormalizer.fold(names.get(i)).replace(" ", "");
+                if (COLUMNS.contains(name)) index.put(name, i);
+            }
+            if (!index.containsKey("nombre") || !index.containsKey("cedula") || !index.containsKey("telefono")) {
+                throw new BadRequestException("El encabezado CSV debe incluir nombre, cedula y telefono");
+            }
+            return new CsvRowParser(delimiter, index);
+        }
+
+        @Override
+        public ClientRequest parse(String line) {
+            List<String> values = split(line, delimiter);
+            ClientRequest request = new ClientRequest();
+            request.setNombre(value(values, "nombre"));
+            request.setApellido(value(values, "apellido"));
+            request.setCedula(value(values, "cedula"));
+            request.setTelefono(value(values, "telefono"));
+            request.setEmail(value(values, "email"));
+            request.setNotas(value(values, "notas"));
+            return request;
+        }
+
+        private String value(List<String> values, String column) {
+            Integer idx = columnIndex.get(column);
+            if (idx == null || idx >= values.size()) return null;
+            return values.get(idx);
+        }
+
+        private static List<String> split(String line, char delimiter) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            current.append('"');
+                            i += 1;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == delimiter) {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) throw new IllegalArgumentException("comillas sin cerrar");
+            values.add(current.toString());
+            return values;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.cache.BoundedTtlCache;
+import com.mastergym.backend.common.cache.CacheStats;
+import com.mastergym.backend.common.cache.CacheStatsSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Service
+public class ClientLookupCache implements CacheStatsSource {
+
+    private final ClientRepository clientRepository;
+    private final BoundedTtlCache<Key, ClientSnapshot> cache;
+
+    public ClientLookupCache(
+            ClientRepository clientRepository,
+            @Value("${app.clients.cache.max-size:10000}") int maxSize,
+            @Value("${app.clients.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.clientRepository = clientRepository;
+        this.cache = new BoundedTtlCache<>("clients", maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    private record Key(Long gymId, Long clientId) {}
+
+    public Optional<ClientSnapshot> find(Long gymId, Long clientId) {
+        if (gymId == null || clientId == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(new Key(gymId, clientId), key ->
+                clientRepository.findByIdAndGymId(key.clientId(), key.gymId())
+                        .map(ClientSnapshot::from)
+                        .orElse(null)
+        ));
+    }
+
+    public void invalidate(Long gymId, Long clientId) {
+        cache.invalidate(new Key(gymId, clientId));
+    }
+
+    public void invalidateGym(Long gymId) {
+        cache.invalidateIf(key -> key.gymId().equals(gymId));
+    }
+
+    // Despues del commit, para no volver a cachear datos aun no confirmados
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        invalidate(event.gymId(), event.clientId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientsBulkChanged(ClientsBulkChangedEvent event) {
+        invalidateGym(event.gymId());
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,80 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.dto.ClientOverdueResponse;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Clientes vencidos con su ultimo pago y plan habitual en un solo SELECT.
+// Mismo criterio que MOROSO en ClientStatusCalculator, sin esperar al barrido de estados
+@Service
+public class ClientOverdueService {
+
+    // ranked numera los pagos PAID de cada cliente vencido: last_rn = ultimo pago, plan_rn = ultimo pago con plan.
+    // El orden por fecha_vencimiento (mas dias vencido primero) sale del indice (gym_id, fecha_vencimiento)
+    private static final String OVERDUE_SQL = """
+            WITH overdue AS (
+                SELECT id, nombre, apellido, cedula, telefono, email, estado, fecha_vencimiento
+                FROM clients
+                WHERE gym_id = ? AND deleted_at IS NULL AND fecha_vencimiento < ?
+                  AND (fecha_inicio_membresia IS NULL OR fecha_inicio_membresia <= ?)
+                ORDER BY fecha_vencimiento, id
+                LIMIT ?
+            ),
+            ranked AS (
+                SELECT p.client_id, p.payment_date, p.amount, p.currency, p.plan_id,
+                       ROW_NUMBER() OVER (PARTITION BY p.client_id ORDER BY p.payment_date DESC, p.id DESC) AS last_rn,
+                       ROW_NUMBER() OVER (PARTITION BY p.client_id
+                                          ORDER BY CASE WHEN p.plan_id IS NULL THEN 1 ELSE 0 END, p.payment_date DESC, p.id DESC) AS plan_rn
+                FROM payments p
+                JOIN overdue o ON o.id = p.client_id
+                WHERE p.gym_id = ? AND p.status = ?
+            )
+            SELECT o.id, o.nombre, o.apellido, o.cedula, o.telefono, o.email, o.estado, o.fecha_vencimiento,
+                   lp.payment_date AS last_date, lp.amount AS last_amount, lp.currency AS last_currency,
+                   pl.id AS plan_id, pl.name AS plan_name, pl.price AS plan_price, pl.currency AS plan_currency
+            FROM overdue o
+            LEFT JOIN ranked lp ON lp.client_id = o.id AND lp.last_rn = 1
+            LEFT JOIN ranked pp ON pp.client_id = o.id AND pp.plan_rn = 1 AND pp.plan_id IS NOT NULL
+            LEFT JOIN membership_plans pl ON pl.id = pp.plan_id AND pl.gym_id = ?
+            ORDER BY o.fecha_vencimiento, o.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClientOverdueService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<ClientOverdueResponse> overdue(Long gymId, LocalDate today, int limit) {
+        return jdbcTemplate.query(OVERDUE_SQL, (rs, rowNum) -> {
+            LocalDate vencimiento = rs.getObject("fecha_vencimiento", LocalDate.class);
+            String lastCurrency = rs.getString("last_currency");
+            String planCurrency = rs.getString("plan_currency");
+            return new ClientOverdueResponse(
+                    rs.getLong("id"),
+                    rs.getString("nombre"),
+                    rs.getString("apellido"),
+                    rs.getString("cedula"),
+                    rs.getString("telefono"),
+                    rs.getString("email"),
+                    ClientStatus.valueOf(rs.getString("estado")),
+                    vencimiento,
+                    ChronoUnit.DAYS.between(vencimiento, today),
+                    rs.getObject("last_date", LocalDate.class),
+                    rs.getBigDecimal("last_amount"),
+                    lastCurrency == null ? null : PaymentCurrency.valueOf(lastCurrency),
+                    rs.getObject("plan_id", Long.class),
+                    rs.getString("plan_name"),
+                    rs.getBigDecimal("plan_price"),
+                    planCurrency == null ? null : PaymentCurrency.valueOf(planCurrency)
+            );
+        }, gymId, today, today, limit, gymId, PaymentStatus.PAID.name(), gymId);
+    }
+}
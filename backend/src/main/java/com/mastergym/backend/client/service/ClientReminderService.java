@@ -1,6 +1,7 @@
 package com.mastergym.backend.client.service;
 
 import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
 import com.mastergym.backend.client.repository.ClientRepository;
 import com.mastergym.backend.common.error.BadRequestException;
 import com.mastergym.backend.common.error.NotFoundException;
@@ -28,6 +29,7 @@ public class ClientReminderService {
     private static final Logger log = LoggerFactory.getLogger(ClientReminderService.class);
 
     private final ClientRepository clientRepository;
+    private final ClientLookupCache clientLookupCache;
     private final JavaMailSender mailSender;
 
     private final String mailFrom;
@@ -39,6 +41,7 @@ public class ClientReminderService {
 
     public ClientReminderService(
             ClientRepository clientRepository,
+            ClientLookupCache clientLookupCache,
             JavaMailSender mailSender,
             @Value("${app.mail.from:}") String mailFrom,
             @Value("${app.mail.from-name:MasterGym}") String mailFromName,
@@ -48,6 +51,7 @@ public class ClientReminderService {
             @Value("${app.mail.reminders.days-before:3}") int daysBefore
     ) {
         this.clientRepository = clientRepository;
+        this.clientLookupCache = clientLookupCache;
         this.mailSender = mailSender;
         this.mailFrom = mailFrom;
         this.mailFromName = mailFromName;
@@ -59,7 +63,7 @@ public class ClientReminderService {
 
     public void sendReminder(Long clientId) {
         Long gymId = GymContext.requireGymId();
-        ClientEntity client = clientRepository.findByIdAndGymId(clientId, gymId)
+        ClientSnapshot client = clientLookupCache.find(gymId, clientId)
                 .orElseThrow(() -> new NotFoundException("Cliente no encontrado"));
 
         sendReminderEmail(client, null, true);
@@ -80,7 +84,7 @@ public class ClientReminderService {
         int sent = 0;
         for (ClientEntity client : clients) {
             try {
-                if (sendReminderEmail(client, daysBefore, false)) {
+                if (sendReminderEmail(ClientSnapshot.from(client), daysBefore, false)) {
                     sent += 1;
                 }
             } catch (Exception ex) {
@@ -92,8 +96,8 @@ public class ClientReminderService {
         }
     }
 
-    private boolean sendReminderEmail(ClientEntity client, Integer daysLeft, boolean failOnMissingEmail) {
-        String toEmail = safeTrim(client.getEmail());
+    private boolean sendReminderEmail(ClientSnapshot client, Integer daysLeft, boolean failOnMissingEmail) {
+        String toEmail = safeTrim(client.email());
         if (toEmail == null) {
             if (failOnMissingEmail) {
                 throw new BadRequestException("El cliente no tiene correo registrado");
@@ -143,10 +147,10 @@ public class ClientReminderService {
         return fromEmail;
     }
 
-    private String buildBody(ClientEntity client, Integer daysLeft) {
-        String nombre = client.getNombre();
-        String apellido = client.getApellido() != null ? client.getApellido() : "";
-        LocalDate vencimiento = client.getFechaVencimiento();
+    private String buildBody(ClientSnapshot client, Integer daysLeft) {
+        String nombre = client.nombre();
+        String apellido = client.apellido() != null ? client.apellido() : "";
+        LocalDate vencimiento = client.fechaVencimiento();
         String vencimientoTexto = vencimiento != null ? vencimiento.format(DATE_FORMAT) : "Sin membresia activa";
 
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,72 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Component
+public class ClientSearchIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientSearchIndexInitializer.class);
+
+    private final ClientRepository clientRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ClientSearchIndexInitializer(
+            ClientRepository clientRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.clientRepository = clientRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        backfillSearchText();
+        createTrigramIndexIfPostgres();
+    }
+
+    private void backfillSearchText() {
+        int total = 0;
+        while (true) {
+            Integer updated = transactionTemplate.execute(status -> {
+                List<ClientEntity> batch = clientRepository.findTop500BySearchTextIsNull();
+                for (ClientEntity client : batch) {
+                    client.setSearchText(client.buildSearchText());
+                }
+                clientRepository.saveAll(batch);
+                return batch.size();
+            });
+            if (updated == null || updated == 0) break;
+            total += updated;
+        }
+        if (total > 0) {
+            log.info("search_text generado para {} clientes", total);
+        }
+    }
+
+    // En H2 (tests) se usa el LIKE sobre search_text sin indice especial
+    private void createTrigramIndexIfPostgres() {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toLowerCase().contains("postgres")) return;
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_clients_search_trgm ON clients USING gin (search_text gin_trgm_ops)");
+        } catch (DataAccessException ex) {
+            log.warn("No se pudo crear el indice trigram de clientes: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.common.text.TextNormalizer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ClientSearchService {
+
+    private final EntityManager entityManager;
+
+    public ClientSearchService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClientEntity> search(Long gymId, String query, int limit) {
+        List<String> tokens = TextNormalizer.tokens(query);
+        if (tokens.isEmpty()) return List.of();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ClientEntity> cq = cb.createQuery(ClientEntity.class);
+        Root<ClientEntity> root = cq.from(ClientEntity.class);
+        cq.select(root).where(
+                cb.equal(root.get("gymId"), gymId),
+                matches(root, cb, tokens)
+        );
+
+        // Ranking: cedula exacta, luego coincidencia al inicio, luego inicio de palabra, luego el resto
+        String first = tokens.get(0);
+        Expression<String> searchText = root.get("searchText");
+        String digits = TextNormalizer.digits(query);
+        Expression<Integer> rank = cb.<Integer>selectCase()
+                .when(cb.equal(root.get("cedula"), digits.isEmpty() ? first : digits), 0)
+                .when(cb.like(searchText, first + "%"), 1)
+                .when(cb.like(searchText, "% " + first + "%"), 2)
+                .otherwise(3);
+        cq.orderBy(cb.asc(rank), cb.asc(root.get("nombre")), cb.asc(root.get("id")));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Todos los tokens deben aparecer en search_text (AND), sin lower() por fila
+    static Predicate matches(Root<ClientEntity> root, CriteriaBuilder cb, List<String> tokens) {
+        Expression<String> searchText = root.get("searchText");
+        List<Predicate> predicates = new ArrayList<>();
+        for (String token : tokens) {
+            predicates.add(cb.like(searchText, "%" + token + "%"));
+        }
+        return cb.and(predicates.toArray(Predicate[]::new));
+    }
+}
@@ -1,34 +1,75 @@
 package com.mastergym.backend.client.service;
 
+import com.mastergym.backend.client.dto.ClientDeletionResponse;
 import com.mastergym.backend.client.dto.ClientRequest;
 import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.model.ClientDeletionEntity;
 import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientDeletionRepository;
 import com.mastergym.backend.client.repository.ClientRepository;
 import com.mastergym.backend.common.enums.ClientStatus;
 import com.mastergym.backend.common.audit.AuditService;
 import com.mastergym.backend.common.error.BadRequestException;
 import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.export.EntityStreamExporter;
+import com.mastergym.backend.common.export.ExportFormat;
 import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.pagination.CursorPage;
+import com.mastergym.backend.common.pagination.KeysetCursor;
+import com.mastergym.backend.common.persistence.ProjectionQueries;
+import com.mastergym.backend.common.text.TextNormalizer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.mastergym.backend.client.dto.ClientUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 
 @Service
 public class ClientService {
 
+    private static final List<String> EXPORT_HEADERS = List.of(
+            "id", "nombre", "apellido", "cedula", "telefono", "email", "estado",
+            "fechaRegistro", "fechaInicioMembresia", "fechaVencimiento", "notas"
+    );
+
     private final ClientRepository clientRepository;
+    private final ClientDeletionRepository clientDeletionRepository;
     private final AuditService auditService;
+    private final ClientSearchService clientSearchService;
+    private final EntityStreamExporter entityStreamExporter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectionQueries projectionQueries;
 
-    public ClientService(ClientRepository clientRepository, AuditService auditService) {
+    public ClientService(
+            ClientRepository clientRepository,
+            ClientDeletionRepository clientDeletionRepository,
+            AuditService auditService,
+            ClientSearchService clientSearchService,
+            EntityStreamExporter entityStreamExporter,
+            ApplicationEventPublisher eventPublisher,
+            ProjectionQueries projectionQueries
+    ) {
         this.clientRepository = clientRepository;
+        this.clientDeletionRepository = clientDeletionRepository;
         this.auditService = auditService;
+        this.clientSearchService = clientSearchService;
+        this.entityStreamExporter = entityStreamExporter;
+        this.eventPublisher = eventPublisher;
+        this.projectionQueries = projectionQueries;
     }
 
     public ClientResponse createClient(ClientRequest request) {
@@ -45,32 +86,55 @@ public class ClientService {
 
         ClientEntity saved = clientRepository.save(entity);
         auditService.log("CREATE", "client", saved.getId(), buildClientAuditDetails(saved));
-        return toResponse(refreshStatus(saved));
+        eventPublisher.publishEvent(new ClientChangedEvent(gymId, saved.getId(), null, ClientSnapshot.from(saved)));
+        return toResponse(saved);
     }
 
     public Page<ClientResponse> listClients(String search, Pageable pageable) {
         Long gymId = GymContext.requireGymId();
         Specification<ClientEntity> spec = specFor(gymId, search);
-        return clientRepository.findAll(spec, pageable).map(entity -> toResponse(refreshStatus(entity)));
+        return projectionQueries.page(ClientEntity.class, spec, pageable, LIST_COLUMNS, ClientService::fromRow);
+    }
+
+    public CursorPage<ClientResponse> listClientsAfter(String search, String after, int size) {
+        Long gymId = GymContext.requireGymId();
+        Specification<ClientEntity> spec = specFor(gymId, search);
+        KeysetCursor.Position position = KeysetCursor.decode(after);
+        if (position != null) {
+            spec = spec.and(KeysetCursor.before("fechaRegistro", KeysetCursor.fromEpochMicros(position.value()), position.id()));
+        }
+        List<ClientResponse> fetched = projectionQueries.list(
+                ClientEntity.class, spec, KeysetCursor.descending("fechaRegistro"), size + 1, LIST_COLUMNS, ClientService::fromRow);
+        return KeysetCursor.page(fetched, size, r -> KeysetCursor.encode(KeysetCursor.epochMicros(r.getFechaRegistro()), r.getId()), r -> r);
+    }
+
+    // Se ejecuta fuera del hilo del request (StreamingResponseBody): gymId llega explicito
+    public void exportClients(Long gymId, String search, ExportFormat format, OutputStream output) {
+        Specification<ClientEntity> spec = specFor(gymId, search);
+        Supplier<Stream<ClientEntity>> source = () -> clientRepository.findBy(spec, q -> q
+                .sortBy(KeysetCursor.descending("fechaRegistro"))
+                .stream());
+        entityStreamExporter.export(source, this::toResponse, format, output, EXPORT_HEADERS, ClientService::exportValues);
     }
 
     // Mantener para posibles usos internos sin paginación
     public List<ClientResponse> listClients(Long gymId, String search) {
         Specification<ClientEntity> spec = specFor(gymId, search);
-        return clientRepository.findAll(spec).stream().map(entity -> toResponse(refreshStatus(entity))).toList();
+        return clientRepository.findAll(spec).stream().map(this::toResponse).toList();
     }
 
     public ClientResponse getClientById(Long id) {
         Long gymId = GymContext.requireGymId();
         ClientEntity entity = clientRepository.findByIdAndGymId(id, gymId)
                 .orElseThrow(() -> new NotFoundException("Cliente no encontrado"));
-        return toResponse(refreshStatus(entity));
+        return toResponse(entity);
     }
 
     public ClientResponse updateClient(Long id, ClientUpdateRequest request) {
         Long gymId = GymContext.requireGymId();
         ClientEntity entity = clientRepository.findByIdAndGymId(id, gymId)
                 .orElseThrow(() -> new NotFoundException("Cliente no encontrado"));
+        ClientSnapshot before = ClientSnapshot.from(entity);
 
         if (request.getNombre() != null) {
             String nombre = request.getNombre().trim();
@@ -85,15 +149,42 @@ public class ClientService {
 
         ClientEntity saved = clientRepository.save(entity);
         auditService.log("UPDATE", "client", saved.getId(), buildClientAuditDetails(saved));
-        return toResponse(refreshStatus(saved));
+        eventPublisher.publishEvent(new ClientChangedEvent(gymId, saved.getId(), before, ClientSnapshot.from(saved)));
+        return toResponse(saved);
     }
 
+    // Marca el cliente como borrado y encola la purga de su historial (ClientDeletionWorker)
+    @Transactional
     public void deleteClient(Long id) {
         Long gymId = GymContext.requireGymId();
         ClientEntity entity = clientRepository.findByIdAndGymId(id, gymId)
                 .orElseThrow(() -> new NotFoundException("Cliente no encontrado"));
-        clientRepository.delete(entity);
+        ClientSnapshot before = ClientSnapshot.from(entity);
+        entity.setDeletedAt(OffsetDateTime.now());
+        clientRepository.save(entity);
+        clientDeletionRepository.save(new ClientDeletionEntity(gymId, entity.getId()));
         auditService.log("DELETE", "client", entity.getId(), buildClientAuditDetails(entity));
+        eventPublisher.publishEvent(new ClientChangedEvent(gymId, entity.getId(), before, null));
+    }
+
+    public ClientDeletionResponse getDeletion(Long jobId) {
+        Long gymId = GymContext.requireGymId();
+        return clientDeletionRepository.findByIdAndGymId(jobId, gymId)
+                .map(ClientDeletionResponse::from)
+                .orElseThrow(() -> new NotFoundException("Borrado no encontrado"));
+    }
+
+    // El cliente ya esta marcado como borrado: se busca solo el ultimo job de su purga
+    public ClientDeletionResponse getDeletionForClient(Long clientId) {
+        Long gymId = GymContext.requireGymId();
+        return clientDeletionRepository.findFirstByGymIdAndClientIdOrderByIdDesc(gymId, clientId)
+                .map(ClientDeletionResponse::from)
+                .orElseThrow(() -> new NotFoundException("Borrado no encontrado"));
+    }
+
+    public List<ClientResponse> searchClients(String query, int limit) {
+        Long gymId = GymContext.requireGymId();
+        return clientSearchService.search(gymId, query, limit).stream().map(this::toResponse).toList();
     }
 
     private static Specification<ClientEntity> specFor(Long gymId, String search) {
@@ -102,21 +193,67 @@ public class ClientService {
             predicates.add(cb.equal(root.get("gymId"), gymId));
 
             if (search != null && !search.isBlank()) {
-                String q = "%" + search.trim().toLowerCase() + "%";
-                var orPredicates = new java.util.ArrayList<jakarta.persistence.criteria.Predicate>();
-                orPredicates.add(cb.like(cb.lower(root.get("nombre")), q));
-                orPredicates.add(cb.like(cb.lower(cb.coalesce(root.get("apellido"), "")), q));
-                orPredicates.add(cb.like(cb.lower(cb.coalesce(root.get("cedula"), "")), q));
-                orPredicates.add(cb.like(cb.lower(cb.coalesce(root.get("telefono"), "")), q));
-                orPredicates.add(cb.like(cb.lower(cb.coalesce(root.get("email"), "")), q));
-                orPredicates.add(cb.like(cb.lower(root.get("estado").as(String.class)), q));
-                predicates.add(cb.or(orPredicates.toArray(jakarta.persistence.criteria.Predicate[]::new)));
+                ClientStatus estado = parseStatus(search);
+                if (estado != null) {
+                    predicates.add(cb.equal(root.get("estado"), estado));
+                } else {
+                    predicates.add(ClientSearchService.matches(root, cb, TextNormalizer.tokens(search)));
+                }
             }
 
             return cb.and(predicates.toArray(jakarta.persistence.criteria.Predicate[]::new));
         };
     }
 
+    private static ClientStatus parseStatus(String search) {
+        String value = search.trim().toUpperCase(java.util.Locale.ROOT);
+        for (ClientStatus status : ClientStatus.values()) {
+            if (status.name().equals(value)) return status;
+        }
+        return null;
+    }
+
+    private static List<Object> exportValues(ClientResponse r) {
+        return Arrays.asList(
+                r.getId(),
+                r.getNombre(),
+                r.getApellido(),
+                r.getCedula(),
+                r.getTelefono(),
+                r.getEmail(),
+                r.getEstado(),
+                r.getFechaRegistro(),
+                r.getFechaInicioMembresia(),
+                r.getFechaVencimiento(),
+                r.getNotas()
+        );
+    }
+
+    // El estado se recalcula desde las fechas igual que en toResponse
+    private static final List<String> LIST_COLUMNS = List.of(
+            "id", "gymId", "nombre", "apellido", "cedula", "telefono", "email",
+            "fechaRegistro", "fechaInicioMembresia", "fechaVencimiento", "notas"
+    );
+
+    private static ClientResponse fromRow(Object[] row) {
+        LocalDate inicio = (LocalDate) row[8];
+        LocalDate vencimiento = (LocalDate) row[9];
+        return new ClientResponse(
+                (Long) row[0],
+                (Long) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                (String) row[6],
+                ClientStatusCalculator.resolve(inicio, vencimiento, LocalDate.now()),
+                (OffsetDateTime) row[7],
+                inicio,
+                vencimiento,
+                (String) row[10]
+        );
+    }
+
     private ClientResponse toResponse(ClientEntity e) {
         return new ClientResponse(
                 e.getId(),
@@ -126,7 +263,7 @@ public class ClientService {
                 e.getCedula(),
                 e.getTelefono(),
                 e.getEmail(),
-                e.getEstado(),
+                ClientStatusCalculator.resolve(e.getFechaInicioMembresia(), e.getFechaVencimiento(), LocalDate.now()),
                 e.getFechaRegistro(),
                 e.getFechaInicioMembresia(),
                 e.getFechaVencimiento(),
@@ -134,28 +271,6 @@ public class ClientService {
         );
     }
 
-    private ClientEntity refreshStatus(ClientEntity entity) {
-        LocalDate vencimiento = entity.getFechaVencimiento();
-        LocalDate inicio = entity.getFechaInicioMembresia();
-        LocalDate today = LocalDate.now();
-        ClientStatus nextStatus;
-        if (vencimiento == null) {
-            nextStatus = ClientStatus.INACTIVO;
-        } else if (inicio != null && today.isBefore(inicio)) {
-            nextStatus = ClientStatus.INACTIVO;
-        } else if (vencimiento.isBefore(today)) {
-            nextStatus = ClientStatus.MOROSO;
-        } else {
-            nextStatus = ClientStatus.ACTIVO;
-        }
-
-        if (entity.getEstado() != nextStatus) {
-            entity.setEstado(nextStatus);
-            return clientRepository.save(entity);
-        }
-        return entity;
-    }
-
     private Map<String, Object> buildClientAuditDetails(ClientEntity client) {
         Map<String, Object> details = new LinkedHashMap<>();
         details.put("nombre", client.getNombre());
@@ -0,0 +1,175 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.dto.ClientStatsResponse;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.enums.ClientStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Contadores por gym mantenidos con los eventos de cambio y reconciliados con GROUP BY.
+// Los estados se calculan desde las fechas contra el dia de la carga; al cambiar el dia se recargan
+@Service
+public class ClientStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientStatsService.class);
+    private static final int WEEK_DAYS = 7;
+
+    private final ClientRepository clientRepository;
+    private final Map<Long, GymCounters> counters = new ConcurrentHashMap<>();
+
+    public ClientStatsService(ClientRepository clientRepository) {
+        this.clientRepository = clientRepository;
+    }
+
+    public ClientStatsResponse stats(Long gymId) {
+        LocalDate today = LocalDate.now();
+        GymCounters gym = counters.get(gymId);
+        if (gym == null || !gym.day.equals(today)) {
+            // Si otro hilo ya cargo el mismo dia se conserva el suyo, que puede tener eventos aplicados
+            gym = counters.merge(gymId, load(gymId),
+                    (current, loaded) -> current.day.equals(loaded.day) ? current : loaded);
+        }
+        return gym.snapshot(today);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        // Si el gym aun no se cargo, la primera consulta leera el estado ya confirmado
+        GymCounters gym = counters.get(event.gymId());
+        if (gym == null) return;
+        gym.apply(event.before(), event.after());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientsBulkChanged(ClientsBulkChangedEvent event) {
+        if (counters.containsKey(event.gymId())) {
+            reconcile(event.gymId());
+        }
+    }
+
+    @Scheduled(cron = "${app.clients.stats.reconcile-cron:0 */15 * * * *}")
+    public void reconcileAll() {
+        for (Long gymId : List.copyOf(counters.keySet())) {
+            try {
+                reconcile(gymId);
+            } catch (Exception ex) {
+                log.warn("No se pudo reconciliar contadores del gym {}: {}", gymId, ex.getMessage());
+            }
+        }
+    }
+
+    public void reconcile(Long gymId) {
+        GymCounters fresh = load(gymId);
+        GymCounters previous = counters.put(gymId, fresh);
+        if (previous != null) {
+            LocalDate today = LocalDate.now();
+            ClientStatsResponse before = previous.snapshot(today);
+            ClientStatsResponse after = fresh.snapshot(today);
+            if (before.activos() != after.activos()
+                    || before.morosos() != after.morosos()
+                    || before.inactivos() != after.inactivos()) {
+                log.info("Contadores del gym {} corregidos en reconciliacion: {} -> {}", gymId, before, after);
+            }
+        }
+    }
+
+    private GymCounters load(Long gymId) {
+        LocalDate today = LocalDate.now();
+        YearMonth month = YearMonth.from(today);
+        OffsetDateTime monthStart = month.atDay(1).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+
+        GymCounters gym = new GymCounters(today);
+        for (Object[] row : clientRepository.countByStatusOn(gymId, today)) {
+            gym.byEstado.put(ClientStatus.INACTIVO, count(row[0]));
+            gym.byEstado.put(ClientStatus.MOROSO, count(row[1]));
+            gym.byEstado.put(ClientStatus.ACTIVO, count(row[2]));
+        }
+        for (Object[] row : clientRepository.countByFechaVencimientoFrom(gymId, today)) {
+            gym.byVencimiento.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        gym.byRegistro.put(month, clientRepository.countRegisteredSince(gymId, monthStart));
+        gym.reconciledAt = OffsetDateTime.now();
+        return gym;
+    }
+
+    // SUM sobre un gym sin clientes devuelve null
+    private static long count(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private static final class GymCounters {
+        // Dia contra el que se evaluaron los estados
+        private final LocalDate day;
+        private final EnumMap<ClientStatus, Long> byEstado = new EnumMap<>(ClientStatus.class);
+        // Solo fechas desde el dia de la carga; las anteriores se descartan al reconciliar
+        private final TreeMap<LocalDate, Long> byVencimiento = new TreeMap<>();
+        private final Map<YearMonth, Long> byRegistro = new HashMap<>();
+        private OffsetDateTime reconciledAt;
+
+        GymCounters(LocalDate day) {
+            this.day = day;
+        }
+
+        synchronized void apply(ClientSnapshot before, ClientSnapshot after) {
+            if (before != null) {
+                decrement(byEstado, statusOf(before));
+                if (before.fechaVencimiento() != null) decrement(byVencimiento, before.fechaVencimiento());
+                if (before.fechaRegistro() != null) decrement(byRegistro, monthOf(before.fechaRegistro()));
+            }
+            if (after != null) {
+                byEstado.merge(statusOf(after), 1L, Long::sum);
+                if (after.fechaVencimiento() != null) byVencimiento.merge(after.fechaVencimiento(), 1L, Long::sum);
+                if (after.fechaRegistro() != null) byRegistro.merge(monthOf(after.fechaRegistro()), 1L, Long::sum);
+            }
+        }
+
+        synchronized ClientStatsResponse snapshot(LocalDate today) {
+            long activos = byEstado.getOrDefault(ClientStatus.ACTIVO, 0L);
+            long morosos = byEstado.getOrDefault(ClientStatus.MOROSO, 0L);
+            long inactivos = byEstado.getOrDefault(ClientStatus.INACTIVO, 0L);
+            long vencenEstaSemana = 0;
+            for (Long count : byVencimiento.subMap(today, true, today.plusDays(WEEK_DAYS), false).values()) {
+                vencenEstaSemana += count;
+            }
+            return new ClientStatsResponse(
+                    activos + morosos + inactivos,
+                    activos,
+                    morosos,
+                    inactivos,
+                    vencenEstaSemana,
+                    byRegistro.getOrDefault(YearMonth.from(today), 0L),
+                    reconciledAt
+            );
+        }
+
+        private ClientStatus statusOf(ClientSnapshot client) {
+            return ClientStatusCalculator.resolve(client.fechaInicioMembresia(), client.fechaVencimiento(), day);
+        }
+
+        private static <K> void decrement(Map<K, Long> map, K key) {
+            // Claves fuera de la ventana cargada no existen: no hay nada que restar
+            map.computeIfPresent(key, (k, v) -> v <= 1 ? null : v - 1);
+        }
+
+        private static YearMonth monthOf(OffsetDateTime value) {
+            return YearMonth.from(value.atZoneSameInstant(ZoneId.systemDefault()));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.common.enums.ClientStatus;
+
+import java.time.LocalDate;
+
+public final class ClientStatusCalculator {
+
+    private ClientStatusCalculator() {
+    }
+
+    // Calculo puro (sin escrituras): el estado persistido lo mantiene ClientStatusSweeper
+    public static ClientStatus resolve(LocalDate inicio, LocalDate vencimiento, LocalDate today) {
+        if (vencimiento == null) return ClientStatus.INACTIVO;
+        if (inicio != null && today.isBefore(inicio)) return ClientStatus.INACTIVO;
+        if (vencimiento.isBefore(today)) return ClientStatus.MOROSO;
+        return ClientStatus.ACTIVO;
+    }
+}
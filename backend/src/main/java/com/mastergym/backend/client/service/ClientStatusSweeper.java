@@ -0,0 +1,71 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.enums.ClientStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class ClientStatusSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientStatusSweeper.class);
+
+    private final ClientRepository clientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ClientStatusSweeper(
+            ClientRepository clientRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.clientRepository = clientRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweepAll();
+    }
+
+    @Scheduled(cron = "${app.clients.status-sweep.cron:0 5 0 * * *}")
+    public void sweepAll() {
+        LocalDate today = LocalDate.now();
+        List<Long> gymIds = clientRepository.findDistinctGymIds();
+        int total = 0;
+        for (Long gymId : gymIds) {
+            try {
+                total += sweepGym(gymId, today);
+            } catch (Exception ex) {
+                log.warn("No se pudo actualizar estados del gym {}: {}", gymId, ex.getMessage());
+            }
+        }
+        if (total > 0) {
+            log.info("Estados de membresia actualizados: {} clientes en {} gyms", total, gymIds.size());
+        }
+    }
+
+    public int sweepGym(Long gymId, LocalDate today) {
+        Integer updated = transactionTemplate.execute(status ->
+                clientRepository.markInactivo(gymId, today, ClientStatus.INACTIVO)
+                        + clientRepository.markMoroso(gymId, today, ClientStatus.MOROSO)
+                        + clientRepository.markActivo(gymId, today, ClientStatus.ACTIVO)
+        );
+        int count = updated == null ? 0 : updated;
+        if (count > 0) {
+            eventPublisher.publishEvent(new ClientsBulkChangedEvent(gymId));
+        }
+        return count;
+    }
+}
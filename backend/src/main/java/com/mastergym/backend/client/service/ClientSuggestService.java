@@ -0,0 +1,228 @@
+package com.mastergym.backend.client.service;
+
+import com.mastergym.backend.client.dto.ClientSuggestion;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.text.PrefixTrie;
+import com.mastergym.backend.common.text.TextNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Autocompletado por gym: trie de tokens (nombre/apellido sin tildes y digitos de la cedula).
+// Se construye en la primera consulta del gym y se descarta si queda inactivo. El indice se registra antes de
+// leer la base: los cambios que llegan mientras se carga quedan en espera y se aplican sobre lo leido.
+@Service
+public class ClientSuggestService {
+
+    private static final int MIN_CEDULA_DIGITS = 3;
+
+    private final ClientRepository clientRepository;
+    private final long idleNanos;
+    private final Map<Long, GymIndex> gyms = new ConcurrentHashMap<>();
+
+    public ClientSuggestService(
+            ClientRepository clientRepository,
+            @Value("${app.clients.suggest.idle-minutes:30}") long idleMinutes
+    ) {
+        this.clientRepository = clientRepository;
+        this.idleNanos = Duration.ofMinutes(idleMinutes).toNanos();
+    }
+
+    // estado (opcional) filtra antes de aplicar limit; se calcula con las fechas al momento de la consulta
+    public List<ClientSuggestion> suggest(Long gymId, String query, int limit, ClientStatus estado) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty()) return List.of();
+        return gymIndex(gymId).suggest(tokens, limit, estado);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        GymIndex index = gyms.get(event.gymId());
+        if (index == null) return;
+        index.replace(event.clientId(), event.after());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientsBulkChanged(ClientsBulkChangedEvent event) {
+        // Se reconstruye en la proxima consulta
+        gyms.remove(event.gymId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.clients.suggest.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        gyms.values().removeIf(index -> now - index.lastAccess > idleNanos);
+    }
+
+    private GymIndex gymIndex(Long gymId) {
+        GymIndex index = gyms.computeIfAbsent(gymId, id -> new GymIndex());
+        index.ensureLoaded(() -> clientRepository.findSuggestRowsByGymId(gymId));
+        index.lastAccess = System.nanoTime();
+        return index;
+    }
+
+    // Una consulta solo con digitos (y separadores) busca por cedula
+    private static List<String> queryTokens(String query) {
+        if (query == null || query.isBlank()) return List.of();
+        String digits = TextNormalizer.digits(query);
+        if (digits.length() >= MIN_CEDULA_DIGITS && query.chars().noneMatch(Character::isLetter)) {
+            return List.of(digits);
+        }
+        return TextNormalizer.tokens(query);
+    }
+
+    private static Set<String> tokensOf(Candidate client) {
+        Set<String> tokens = new LinkedHashSet<>(TextNormalizer.tokens(client.nombre()));
+        tokens.addAll(TextNormalizer.tokens(client.apellido()));
+        String cedula = TextNormalizer.digits(client.cedula());
+        if (!cedula.isEmpty()) tokens.add(cedula);
+        return tokens;
+    }
+
+    private record Candidate(
+            Long id,
+            String nombre,
+            String apellido,
+            String cedula,
+            LocalDate fechaInicioMembresia,
+            LocalDate fechaVencimiento
+    ) {
+        ClientStatus statusOn(LocalDate today) {
+            return ClientStatusCalculator.resolve(fechaInicioMembresia, fechaVencimiento, today);
+        }
+
+        ClientSuggestion toSuggestion(LocalDate today) {
+            return new ClientSuggestion(id, nombre, apellido, cedula, statusOn(today), fechaVencimiento);
+        }
+    }
+
+    private static final class GymIndex {
+        private final PrefixTrie<Long> trie = new PrefixTrie<>();
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Object loadLock = new Object();
+        private volatile long lastAccess = System.nanoTime();
+        private volatile boolean loaded;
+        // Cambios recibidos antes de terminar la carga; se protege con el write lock
+        private List<Change> pending = new ArrayList<>();
+
+        private record Entry(Candidate client, Set<String> tokens) {}
+
+        private record Change(Long clientId, ClientSnapshot after) {}
+
+        // Un solo hilo lee la base; si falla, el siguiente acceso reintenta con los cambios aun en espera
+        void ensureLoaded(Supplier<List<Object[]>> rows) {
+            if (loaded) return;
+            synchronized (loadLock) {
+                if (loaded) return;
+                List<Object[]> snapshot = rows.get();
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : snapshot) {
+                        add(new Candidate((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                                (LocalDate) row[4], (LocalDate) row[5]));
+                    }
+                    for (Change change : pending) {
+                        apply(change.clientId(), change.after());
+                    }
+                    pending = null;
+                    loaded = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+
+        List<ClientSuggestion> suggest(List<String> queryTokens, int limit, ClientStatus estado) {
+            // El token mas largo es el mas selectivo; el resto se exige como prefijo de algun token
+            String lead = queryTokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+            List<String> others = new ArrayList<>(queryTokens);
+            others.remove(lead);
+
+            lock.readLock().lock();
+            try {
+                LocalDate today = LocalDate.now();
+                Set<Long> ids = trie.collect(lead, limit, id -> {
+                    Entry entry = entries.get(id);
+                    return matchesAll(entry, others) && (estado == null || entry.client().statusOn(today) == estado);
+                });
+                List<ClientSuggestion> result = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                    result.add(entries.get(id).client().toSuggestion(today));
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(Candidate client) {
+            Entry entry = new Entry(client, tokensOf(client));
+            entries.put(client.id(), entry);
+            for (String token : entry.tokens()) {
+                trie.add(token, client.id());
+            }
+        }
+
+        void replace(Long clientId, ClientSnapshot after) {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    apply(clientId, after);
+                } else {
+                    pending.add(new Change(clientId, after));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        // Idempotente: reaplicar un cambio que la carga ya leyo deja el mismo resultado
+        private void apply(Long clientId, ClientSnapshot after) {
+            Entry previous = entries.remove(clientId);
+            if (previous != null) {
+                for (String token : previous.tokens()) {
+                    trie.remove(token, clientId);
+                }
+            }
+            if (after != null) {
+                add(new Candidate(after.id(), after.nombre(), after.apellido(), after.cedula(),
+                        after.fechaInicioMembresia(), after.fechaVencimiento()));
+            }
+        }
+
+        private static boolean matchesAll(Entry entry, List<String> others) {
+            if (entry == null) return false;
+            for (String other : others) {
+                boolean found = false;
+                for (String token : entry.tokens()) {
+                    if (token.startsWith(other)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) return false;
+            }
+            return true;
+        }
+    }
+}
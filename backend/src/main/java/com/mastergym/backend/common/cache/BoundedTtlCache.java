@@ -0,0 +1,103 @@
+package com.mastergym.backend.common.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Cache LRU acotado por tamano y con expiracion por TTL; el loader se ejecuta fuera del lock.
+// Una invalidacion durante la carga descarta el resultado: el valor viejo no vuelve a quedar cacheado
+public class BoundedTtlCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Carga en curso por clave; invalidate la quita y el loader solo guarda si su token sigue vigente
+    private final Map<K, Object> loading = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public BoundedTtlCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    public V get(K key, Function<K, V> loader) {
+        Object token = new Object();
+        synchronized (this) {
+            V cached = getIfPresent(key);
+            if (cached != null) return cached;
+            loading.put(key, token);
+        }
+        V loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                loading.remove(key, token);
+            }
+            throw ex;
+        }
+        synchronized (this) {
+            if (loading.remove(key, token) && loaded != null) put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses += 1;
+            return null;
+        }
+        if (entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            evictions += 1;
+            misses += 1;
+            return null;
+        }
+        hits += 1;
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions += 1;
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        loading.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+        loading.keySet().removeIf(predicate);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        loading.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        long total = hits + misses;
+        double hitRate = total == 0 ? 0.0 : (double) hits / total;
+        return new CacheStats(name, entries.size(), maxSize, hits, misses, evictions, hitRate);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mastergym.backend.common.cache;
+
+public record CacheStats(
+        String name,
+        int size,
+        int maxSize,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {}
@@ -0,0 +1,23 @@
+package com.mastergym.backend.common.cache;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatsController {
+
+    private final List<CacheStatsSource> sources;
+
+    public CacheStatsController(List<CacheStatsSource> sources) {
+        this.sources = sources;
+    }
+
+    @GetMapping("/stats")
+    public List<CacheStats> stats() {
+        return sources.stream().map(CacheStatsSource::cacheStats).toList();
+    }
+}
@@ -0,0 +1,5 @@
+package com.mastergym.backend.common.cache;
+
+public interface CacheStatsSource {
+    CacheStats cacheStats();
+}
@@ -0,0 +1,7 @@
+package com.mastergym.backend.common.enums;
+
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
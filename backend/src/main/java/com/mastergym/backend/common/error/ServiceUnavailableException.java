@@ -0,0 +1,7 @@
+package com.mastergym.backend.common.error;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.mastergym.backend.common.export;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+@Service
+public class EntityStreamExporter {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public EntityStreamExporter(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    // El stream usa un cursor JDBC de solo avance (fetch size en hibernate.jdbc.fetch_size);
+    // cada entidad se desconecta del contexto al escribirla para mantener el heap constante.
+    public <E, R> void export(
+            Supplier<Stream<E>> source,
+            Function<E, R> mapper,
+            ExportFormat format,
+            OutputStream output,
+            List<String> csvHeaders,
+            Function<R, List<Object>> csvValues
+    ) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            ExportWriter<R> writer = ExportWriter.open(format, output, objectMapper, csvHeaders, csvValues);
+            try (Stream<E> stream = source.get()) {
+                stream.forEach(entity -> {
+                    writer.write(mapper.apply(entity));
+                    entityManager.detach(entity);
+                });
+            }
+            writer.finish();
+        });
+    }
+}
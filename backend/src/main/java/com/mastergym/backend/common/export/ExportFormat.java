@@ -0,0 +1,37 @@
+package com.mastergym.backend.common.export;
+
+import com.mastergym.backend.common.error.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) return CSV;
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "ndjson" -> NDJSON;
+            default -> throw new BadRequestException("format debe ser csv o ndjson");
+        };
+    }
+}
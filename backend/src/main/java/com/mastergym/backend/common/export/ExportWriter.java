@@ -0,0 +1,85 @@
+package com.mastergym.backend.common.export;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+// Escribe fila por fila al stream de salida; nunca acumula el resultado completo
+public final class ExportWriter<T> {
+
+    private final ExportFormat format;
+    private final BufferedWriter writer;
+    private final ObjectMapper objectMapper;
+    private final Function<T, List<Object>> csvValues;
+
+    private ExportWriter(ExportFormat format, OutputStream output, ObjectMapper objectMapper, Function<T, List<Object>> csvValues) {
+        this.format = format;
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 16 * 1024);
+        this.objectMapper = objectMapper;
+        this.csvValues = csvValues;
+    }
+
+    public static <T> ExportWriter<T> open(
+            ExportFormat format,
+            OutputStream output,
+            ObjectMapper objectMapper,
+            List<String> csvHeaders,
+            Function<T, List<Object>> csvValues
+    ) {
+        ExportWriter<T> exportWriter = new ExportWriter<>(format, output, objectMapper, csvValues);
+        if (format == ExportFormat.CSV) {
+            exportWriter.writeCsvLine(List.copyOf(csvHeaders));
+        }
+        return exportWriter;
+    }
+
+    public void write(T row) {
+        if (format == ExportFormat.NDJSON) {
+            writeLine(objectMapper.writeValueAsString(row));
+        } else {
+            writeCsvLine(csvValues.apply(row));
+        }
+    }
+
+    public void finish() {
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeCsvLine(List<?> values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(escapeCsv(values.get(i)));
+        }
+        writeLine(sb.toString());
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String escapeCsv(Object value) {
+        if (value == null) return "";
+        String text = value.toString();
+        boolean needsQuotes = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!needsQuotes) return text;
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
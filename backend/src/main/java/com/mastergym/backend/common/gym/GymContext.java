@@ -1,5 +1,7 @@
 package com.mastergym.backend.common.gym;
 
+import java.util.concurrent.Callable;
+
 public final class GymContext {
     private static final ThreadLocal<Long> GYM_ID = new ThreadLocal<>();
 
@@ -21,6 +23,24 @@ public final class GymContext {
         return gymId;
     }
 
+    // Captura el gymId del hilo actual para ejecutar la tarea en otro hilo (executors, hilos virtuales)
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Long gymId = requireGymId();
+        return () -> {
+            Long previous = GYM_ID.get();
+            GYM_ID.set(gymId);
+            try {
+                return task.call();
+            } finally {
+                if (previous == null) {
+                    GYM_ID.remove();
+                } else {
+                    GYM_ID.set(previous);
+                }
+            }
+        };
+    }
+
     public static void clear() {
         GYM_ID.remove();
     }
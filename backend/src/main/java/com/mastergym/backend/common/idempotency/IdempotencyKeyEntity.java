@@ -0,0 +1,89 @@
+package com.mastergym.backend.common.idempotency;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+// Respuesta ya entregada para un Idempotency-Key; request_hash detecta reusos de la clave con otro cuerpo
+@Entity
+@Table(
+        name = "idempotency_keys",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_idempotency_keys_key", columnNames = {"gym_id", "scope", "idempotency_key"})
+        },
+        indexes = {
+                @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+        }
+)
+public class IdempotencyKeyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gym_id", nullable = false)
+    private Long gymId;
+
+    @Column(nullable = false, length = 60)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "text")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    public IdempotencyKeyEntity() {}
+
+    public IdempotencyKeyEntity(Long gymId, String scope, String idempotencyKey, String requestHash,
+                                String responseBody, OffsetDateTime expiresAt) {
+        this.gymId = gymId;
+        this.scope = scope;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.responseBody = responseBody;
+        this.createdAt = OffsetDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGymId() {
+        return gymId;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.mastergym.backend.common.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, Long> {
+
+    Optional<IdempotencyKeyEntity> findByGymIdAndScopeAndIdempotencyKey(Long gymId, String scope, String idempotencyKey);
+}
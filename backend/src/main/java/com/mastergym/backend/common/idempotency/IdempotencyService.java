@@ -0,0 +1,173 @@
+package com.mastergym.backend.common.idempotency;
+
+import com.mastergym.backend.common.cache.BoundedTtlCache;
+import com.mastergym.backend.common.cache.CacheStats;
+import com.mastergym.backend.common.cache.CacheStatsSource;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.error.ConflictException;
+import com.mastergym.backend.common.gym.GymContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Idempotency-Key para escrituras: la clave se guarda en la misma transaccion que la operacion,
+// asi un reintento concurrente choca con la restriccion unica y se responde con lo ya guardado.
+// Camino de escritura: cache en memoria y, si no esta, una sola lectura por indice unico.
+@Service
+public class IdempotencyService implements CacheStatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoundedTtlCache<Key, Stored> cache;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${app.idempotency.cache.max-size:5000}") int cacheMaxSize,
+            @Value("${app.idempotency.purge-batch-size:1000}") int purgeBatchSize
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(Math.max(1, ttlHours));
+        this.cache = new BoundedTtlCache<>("idempotency", cacheMaxSize, ttl);
+        this.purgeBatchSize = Math.max(1, purgeBatchSize);
+    }
+
+    private record Key(Long gymId, String scope, String idempotencyKey) {}
+
+    private record Stored(String requestHash, String responseBody) {}
+
+    private record Outcome<T>(T body, Stored stored) {}
+
+    // Sin clave se ejecuta la operacion tal cual. scope identifica el endpoint (ej. "POST /api/payments")
+    public <T> IdempotentResult<T> execute(String idempotencyKey, String scope, Object request, Class<T> responseType, Supplier<T> operation) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new IdempotentResult<>(operation.get(), false);
+        }
+        String normalizedKey = idempotencyKey.trim();
+        if (normalizedKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key supera el máximo (" + MAX_KEY_LENGTH + ")");
+        }
+        Long gymId = GymContext.requireGymId();
+        Key key = new Key(gymId, scope, normalizedKey);
+        String requestHash = hash(objectMapper.writeValueAsString(request));
+
+        Optional<Stored> existing = lookup(key);
+        if (existing.isPresent()) {
+            return replay(existing.get(), requestHash, responseType);
+        }
+
+        try {
+            Outcome<T> outcome = transactionTemplate.execute(status -> {
+                T body = operation.get();
+                String responseBody = objectMapper.writeValueAsString(body);
+                // saveAndFlush: el choque con la clave unica debe ocurrir aqui y revertir la operacion
+                idempotencyKeyRepository.saveAndFlush(new IdempotencyKeyEntity(
+                        gymId, scope, normalizedKey, requestHash, responseBody, OffsetDateTime.now().plus(ttl)));
+                return new Outcome<>(body, new Stored(requestHash, responseBody));
+            });
+            cache.put(key, outcome.stored());
+            return new IdempotentResult<>(outcome.body(), false);
+        } catch (DataIntegrityViolationException ex) {
+            // Otro intento con la misma clave confirmo primero: esta operacion ya se revirtio
+            cache.invalidate(key);
+            Stored winner = idempotencyKeyRepository.findByGymIdAndScopeAndIdempotencyKey(gymId, scope, normalizedKey)
+                    .map(IdempotencyService::toStored)
+                    .orElseThrow(() -> ex);
+            cache.put(key, winner);
+            return replay(winner, requestHash, responseType);
+        }
+    }
+
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 20 * * * *}")
+    public void purgeExpired() {
+        Timestamp now = Timestamp.from(Instant.now());
+        String sql = "DELETE FROM idempotency_keys WHERE id IN ("
+                + "SELECT id FROM idempotency_keys WHERE expires_at < ? LIMIT ?)";
+        int total = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(status -> jdbcTemplate.update(sql, now, purgeBatchSize));
+            deleted = batch == null ? 0 : batch;
+            total += deleted;
+        } while (deleted >= purgeBatchSize);
+        if (total > 0) {
+            log.info("Idempotency-Key vencidas eliminadas: {}", total);
+        }
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    private Optional<Stored> lookup(Key key) {
+        Stored cached = cache.getIfPresent(key);
+        if (cached != null) return Optional.of(cached);
+        Optional<IdempotencyKeyEntity> row = idempotencyKeyRepository.findByGymIdAndScopeAndIdempotencyKey(
+                key.gymId(), key.scope(), key.idempotencyKey());
+        if (row.isEmpty()) return Optional.empty();
+        IdempotencyKeyEntity entity = row.get();
+        if (entity.getExpiresAt().isBefore(OffsetDateTime.now())) {
+            // Vencida pero aun no purgada: se libera para reutilizar la clave
+            transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(entity.getId()));
+            return Optional.empty();
+        }
+        Stored stored = toStored(entity);
+        cache.put(key, stored);
+        return Optional.of(stored);
+    }
+
+    private <T> IdempotentResult<T> replay(Stored stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new ConflictException("Idempotency-Key ya fue usada con una solicitud distinta");
+        }
+        return new IdempotentResult<>(objectMapper.readValue(stored.responseBody(), responseType), true);
+    }
+
+    private static Stored toStored(IdempotencyKeyEntity entity) {
+        return new Stored(entity.getRequestHash(), entity.getResponseBody());
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mastergym.backend.common.idempotency;
+
+// replayed: la respuesta sale del almacen de claves y la operacion no se volvio a ejecutar
+public record IdempotentResult<T>(
+        T body,
+        boolean replayed
+) {}
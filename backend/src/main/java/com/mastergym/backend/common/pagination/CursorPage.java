@@ -0,0 +1,9 @@
+package com.mastergym.backend.common.pagination;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasNext
+) {}
@@ -0,0 +1,86 @@
+package com.mastergym.backend.common.pagination;
+
+import com.mastergym.backend.common.error.BadRequestException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Paginacion por cursor: el token opaco codifica (valor de orden, id) del ultimo elemento entregado
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private KeysetCursor() {
+    }
+
+    public record Position(String value, long id) {}
+
+    public static String encode(Object value, Long id) {
+        String raw = value + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Position decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx <= 0) throw new BadRequestException("cursor invalido");
+            return new Position(raw.substring(0, idx), Long.parseLong(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("cursor invalido");
+        }
+    }
+
+    // Instantes como microsegundos UTC: no depende del offset ni del formato de toString, y es la precision
+    // con la que Postgres guarda timestamptz
+    public static String epochMicros(OffsetDateTime value) {
+        Instant instant = value.toInstant();
+        return Long.toString(Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000));
+    }
+
+    public static OffsetDateTime fromEpochMicros(String value) {
+        try {
+            return OffsetDateTime.ofInstant(Instant.EPOCH.plus(Long.parseLong(value), ChronoUnit.MICROS), ZoneOffset.UTC);
+        } catch (ArithmeticException | DateTimeException | NumberFormatException ex) {
+            throw new BadRequestException("cursor invalido");
+        }
+    }
+
+    public static Sort descending(String attribute) {
+        return Sort.by(Sort.Direction.DESC, attribute).and(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    // Predicado seek para orden DESC: (attr < v) OR (attr = v AND id < lastId)
+    public static <E, V extends Comparable<? super V>> Specification<E> before(String attribute, V value, long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.<V>get(attribute), value),
+                cb.and(
+                        cb.equal(root.get(attribute), value),
+                        cb.lessThan(root.<Long>get("id"), id)
+                )
+        );
+    }
+
+    // Se consulta size + 1 filas: la extra solo indica si hay otra pagina (sin count)
+    public static <E, R> CursorPage<R> page(
+            List<E> fetched,
+            int size,
+            Function<E, String> cursorOf,
+            Function<E, R> mapper
+    ) {
+        boolean hasNext = fetched.size() > size;
+        List<E> items = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
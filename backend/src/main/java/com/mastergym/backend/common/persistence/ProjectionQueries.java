@@ -0,0 +1,101 @@
+package com.mastergym.backend.common.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Listados de solo lectura: seleccionan columnas sueltas con la misma Specification,
+// asi no se crean entidades administradas ni snapshots de dirty-checking.
+@Service
+public class ProjectionQueries {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProjectionQueries(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // columns admite rutas con punto ("client.id"); cada fila llega al mapper en el mismo orden
+    public <E, R> Page<R> page(
+            Class<E> entityType,
+            Specification<E> spec,
+            Pageable pageable,
+            List<String> columns,
+            Function<Object[], R> mapper
+    ) {
+        return readOnlyTransaction.execute(status -> {
+            TypedQuery<Object[]> query = select(entityType, spec, pageable.getSort(), columns);
+            if (pageable.isPaged()) {
+                query.setFirstResult((int) pageable.getOffset());
+                query.setMaxResults(pageable.getPageSize());
+            }
+            List<R> content = query.getResultList().stream().map(mapper).toList();
+            return PageableExecutionUtils.getPage(content, pageable, () -> count(entityType, spec));
+        });
+    }
+
+    public <E, R> List<R> list(
+            Class<E> entityType,
+            Specification<E> spec,
+            Sort sort,
+            int limit,
+            List<String> columns,
+            Function<Object[], R> mapper
+    ) {
+        return readOnlyTransaction.execute(status -> select(entityType, spec, sort, columns)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(mapper)
+                .toList());
+    }
+
+    private <E> TypedQuery<Object[]> select(Class<E> entityType, Specification<E> spec, Sort sort, List<String> columns) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<E> root = query.from(entityType);
+        query.multiselect(columns.stream().<Selection<?>>map(column -> path(root, column)).toList());
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        if (sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private <E> long count(Class<E> entityType, Specification<E> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Path<?> path(Root<?> root, String column) {
+        Path<?> path = root;
+        for (String part : column.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+}
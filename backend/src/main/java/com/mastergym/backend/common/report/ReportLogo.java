@@ -0,0 +1,39 @@
+package com.mastergym.backend.common.report;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+
+// Logo de los reportes PDF como data URI: se lee del disco una sola vez por proceso
+public final class ReportLogo {
+
+    private ReportLogo() {
+    }
+
+    public static String dataUri() {
+        return Holder.DATA_URI;
+    }
+
+    private static final class Holder {
+        private static final String DATA_URI = load();
+    }
+
+    private static String load() {
+        Path[] candidates = new Path[] {
+                Paths.get("ui", "recursos", "logo.jpg"),
+                Paths.get("..", "ui", "recursos", "logo.jpg")
+        };
+        for (Path candidate : candidates) {
+            try {
+                if (Files.exists(candidate)) {
+                    byte[] bytes = Files.readAllBytes(candidate);
+                    return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes);
+                }
+            } catch (Exception ex) {
+                return "";
+            }
+        }
+        return "";
+    }
+}
@@ -21,6 +21,8 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private final Duration backupWindow;
     private final int writeMaxRequests;
     private final Duration writeWindow;
+    private final int checkInMaxRequests;
+    private final Duration checkInWindow;
 
     public RateLimitFilter(
             RateLimitService rateLimitService,
@@ -29,7 +31,9 @@ public class RateLimitFilter extends OncePerRequestFilter {
             @Value("${app.security.rate-limit.backup.max-requests:5}") int backupMaxRequests,
             @Value("${app.security.rate-limit.backup.window-seconds:3600}") long backupWindowSeconds,
             @Value("${app.security.rate-limit.write.max-requests:120}") int writeMaxRequests,
-            @Value("${app.security.rate-limit.write.window-seconds:60}") long writeWindowSeconds
+            @Value("${app.security.rate-limit.write.window-seconds:60}") long writeWindowSeconds,
+            @Value("${app.security.rate-limit.check-in.max-requests:1200}") int checkInMaxRequests,
+            @Value("${app.security.rate-limit.check-in.window-seconds:60}") long checkInWindowSeconds
     ) {
         this.rateLimitService = rateLimitService;
         this.loginMaxAttempts = loginMaxAttempts;
@@ -38,6 +42,8 @@ public class RateLimitFilter extends OncePerRequestFilter {
         this.backupWindow = Duration.ofSeconds(backupWindowSeconds);
         this.writeMaxRequests = writeMaxRequests;
         this.writeWindow = Duration.ofSeconds(writeWindowSeconds);
+        this.checkInMaxRequests = checkInMaxRequests;
+        this.checkInWindow = Duration.ofSeconds(checkInWindowSeconds);
     }
 
     @Override
@@ -63,6 +69,12 @@ public class RateLimitFilter extends OncePerRequestFilter {
                 reject(response, "Demasiadas solicitudes de respaldo. Intenta mas tarde.");
                 return;
             }
+        } else if ("/api/attendance/check-in".equals(path) && "POST".equalsIgnoreCase(method)) {
+            // Un kiosko de entrada registra rafagas de check-ins desde una sola IP
+            if (!rateLimitService.tryAcquire(buildKey("check-in", request), checkInMaxRequests, checkInWindow)) {
+                reject(response, "Demasiados check-ins. Intenta mas tarde.");
+                return;
+            }
         } else if (path.startsWith("/api/") && isWriteMethod(method)) {
             if (!rateLimitService.tryAcquire(buildKey("write", request), writeMaxRequests, writeWindow)) {
                 reject(response, "Demasiadas solicitudes. Intenta mas tarde.");
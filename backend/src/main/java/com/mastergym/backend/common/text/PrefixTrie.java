@@ -0,0 +1,71 @@
+package com.mastergym.backend.common.text;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+// Trie de tokens -> valores; no es thread-safe (el llamador sincroniza)
+public class PrefixTrie<V> {
+
+    private final Node<V> root = new Node<>();
+
+    private static final class Node<V> {
+        private final Map<Character, Node<V>> children = new TreeMap<>();
+        private final Set<V> values = new LinkedHashSet<>();
+    }
+
+    public void add(String token, V value) {
+        if (token == null || token.isEmpty()) return;
+        Node<V> node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.children.computeIfAbsent(token.charAt(i), c -> new Node<>());
+        }
+        node.values.add(value);
+    }
+
+    public void remove(String token, V value) {
+        if (token == null || token.isEmpty()) return;
+        Deque<Node<V>> path = new ArrayDeque<>();
+        Node<V> node = root;
+        for (int i = 0; i < token.length(); i++) {
+            path.push(node);
+            node = node.children.get(token.charAt(i));
+            if (node == null) return;
+        }
+        node.values.remove(value);
+        // Poda de ramas vacias, de la hoja hacia la raiz
+        for (int i = token.length() - 1; i >= 0 && node.values.isEmpty() && node.children.isEmpty(); i--) {
+            Node<V> parent = path.pop();
+            parent.children.remove(token.charAt(i));
+            node = parent;
+        }
+    }
+
+    // Recorre primero el token exacto y luego las extensiones mas cortas; corta al llegar a limit
+    public Set<V> collect(String prefix, int limit, Predicate<V> filter) {
+        Set<V> result = new LinkedHashSet<>();
+        Node<V> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) return result;
+
+        Deque<Node<V>> queue = new ArrayDeque<>();
+        queue.add(node);
+        while (!queue.isEmpty() && result.size() < limit) {
+            Node<V> current = queue.poll();
+            for (V value : current.values) {
+                if (filter.test(value)) {
+                    result.add(value);
+                    if (result.size() >= limit) break;
+                }
+            }
+            queue.addAll(current.children.values());
+        }
+        return result;
+    }
+}
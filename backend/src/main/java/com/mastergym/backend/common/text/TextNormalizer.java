@@ -0,0 +1,62 @@
+package com.mastergym.backend.common.text;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]+");
+
+    private TextNormalizer() {
+    }
+
+    // Minusculas, sin tildes y solo letras/digitos separados por un espacio ("José Pérez" -> "jose perez")
+    public static String fold(String value) {
+        if (value == null || value.isBlank()) return "";
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        String lower = MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return NON_ALNUM.matcher(lower).replaceAll(" ").trim();
+    }
+
+    public static List<String> tokens(String value) {
+        String folded = fold(value);
+        if (folded.isEmpty()) return List.of();
+        return Arrays.asList(folded.split(" "));
+    }
+
+    public static String digits(String value) {
+        if (value == null) return "";
+        return value.replaceAll("\\D", "");
+    }
+
+    // Clave fonetica simple para espanol: iguala grafias que suenan igual ("Yhoselyn" ~ "Joselin", "Vasquez" ~ "Basques")
+    public static String phonetic(String value) {
+        String folded = fold(value).replace(" ", "");
+        if (folded.isEmpty()) return "";
+        String s = folded
+                .replace("ch", "x")
+                .replace("ll", "y")
+                .replace("qu", "k")
+                .replace("gue", "ge")
+                .replace("gui", "gi")
+                .replaceAll("c(?=[ei])", "s")
+                .replaceAll("g(?=[ei])", "j")
+                .replace("c", "k")
+                .replace("z", "s")
+                .replace("v", "b")
+                .replace("w", "u")
+                .replace("h", "")
+                .replaceAll("y(?=[^aeiou]|$)", "i")
+                .replaceAll("^y", "j");
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (i == 0 || c != s.charAt(i - 1)) sb.append(c);
+        }
+        return sb.toString();
+    }
+}
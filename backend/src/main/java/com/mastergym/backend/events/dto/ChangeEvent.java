@@ -0,0 +1,6 @@
+package com.mastergym.backend.events.dto;
+
+import com.mastergym.backend.common.enums.ChangeOperation;
+
+// version: numero de cambio del gym, creciente; tambien es el id del evento SSE
+public record ChangeEvent(String entity, Long id, ChangeOperation op, long version) {}
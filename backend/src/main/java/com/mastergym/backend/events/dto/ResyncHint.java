@@ -0,0 +1,4 @@
+package com.mastergym.backend.events.dto;
+
+// El cliente perdio (o puede haber perdido) cambios: debe recargar todo y seguir desde version
+public record ResyncHint(String reason, long version) {}
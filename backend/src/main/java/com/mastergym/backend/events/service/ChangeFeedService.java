@@ -0,0 +1,254 @@
+package com.mastergym.backend.events.service;
+
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.common.enums.ChangeOperation;
+import com.mastergym.backend.events.dto.ChangeEvent;
+import com.mastergym.backend.events.dto.ResyncHint;
+import com.mastergym.backend.measurement.event.MeasurementChangedEvent;
+import com.mastergym.backend.payment.event.PaymentChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Feed de cambios por gym (SSE) para que el dashboard actualice solo lo que cambio.
+// Los eventos salen despues del commit. Cada suscriptor tiene un buffer acotado que vacia su propio hilo
+// virtual: una conexion inactiva solo ocupa un hilo virtual estacionado. Si un cliente lento llena el
+// buffer se descartan los eventos mas viejos y recibe un aviso de resync antes de los que quedan
+@Service
+public class ChangeFeedService {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final int bufferSize;
+    private final long heartbeatNanos;
+    private final long timeoutMs;
+    private final Map<Long, GymFeed> feeds = new ConcurrentHashMap<>();
+
+    public ChangeFeedService(
+            @Value("${app.events.buffer-size:256}") int bufferSize,
+            @Value("${app.events.heartbeat-seconds:25}") long heartbeatSeconds,
+            @Value("${app.events.timeout-ms:1800000}") long timeoutMs
+    ) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.heartbeatNanos = TimeUnit.SECONDS.toNanos(Math.max(1, heartbeatSeconds));
+        this.timeoutMs = timeoutMs;
+    }
+
+    // Destino de los eventos de un suscriptor; se llama solo desde su hilo
+    public interface EventSink {
+        void send(String name, long id, Object data) throws IOException;
+
+        void ping() throws IOException;
+
+        // El hilo del suscriptor termino (cliente desconectado, timeout o apagado)
+        default void close() {
+        }
+    }
+
+    public interface Subscription {
+        void close();
+    }
+
+    private static final class GymFeed {
+        private final AtomicLong version = new AtomicLong();
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    }
+
+    public SseEmitter subscribe(Long gymId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = register(gymId, lastEventId, new EventSink() {
+            @Override
+            public void send(String name, long id, Object data) throws IOException {
+                emitter.send(SseEmitter.event().name(name).id(String.valueOf(id)).data(data));
+            }
+
+            @Override
+            public void ping() throws IOException {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(ex -> subscription.close());
+        return emitter;
+    }
+
+    // lastEventId: ultima version que vio el cliente (Last-Event-ID al reconectar). No hay historial que
+    // reenviar, asi que si el gym avanzo desde entonces el primer mensaje es un resync
+    public Subscription register(Long gymId, Long lastEventId, EventSink sink) {
+        GymFeed feed = feeds.computeIfAbsent(gymId, id -> new GymFeed());
+        Subscriber subscriber = new Subscriber(feed, sink);
+        feed.subscribers.add(subscriber);
+        if (lastEventId != null && lastEventId != feed.version.get()) {
+            subscriber.resync("reconnect");
+        }
+        Thread.ofVirtual().name("change-feed-" + gymId).start(subscriber::run);
+        return subscriber::close;
+    }
+
+    public void publish(Long gymId, String entity, Long id, ChangeOperation op) {
+        GymFeed feed = feeds.computeIfAbsent(gymId, key -> new GymFeed());
+        ChangeEvent event = new ChangeEvent(entity, id, op, feed.version.incrementAndGet());
+        for (Subscriber subscriber : feed.subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    // Cambios sin detalle por entidad: los suscriptores recargan todo
+    public void resync(Long gymId, String reason) {
+        GymFeed feed = feeds.computeIfAbsent(gymId, key -> new GymFeed());
+        feed.version.incrementAndGet();
+        for (Subscriber subscriber : feed.subscribers) {
+            subscriber.resync(reason);
+        }
+    }
+
+    public int subscriberCount(Long gymId) {
+        GymFeed feed = feeds.get(gymId);
+        return feed == null ? 0 : feed.subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        ChangeOperation op = event.before() == null ? ChangeOperation.CREATED
+                : event.after() == null ? ChangeOperation.DELETED
+                : ChangeOperation.UPDATED;
+        publish(event.gymId(), "client", event.clientId(), op);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientsBulkChanged(ClientsBulkChangedEvent event) {
+        resync(event.gymId(), "bulk");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPaymentChanged(PaymentChangedEvent event) {
+        publish(event.gymId(), "payment", event.paymentId(), event.operation());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMeasurementChanged(MeasurementChangedEvent event) {
+        publish(event.gymId(), "measurement", event.measurementId(), event.operation());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feeds.values().forEach(feed -> List.copyOf(feed.subscribers).forEach(Subscriber::close));
+    }
+
+    private final class Subscriber {
+        private final GymFeed feed;
+        private final EventSink sink;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition ready = lock.newCondition();
+        private final ArrayDeque<ChangeEvent> buffer = new ArrayDeque<>();
+        private String resyncReason;
+        private boolean closed;
+
+        Subscriber(GymFeed feed, EventSink sink) {
+            this.feed = feed;
+            this.sink = sink;
+        }
+
+        void offer(ChangeEvent event) {
+            lock.lock();
+            try {
+                if (closed) return;
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    if (resyncReason == null) resyncReason = "overflow";
+                }
+                buffer.addLast(event);
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Lo pendiente queda cubierto por la recarga completa
+        void resync(String reason) {
+            lock.lock();
+            try {
+                if (closed) return;
+                buffer.clear();
+                resyncReason = reason;
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                buffer.clear();
+                ready.signal();
+            } finally {
+                lock.unlock();
+            }
+            feed.subscribers.remove(this);
+        }
+
+        void run() {
+            try {
+                while (true) {
+                    List<ChangeEvent> pending;
+                    String reason;
+                    lock.lock();
+                    try {
+                        long remaining = heartbeatNanos;
+                        while (!closed && buffer.isEmpty() && resyncReason == null && remaining > 0) {
+                            remaining = ready.awaitNanos(remaining);
+                        }
+                        if (closed) return;
+                        pending = new ArrayList<>(buffer);
+                        buffer.clear();
+                        reason = resyncReason;
+                        resyncReason = null;
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (reason != null) {
+                        // Los eventos que siguen son posteriores a la recarga: el cliente puede aplicarlos encima
+                        long version = pending.isEmpty() ? feed.version.get() : pending.get(0).version() - 1;
+                        sink.send(RESYNC_EVENT, version, new ResyncHint(reason, version));
+                    }
+                    for (ChangeEvent event : pending) {
+                        sink.send(CHANGE_EVENT, event.version(), event);
+                    }
+                    // Sin novedades en el intervalo: un comentario mantiene viva la conexion y detecta cortes
+                    if (reason == null && pending.isEmpty()) sink.ping();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                // Conexion cerrada por el cliente o emitter ya completado
+            } finally {
+                close();
+                sink.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.mastergym.backend.exchange.controller;
+
+import com.mastergym.backend.exchange.dto.ExchangeRateRequest;
+import com.mastergym.backend.exchange.dto.ExchangeRateResponse;
+import com.mastergym.backend.exchange.service.ExchangeRateService;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/exchange-rates")
+public class ExchangeRateController {
+
+    private final ExchangeRateService exchangeRateService;
+
+    public ExchangeRateController(ExchangeRateService exchangeRateService) {
+        this.exchangeRateService = exchangeRateService;
+    }
+
+    @GetMapping
+    public List<ExchangeRateResponse> list(@RequestParam(required = false) PaymentCurrency currency) {
+        return exchangeRateService.list(currency);
+    }
+
+    @GetMapping("/{id}")
+    public ExchangeRateResponse getById(@PathVariable Long id) {
+        return exchangeRateService.getById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<ExchangeRateResponse> create(@Valid @RequestBody ExchangeRateRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(exchangeRateService.create(request));
+    }
+
+    @PutMapping("/{id}")
+    public ExchangeRateResponse update(@PathVariable Long id, @Valid @RequestBody ExchangeRateRequest request) {
+        return exchangeRateService.update(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        exchangeRateService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
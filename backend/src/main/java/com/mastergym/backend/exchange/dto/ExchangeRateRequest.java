@@ -0,0 +1,49 @@
+package com.mastergym.backend.exchange.dto;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class ExchangeRateRequest {
+
+    @NotNull(message = "currency es obligatorio")
+    private PaymentCurrency currency;
+
+    @NotNull(message = "effectiveDate es obligatorio")
+    private LocalDate effectiveDate;
+
+    @NotNull(message = "rate es obligatorio")
+    @DecimalMin(value = "0.000001", message = "rate debe ser mayor a 0")
+    @Digits(integer = 12, fraction = 6, message = "rate debe tener hasta 6 decimales")
+    private BigDecimal rate;
+
+    public ExchangeRateRequest() {}
+
+    public PaymentCurrency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(PaymentCurrency currency) {
+        this.currency = currency;
+    }
+
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    public void setEffectiveDate(LocalDate effectiveDate) {
+        this.effectiveDate = effectiveDate;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+}
@@ -0,0 +1,19 @@
+package com.mastergym.backend.exchange.dto;
+
+import com.mastergym.backend.exchange.model.ExchangeRateEntity;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Inmutable: es tambien el valor de la tabla de tasas en memoria
+public record ExchangeRateResponse(
+        Long id,
+        PaymentCurrency currency,
+        LocalDate effectiveDate,
+        BigDecimal rate
+) {
+    public static ExchangeRateResponse from(ExchangeRateEntity e) {
+        return new ExchangeRateResponse(e.getId(), e.getCurrency(), e.getEffectiveDate(), e.getRate());
+    }
+}
@@ -0,0 +1,12 @@
+package com.mastergym.backend.exchange.dto;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+
+import java.math.BigDecimal;
+
+// Monto expresado en la moneda base; unconvertedCount = pagos sin tipo de cambio vigente en su fecha (no suman)
+public record NormalizedTotal(
+        PaymentCurrency baseCurrency,
+        BigDecimal total,
+        long unconvertedCount
+) {}
@@ -0,0 +1,4 @@
+package com.mastergym.backend.exchange.event;
+
+// Alta, edicion o baja de un tipo de cambio: la tabla de tasas en memoria del gym se descarta
+public record ExchangeRateChangedEvent(Long gymId) {}
@@ -0,0 +1,104 @@
+package com.mastergym.backend.exchange.model;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Tipo de cambio del gym: 1 unidad de currency = rate unidades de la moneda base, vigente desde
+// effectiveDate hasta la siguiente fecha cargada para esa moneda
+@Entity
+@Table(
+        name = "exchange_rates",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_exchange_rates_gym_currency_date", columnNames = {"gym_id", "currency", "effective_date"})
+        }
+)
+public class ExchangeRateEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gym_id", nullable = false)
+    private Long gymId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private PaymentCurrency currency;
+
+    @Column(name = "effective_date", nullable = false)
+    private LocalDate effectiveDate;
+
+    @Column(nullable = false, precision = 18, scale = 6)
+    private BigDecimal rate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ExchangeRateEntity() {}
+
+    public ExchangeRateEntity(Long gymId, PaymentCurrency currency, LocalDate effectiveDate, BigDecimal rate) {
+        this.gymId = gymId;
+        this.currency = currency;
+        this.effectiveDate = effectiveDate;
+        this.rate = rate;
+    }
+
+    @PrePersist
+    void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGymId() {
+        return gymId;
+    }
+
+    public PaymentCurrency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(PaymentCurrency currency) {
+        this.currency = currency;
+    }
+
+    public LocalDate getEffectiveDate() {
+        return effectiveDate;
+    }
+
+    public void setEffectiveDate(LocalDate effectiveDate) {
+        this.effectiveDate = effectiveDate;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
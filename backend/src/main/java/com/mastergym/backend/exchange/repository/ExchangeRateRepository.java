@@ -0,0 +1,20 @@
+package com.mastergym.backend.exchange.repository;
+
+import com.mastergym.backend.exchange.model.ExchangeRateEntity;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRateEntity, Long> {
+
+    Optional<ExchangeRateEntity> findByIdAndGymId(Long id, Long gymId);
+
+    List<ExchangeRateEntity> findByGymIdOrderByCurrencyAscEffectiveDateAsc(Long gymId);
+
+    boolean existsByGymIdAndCurrencyAndEffectiveDate(Long gymId, PaymentCurrency currency, LocalDate effectiveDate);
+
+    boolean existsByGymIdAndCurrencyAndEffectiveDateAndIdNot(Long gymId, PaymentCurrency currency, LocalDate effectiveDate, Long id);
+}
@@ -0,0 +1,140 @@
+package com.mastergym.backend.exchange.service;
+
+import com.mastergym.backend.common.cache.BoundedTtlCache;
+import com.mastergym.backend.common.cache.CacheStats;
+import com.mastergym.backend.common.cache.CacheStatsSource;
+import com.mastergym.backend.exchange.dto.ExchangeRateResponse;
+import com.mastergym.backend.exchange.dto.NormalizedTotal;
+import com.mastergym.backend.exchange.event.ExchangeRateChangedEvent;
+import com.mastergym.backend.exchange.repository.ExchangeRateRepository;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Tabla de tipos de cambio por gym en memoria: por moneda, fechas de vigencia ordenadas y su tasa.
+// La tasa de una fecha es la de la ultima vigencia <= fecha (busqueda binaria, sin consultas por pago)
+@Service
+public class ExchangeRateCatalog implements CacheStatsSource {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final PaymentCurrency baseCurrency;
+    private final BoundedTtlCache<Long, Rates> cache;
+
+    public ExchangeRateCatalog(
+            ExchangeRateRepository exchangeRateRepository,
+            @Value("${app.exchange-rates.base-currency:CRC}") PaymentCurrency baseCurrency,
+            @Value("${app.exchange-rates.cache.max-size:1000}") int maxSize,
+            @Value("${app.exchange-rates.cache.ttl-seconds:3600}") long ttlSeconds
+    ) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.baseCurrency = baseCurrency;
+        this.cache = new BoundedTtlCache<>("exchange-rates", maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    // Suma de pagos de una moneda en una fecha (ej. agrupados por payment_date)
+    public record DatedAmount(LocalDate date, PaymentCurrency currency, BigDecimal amount, long count) {}
+
+    private record RateTable(LocalDate[] dates, BigDecimal[] rates) {
+        BigDecimal floor(LocalDate date) {
+            int index = Arrays.binarySearch(dates, date);
+            if (index < 0) index = -index - 2;
+            return index < 0 ? null : rates[index];
+        }
+    }
+
+    private record Rates(List<ExchangeRateResponse> all, Map<PaymentCurrency, RateTable> byCurrency) {}
+
+    public PaymentCurrency baseCurrency() {
+        return baseCurrency;
+    }
+
+    public List<ExchangeRateResponse> list(Long gymId) {
+        return load(gymId).all();
+    }
+
+    public Optional<ExchangeRateResponse> find(Long gymId, Long id) {
+        if (gymId == null || id == null) return Optional.empty();
+        return load(gymId).all().stream().filter(rate -> rate.id().equals(id)).findFirst();
+    }
+
+    // Unidades de moneda base por unidad de currency vigentes en date; vacio si no hay tasa cargada a esa fecha
+    public Optional<BigDecimal> rateOn(Long gymId, PaymentCurrency currency, LocalDate date) {
+        if (currency == baseCurrency) return Optional.of(BigDecimal.ONE);
+        if (gymId == null || currency == null || date == null) return Optional.empty();
+        RateTable table = load(gymId).byCurrency().get(currency);
+        return table == null ? Optional.empty() : Optional.ofNullable(table.floor(date));
+    }
+
+    public Optional<BigDecimal> convert(Long gymId, BigDecimal amount, PaymentCurrency currency, LocalDate date) {
+        if (amount == null) return Optional.empty();
+        return rateOn(gymId, currency, date).map(rate -> toBase(amount, rate));
+    }
+
+    // Convierte un conjunto de sumas de una vez: la tabla del gym se resuelve una sola vez para todas
+    public NormalizedTotal normalize(Long gymId, List<DatedAmount> amounts) {
+        Map<PaymentCurrency, RateTable> tables = load(gymId).byCurrency();
+        BigDecimal total = BigDecimal.ZERO;
+        long unconverted = 0;
+        for (DatedAmount amount : amounts) {
+            if (amount.amount() == null) continue;
+            if (amount.currency() == baseCurrency) {
+                total = total.add(amount.amount());
+                continue;
+            }
+            RateTable table = tables.get(amount.currency());
+            BigDecimal rate = table == null ? null : table.floor(amount.date());
+            if (rate == null) {
+                unconverted += amount.count();
+            } else {
+                total = total.add(amount.amount().multiply(rate));
+            }
+        }
+        return new NormalizedTotal(baseCurrency, total.setScale(2, RoundingMode.HALF_UP), unconverted);
+    }
+
+    public void invalidate(Long gymId) {
+        cache.invalidate(gymId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRateChanged(ExchangeRateChangedEvent event) {
+        invalidate(event.gymId());
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    private static BigDecimal toBase(BigDecimal amount, BigDecimal rate) {
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Rates load(Long gymId) {
+        return cache.get(gymId, id -> {
+            // Por fecha dentro de cada moneda: cada tabla queda lista para la busqueda binaria
+            List<ExchangeRateResponse> all = exchangeRateRepository.findByGymIdOrderByCurrencyAscEffectiveDateAsc(id).stream()
+                    .map(ExchangeRateResponse::from)
+                    .toList();
+            Map<PaymentCurrency, List<ExchangeRateResponse>> grouped = new EnumMap<>(PaymentCurrency.class);
+            all.forEach(rate -> grouped.computeIfAbsent(rate.currency(), c -> new ArrayList<>()).add(rate));
+            Map<PaymentCurrency, RateTable> byCurrency = new EnumMap<>(PaymentCurrency.class);
+            grouped.forEach((currency, rates) -> byCurrency.put(currency, new RateTable(
+                    rates.stream().map(ExchangeRateResponse::effectiveDate).toArray(LocalDate[]::new),
+                    rates.stream().map(ExchangeRateResponse::rate).toArray(BigDecimal[]::new))));
+            return new Rates(all, Map.copyOf(byCurrency));
+        });
+    }
+}
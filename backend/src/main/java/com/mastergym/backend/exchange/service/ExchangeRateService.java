@@ -0,0 +1,111 @@
+package com.mastergym.backend.exchange.service;
+
+import com.mastergym.backend.common.audit.AuditService;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.exchange.dto.ExchangeRateRequest;
+import com.mastergym.backend.exchange.dto.ExchangeRateResponse;
+import com.mastergym.backend.exchange.event.ExchangeRateChangedEvent;
+import com.mastergym.backend.exchange.model.ExchangeRateEntity;
+import com.mastergym.backend.exchange.repository.ExchangeRateRepository;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ExchangeRateService {
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final ExchangeRateCatalog exchangeRateCatalog;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ExchangeRateService(
+            ExchangeRateRepository exchangeRateRepository,
+            ExchangeRateCatalog exchangeRateCatalog,
+            AuditService auditService,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.exchangeRateCatalog = exchangeRateCatalog;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public List<ExchangeRateResponse> list(PaymentCurrency currency) {
+        Long gymId = GymContext.requireGymId();
+        List<ExchangeRateResponse> rates = exchangeRateCatalog.list(gymId);
+        if (currency == null) return rates;
+        return rates.stream().filter(rate -> rate.currency() == currency).toList();
+    }
+
+    public ExchangeRateResponse getById(Long id) {
+        Long gymId = GymContext.requireGymId();
+        return exchangeRateCatalog.find(gymId, id)
+                .orElseThrow(() -> new NotFoundException("Tipo de cambio no encontrado"));
+    }
+
+    @Transactional
+    public ExchangeRateResponse create(ExchangeRateRequest request) {
+        Long gymId = GymContext.requireGymId();
+        requireForeignCurrency(request.getCurrency());
+        if (exchangeRateRepository.existsByGymIdAndCurrencyAndEffectiveDate(gymId, request.getCurrency(), request.getEffectiveDate())) {
+            throw new BadRequestException("Ya existe un tipo de cambio para esa moneda y fecha");
+        }
+        ExchangeRateEntity saved = exchangeRateRepository.save(new ExchangeRateEntity(
+                gymId, request.getCurrency(), request.getEffectiveDate(), request.getRate()));
+        auditService.log("CREATE", "exchange_rate", saved.getId(), auditDetails(saved));
+        eventPublisher.publishEvent(new ExchangeRateChangedEvent(gymId));
+        return ExchangeRateResponse.from(saved);
+    }
+
+    @Transactional
+    public ExchangeRateResponse update(Long id, ExchangeRateRequest request) {
+        Long gymId = GymContext.requireGymId();
+        ExchangeRateEntity entity = exchangeRateRepository.findByIdAndGymId(id, gymId)
+                .orElseThrow(() -> new NotFoundException("Tipo de cambio no encontrado"));
+        requireForeignCurrency(request.getCurrency());
+        if (exchangeRateRepository.existsByGymIdAndCurrencyAndEffectiveDateAndIdNot(
+                gymId, request.getCurrency(), request.getEffectiveDate(), id)) {
+            throw new BadRequestException("Ya existe un tipo de cambio para esa moneda y fecha");
+        }
+        entity.setCurrency(request.getCurrency());
+        entity.setEffectiveDate(request.getEffectiveDate());
+        entity.setRate(request.getRate());
+        ExchangeRateEntity saved = exchangeRateRepository.save(entity);
+        auditService.log("UPDATE", "exchange_rate", saved.getId(), auditDetails(saved));
+        eventPublisher.publishEvent(new ExchangeRateChangedEvent(gymId));
+        return ExchangeRateResponse.from(saved);
+    }
+
+    // Nada referencia la tasa: los totales se convierten al consultarlos, asi que se borra
+    @Transactional
+    public void delete(Long id) {
+        Long gymId = GymContext.requireGymId();
+        ExchangeRateEntity entity = exchangeRateRepository.findByIdAndGymId(id, gymId)
+                .orElseThrow(() -> new NotFoundException("Tipo de cambio no encontrado"));
+        exchangeRateRepository.delete(entity);
+        auditService.log("DELETE", "exchange_rate", entity.getId(), auditDetails(entity));
+        eventPublisher.publishEvent(new ExchangeRateChangedEvent(gymId));
+    }
+
+    private void requireForeignCurrency(PaymentCurrency currency) {
+        if (currency == exchangeRateCatalog.baseCurrency()) {
+            throw new BadRequestException("La moneda base (" + currency + ") no lleva tipo de cambio");
+        }
+    }
+
+    private static Map<String, Object> auditDetails(ExchangeRateEntity rate) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("currency", rate.getCurrency());
+        details.put("effectiveDate", rate.getEffectiveDate());
+        details.put("rate", rate.getRate());
+        return details;
+    }
+}
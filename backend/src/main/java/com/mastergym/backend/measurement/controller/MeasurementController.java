@@ -1,6 +1,9 @@
 package com.mastergym.backend.measurement.controller;
 
 import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.export.ExportFormat;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.pagination.CursorPage;
 import com.mastergym.backend.measurement.dto.MeasurementRequest;
 import com.mastergym.backend.measurement.dto.MeasurementResponse;
 import com.mastergym.backend.measurement.service.MeasurementService;
@@ -14,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/measurements")
@@ -42,6 +46,32 @@ public class MeasurementController {
         return measurementService.list(clientId, pageable);
     }
 
+    @GetMapping(params = "after")
+    public CursorPage<MeasurementResponse> listAfter(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "100") int size
+    ) {
+        if (size < 1 || size > 500) {
+            throw new BadRequestException("size debe estar entre 1 y 500");
+        }
+        return measurementService.listAfter(clientId, after, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        Long gymId = GymContext.requireGymId();
+        StreamingResponseBody body = output -> measurementService.export(gymId, clientId, exportFormat, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"mediciones." + exportFormat.extension() + "\"")
+                .contentType(exportFormat.mediaType())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public MeasurementResponse getById(@PathVariable Long id) {
         return measurementService.getById(id);
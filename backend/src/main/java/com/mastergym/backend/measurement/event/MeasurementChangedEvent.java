@@ -0,0 +1,5 @@
+package com.mastergym.backend.measurement.event;
+
+import com.mastergym.backend.common.enums.ChangeOperation;
+
+public record MeasurementChangedEvent(Long gymId, Long measurementId, ChangeOperation operation) {}
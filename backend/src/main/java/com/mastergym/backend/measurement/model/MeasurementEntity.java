@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_measurements_gym_id", columnList = "gym_id"),
                 @Index(name = "idx_measurements_client_id", columnList = "client_id"),
-                @Index(name = "idx_measurements_fecha", columnList = "fecha")
+                @Index(name = "idx_measurements_fecha", columnList = "fecha"),
+                @Index(name = "idx_measurements_gym_fecha_id", columnList = "gym_id, fecha, id")
         }
 )
 public class MeasurementEntity {
@@ -1,6 +1,6 @@
 package com.mastergym.backend.measurement.report;
 
-import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
 import com.mastergym.backend.measurement.model.MeasurementEntity;
 
 import java.text.DecimalFormat;
@@ -14,9 +14,9 @@ public final class MeasurementDetailReportHtmlBuilder {
     private MeasurementDetailReportHtmlBuilder() {
     }
 
-    public static String build(ClientEntity client, MeasurementEntity measurement) {
-        String nombre = escape(client.getNombre());
-        String apellido = escape(client.getApellido());
+    public static String build(ClientSnapshot client, MeasurementEntity measurement) {
+        String nombre = escape(client.nombre());
+        String apellido = escape(client.apellido());
         String clientName = apellido.isEmpty() ? nombre : (nombre + " " + apellido);
         String fecha = measurement.getFecha() == null ? "-" : DATE_FORMAT.format(measurement.getFecha());
 
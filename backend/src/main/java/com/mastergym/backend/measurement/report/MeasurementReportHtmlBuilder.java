@@ -1,6 +1,7 @@
 package com.mastergym.backend.measurement.report;
 
-import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.common.report.ReportLogo;
 import com.mastergym.backend.measurement.model.MeasurementEntity;
 
 import java.awt.BasicStroke;
@@ -10,9 +11,6 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Base64;
 import javax.imageio.ImageIO;
 import java.text.DecimalFormat;
@@ -29,13 +27,13 @@ public final class MeasurementReportHtmlBuilder {
     private MeasurementReportHtmlBuilder() {
     }
 
-    public static String build(ClientEntity client, List<MeasurementEntity> measurements) {
+    public static String build(ClientSnapshot client, List<MeasurementEntity> measurements) {
         MeasurementEntity latest = measurements.isEmpty() ? null : measurements.get(0);
-        String nombre = escape(client.getNombre());
-        String apellido = escape(client.getApellido());
+        String nombre = escape(client.nombre());
+        String apellido = escape(client.apellido());
         String clientName = apellido.isEmpty() ? nombre : (nombre + " " + apellido);
         String lastDate = latest == null ? "-" : DATE_FORMAT.format(latest.getFecha());
-        String logoData = buildLogoDataUri();
+        String logoData = ReportLogo.dataUri();
 
         StringBuilder html = new StringBuilder(8000);
         html.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
@@ -315,22 +313,4 @@ public final class MeasurementReportHtmlBuilder {
                 + " | Ultimo: " + formatNumber(last) + " " + unit + "</div>";
     }
 
-    private static String buildLogoDataUri() {
-        Path[] candidates = new Path[] {
-                Paths.get("ui", "recursos", "logo.jpg"),
-                Paths.get("..", "ui", "recursos", "logo.jpg")
-        };
-        for (Path candidate : candidates) {
-            try {
-                if (Files.exists(candidate)) {
-                    byte[] bytes = Files.readAllBytes(candidate);
-                    return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes);
-                }
-            } catch (Exception ex) {
-                return "";
-            }
-        }
-        return "";
-    }
-
 }
@@ -1,47 +1,85 @@
 package com.mastergym.backend.measurement.service;
 
 import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
 import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientLookupCache;
 import com.mastergym.backend.common.error.BadRequestException;
 import com.mastergym.backend.common.audit.AuditService;
+import com.mastergym.backend.common.enums.ChangeOperation;
 import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.export.EntityStreamExporter;
+import com.mastergym.backend.common.export.ExportFormat;
 import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.pagination.CursorPage;
+import com.mastergym.backend.common.pagination.KeysetCursor;
+import com.mastergym.backend.common.persistence.ProjectionQueries;
 import com.mastergym.backend.measurement.dto.MeasurementRequest;
 import com.mastergym.backend.measurement.dto.MeasurementResponse;
+import com.mastergym.backend.measurement.event.MeasurementChangedEvent;
 import com.mastergym.backend.measurement.model.MeasurementEntity;
 import com.mastergym.backend.measurement.repository.MeasurementRepository;
 import com.mastergym.backend.measurement.report.MeasurementDetailReportHtmlBuilder;
 import com.mastergym.backend.measurement.report.MeasurementReportHtmlBuilder;
 import com.mastergym.backend.measurement.report.MeasurementReportPdfRenderer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.io.OutputStream;
 import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class MeasurementService {
 
+    private static final List<String> EXPORT_HEADERS = List.of(
+            "id", "clientId", "fecha", "peso", "altura", "pechoCm", "cinturaCm", "caderaCm",
+            "brazoIzqCm", "brazoDerCm", "piernaIzqCm", "piernaDerCm", "grasaCorporal", "notas"
+    );
+
     private final MeasurementRepository measurementRepository;
     private final ClientRepository clientRepository;
     private final AuditService auditService;
+    private final EntityStreamExporter entityStreamExporter;
+    private final ClientLookupCache clientLookupCache;
+    private final ProjectionQueries projectionQueries;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MeasurementService(MeasurementRepository measurementRepository, ClientRepository clientRepository, AuditService auditService) {
+    public MeasurementService(
+            MeasurementRepository measurementRepository,
+            ClientRepository clientRepository,
+            AuditService auditService,
+            EntityStreamExporter entityStreamExporter,
+            ClientLookupCache clientLookupCache,
+            ProjectionQueries projectionQueries,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.measurementRepository = measurementRepository;
         this.clientRepository = clientRepository;
         this.auditService = auditService;
+        this.entityStreamExporter = entityStreamExporter;
+        this.clientLookupCache = clientLookupCache;
+        this.projectionQueries = projectionQueries;
+        this.eventPublisher = eventPublisher;
     }
 
     public MeasurementResponse create(MeasurementRequest request) {
         Long gymId = GymContext.requireGymId();
-        ClientEntity client = clientRepository.findByIdAndGymId(request.getClientId(), gymId)
-                .orElseThrow(() -> new BadRequestException("clientId invalido (no pertenece al gym)"));
+        requireClient(gymId, request.getClientId());
+        ClientEntity client = clientRepository.getReferenceById(request.getClientId());
 
         MeasurementEntity entity = new MeasurementEntity(
                 gymId,
@@ -62,13 +100,41 @@ public class MeasurementService {
 
         MeasurementEntity saved = measurementRepository.save(entity);
         auditService.log("CREATE", "measurement", saved.getId(), buildMeasurementAuditDetails(saved));
+        eventPublisher.publishEvent(new MeasurementChangedEvent(gymId, saved.getId(), ChangeOperation.CREATED));
         return toResponse(saved);
     }
 
     public Page<MeasurementResponse> list(Long clientId, Pageable pageable) {
         Long gymId = GymContext.requireGymId();
         Specification<MeasurementEntity> spec = specFor(gymId, clientId);
-        return measurementRepository.findAll(spec, pageable).map(this::toResponse);
+        return projectionQueries.page(MeasurementEntity.class, spec, pageable, LIST_COLUMNS, MeasurementService::fromRow);
+    }
+
+    public CursorPage<MeasurementResponse> listAfter(Long clientId, String after, int size) {
+        Long gymId = GymContext.requireGymId();
+        Specification<MeasurementEntity> spec = specFor(gymId, clientId);
+        KeysetCursor.Position position = KeysetCursor.decode(after);
+        if (position != null) {
+            spec = spec.and(KeysetCursor.before("fecha", parseCursorDate(position.value()), position.id()));
+        }
+        List<MeasurementResponse> fetched = projectionQueries.list(
+                MeasurementEntity.class, spec, KeysetCursor.descending("fecha"), size + 1, LIST_COLUMNS, MeasurementService::fromRow);
+        return KeysetCursor.page(fetched, size, r -> KeysetCursor.encode(r.getFecha(), r.getId()), r -> r);
+    }
+
+    public List<MeasurementResponse> latestForClient(Long clientId, int limit) {
+        Long gymId = GymContext.requireGymId();
+        Specification<MeasurementEntity> spec = specFor(gymId, clientId);
+        return projectionQueries.list(MeasurementEntity.class, spec, KeysetCursor.descending("fecha"), limit, LIST_COLUMNS, MeasurementService::fromRow);
+    }
+
+    // Se ejecuta fuera del hilo del request (StreamingResponseBody): gymId llega explicito
+    public void export(Long gymId, Long clientId, ExportFormat format, OutputStream output) {
+        Specification<MeasurementEntity> spec = specFor(gymId, clientId);
+        Supplier<Stream<MeasurementEntity>> source = () -> measurementRepository.findBy(spec, q -> q
+                .sortBy(KeysetCursor.descending("fecha"))
+                .stream());
+        entityStreamExporter.export(source, this::toResponse, format, output, EXPORT_HEADERS, MeasurementService::exportValues);
     }
 
     public MeasurementResponse getById(Long id) {
@@ -83,8 +149,7 @@ public class MeasurementService {
             throw new BadRequestException("clientId requerido");
         }
         Long gymId = GymContext.requireGymId();
-        ClientEntity client = clientRepository.findByIdAndGymId(clientId, gymId)
-                .orElseThrow(() -> new BadRequestException("clientId invalido (no pertenece al gym)"));
+        ClientSnapshot client = requireClient(gymId, clientId);
         Specification<MeasurementEntity> spec = specFor(gymId, clientId);
         List<MeasurementEntity> measurements = measurementRepository.findAll(
                 spec,
@@ -100,8 +165,7 @@ public class MeasurementService {
             throw new BadRequestException("clientId requerido");
         }
         Long gymId = GymContext.requireGymId();
-        ClientEntity client = clientRepository.findByIdAndGymId(clientId, gymId)
-                .orElseThrow(() -> new BadRequestException("clientId invalido (no pertenece al gym)"));
+        ClientSnapshot client = requireClient(gymId, clientId);
         Specification<MeasurementEntity> spec = specFor(gymId, clientId);
         List<MeasurementEntity> measurements = measurementRepository.findAll(
                 spec,
@@ -121,11 +185,16 @@ public class MeasurementService {
         Long gymId = GymContext.requireGymId();
         MeasurementEntity measurement = measurementRepository.findByIdAndGymId(measurementId, gymId)
                 .orElseThrow(() -> new NotFoundException("Medicion no encontrada"));
-        ClientEntity client = measurement.getClient();
+        ClientSnapshot client = requireClient(gymId, measurement.getClient().getId());
         String html = MeasurementDetailReportHtmlBuilder.build(client, measurement);
         return MeasurementReportPdfRenderer.render(html);
     }
 
+    private ClientSnapshot requireClient(Long gymId, Long clientId) {
+        return clientLookupCache.find(gymId, clientId)
+                .orElseThrow(() -> new BadRequestException("clientId invalido (no pertenece al gym)"));
+    }
+
     public record ReportPdfPayload(byte[] pdf, String filename) {}
 
     public void delete(Long id) {
@@ -134,6 +203,55 @@ public class MeasurementService {
                 .orElseThrow(() -> new NotFoundException("Medicion no encontrada"));
         measurementRepository.delete(entity);
         auditService.log("DELETE", "measurement", entity.getId(), buildMeasurementAuditDetails(entity));
+        eventPublisher.publishEvent(new MeasurementChangedEvent(gymId, entity.getId(), ChangeOperation.DELETED));
+    }
+
+    private static List<Object> exportValues(MeasurementResponse r) {
+        return Arrays.asList(
+                r.getId(),
+                r.getClientId(),
+                r.getFecha(),
+                r.getPeso(),
+                r.getAltura(),
+                r.getPechoCm(),
+                r.getCinturaCm(),
+                r.getCaderaCm(),
+                r.getBrazoIzqCm(),
+                r.getBrazoDerCm(),
+                r.getPiernaIzqCm(),
+                r.getPiernaDerCm(),
+                r.getGrasaCorporal(),
+                r.getNotas()
+        );
+    }
+
+    // Mismo orden que los argumentos de MeasurementResponse
+    private static final List<String> LIST_COLUMNS = List.of(
+            "id", "gymId", "client.id", "fecha", "peso", "altura", "pechoCm", "cinturaCm", "caderaCm",
+            "brazoIzqCm", "brazoDerCm", "piernaIzqCm", "piernaDerCm", "grasaCorporal", "notas",
+            "createdAt", "updatedAt"
+    );
+
+    private static MeasurementResponse fromRow(Object[] row) {
+        return new MeasurementResponse(
+                (Long) row[0],
+                (Long) row[1],
+                (Long) row[2],
+                (LocalDate) row[3],
+                (Double) row[4],
+                (Double) row[5],
+                (Double) row[6],
+                (Double) row[7],
+                (Double) row[8],
+                (Double) row[9],
+                (Double) row[10],
+                (Double) row[11],
+                (Double) row[12],
+                (Double) row[13],
+                (String) row[14],
+                (LocalDateTime) row[15],
+                (LocalDateTime) row[16]
+        );
     }
 
     private MeasurementResponse toResponse(MeasurementEntity e) {
@@ -179,15 +297,23 @@ public class MeasurementService {
         return details;
     }
 
+    private static LocalDate parseCursorDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("cursor invalido");
+        }
+    }
+
     private static String blankToNull(String value) {
         if (value == null) return null;
         String trimmed = value.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    private static String buildClientFilename(ClientEntity client) {
-        String nombre = client.getNombre() == null ? "" : client.getNombre();
-        String apellido = client.getApellido() == null ? "" : client.getApellido();
+    private static String buildClientFilename(ClientSnapshot client) {
+        String nombre = client.nombre() == null ? "" : client.nombre();
+        String apellido = client.apellido() == null ? "" : client.apellido();
         String fullName = (nombre + " " + apellido).trim();
         String normalized = Normalizer.normalize(fullName, Normalizer.Form.NFD)
                 .replaceAll("\\p{M}+", "");
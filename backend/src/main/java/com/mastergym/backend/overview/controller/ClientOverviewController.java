@@ -0,0 +1,32 @@
+package com.mastergym.backend.overview.controller;
+
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.overview.dto.ClientOverviewResponse;
+import com.mastergym.backend.overview.service.ClientOverviewService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/clients")
+public class ClientOverviewController {
+
+    private final ClientOverviewService clientOverviewService;
+
+    public ClientOverviewController(ClientOverviewService clientOverviewService) {
+        this.clientOverviewService = clientOverviewService;
+    }
+
+    @GetMapping("/{id}/overview")
+    public ClientOverviewResponse overview(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int payments
+    ) {
+        if (payments < 1 || payments > 50) {
+            throw new BadRequestException("payments debe estar entre 1 y 50");
+        }
+        return clientOverviewService.overview(id, payments);
+    }
+}
@@ -0,0 +1,21 @@
+package com.mastergym.backend.overview.dto;
+
+import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.exchange.dto.NormalizedTotal;
+import com.mastergym.backend.measurement.dto.MeasurementResponse;
+import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public record ClientOverviewResponse(
+        ClientResponse client,
+        Long diasParaVencimiento,
+        List<PaymentResponse> ultimosPagos,
+        Map<PaymentCurrency, BigDecimal> totalPagado,
+        NormalizedTotal totalPagadoNormalizado,
+        MeasurementResponse ultimaMedicion,
+        MeasurementDeltas cambiosMedicion
+) {}
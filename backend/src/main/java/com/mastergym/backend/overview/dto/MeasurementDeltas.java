@@ -0,0 +1,36 @@
+package com.mastergym.backend.overview.dto;
+
+import com.mastergym.backend.measurement.dto.MeasurementResponse;
+
+// Diferencia ultima - anterior; null si falta alguno de los dos valores
+public record MeasurementDeltas(
+        Double peso,
+        Double pechoCm,
+        Double cinturaCm,
+        Double caderaCm,
+        Double brazoIzqCm,
+        Double brazoDerCm,
+        Double piernaIzqCm,
+        Double piernaDerCm,
+        Double grasaCorporal
+) {
+    public static MeasurementDeltas between(MeasurementResponse latest, MeasurementResponse previous) {
+        if (latest == null || previous == null) return null;
+        return new MeasurementDeltas(
+                diff(latest.getPeso(), previous.getPeso()),
+                diff(latest.getPechoCm(), previous.getPechoCm()),
+                diff(latest.getCinturaCm(), previous.getCinturaCm()),
+                diff(latest.getCaderaCm(), previous.getCaderaCm()),
+                diff(latest.getBrazoIzqCm(), previous.getBrazoIzqCm()),
+                diff(latest.getBrazoDerCm(), previous.getBrazoDerCm()),
+                diff(latest.getPiernaIzqCm(), previous.getPiernaIzqCm()),
+                diff(latest.getPiernaDerCm(), previous.getPiernaDerCm()),
+                diff(latest.getGrasaCorporal(), previous.getGrasaCorporal())
+        );
+    }
+
+    private static Double diff(Double latest, Double previous) {
+        if (latest == null || previous == null) return null;
+        return Math.round((latest - previous) * 100.0) / 100.0;
+    }
+}
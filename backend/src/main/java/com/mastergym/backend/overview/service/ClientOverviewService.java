@@ -0,0 +1,131 @@
+package com.mastergym.backend.overview.service;
+
+import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.common.error.ServiceUnavailableException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.exchange.dto.NormalizedTotal;
+import com.mastergym.backend.measurement.dto.MeasurementResponse;
+import com.mastergym.backend.measurement.service.MeasurementService;
+import com.mastergym.backend.overview.dto.ClientOverviewResponse;
+import com.mastergym.backend.overview.dto.MeasurementDeltas;
+import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.service.PaymentService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Vista 360 del cliente: las cinco consultas corren a la vez en hilos virtuales,
+// cada una con su propia conexion; la latencia es la de la mas lenta. Un semaforo compartido
+// limita cuantas conexiones del pool pueden ocupar los resumenes en curso.
+@Service
+public class ClientOverviewService {
+
+    private static final String BUSY_MESSAGE = "Tiempo de espera agotado armando el resumen del cliente; intente de nuevo";
+
+    private final ClientService clientService;
+    private final PaymentService paymentService;
+    private final MeasurementService measurementService;
+    private final long timeoutMs;
+    private final Semaphore connections;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ClientOverviewService(
+            ClientService clientService,
+            PaymentService paymentService,
+            MeasurementService measurementService,
+            @Value("${app.clients.overview.timeout-ms:10000}") long timeoutMs,
+            @Value("${app.clients.overview.max-concurrent-queries:0}") int maxConcurrentQueries,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize
+    ) {
+        this.clientService = clientService;
+        this.paymentService = paymentService;
+        this.measurementService = measurementService;
+        this.timeoutMs = timeoutMs;
+        // Sin valor explicito se usa la mitad del pool: el resto queda para las demas requests
+        int permits = maxConcurrentQueries > 0 ? maxConcurrentQueries : poolSize / 2;
+        this.connections = new Semaphore(Math.max(1, permits), true);
+    }
+
+    public ClientOverviewResponse overview(Long clientId, int paymentsLimit) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Future<ClientResponse> client = submit(() -> clientService.getClientById(clientId), deadline);
+        Future<List<PaymentResponse>> payments = submit(() -> paymentService.latestForClient(clientId, paymentsLimit), deadline);
+        Future<Map<PaymentCurrency, BigDecimal>> totals = submit(() -> paymentService.totalPaidByCurrency(clientId), deadline);
+        Future<NormalizedTotal> normalized = submit(() -> paymentService.totalPaidNormalized(clientId), deadline);
+        Future<List<MeasurementResponse>> measurements = submit(() -> measurementService.latestForClient(clientId, 2), deadline);
+        List<Future<?>> all = List.of(client, payments, totals, normalized, measurements);
+
+        try {
+            ClientResponse clientResponse = await(client, deadline);
+            List<MeasurementResponse> latest = await(measurements, deadline);
+            MeasurementResponse ultima = latest.isEmpty() ? null : latest.get(0);
+            MeasurementResponse anterior = latest.size() > 1 ? latest.get(1) : null;
+            return new ClientOverviewResponse(
+                    clientResponse,
+                    daysUntil(clientResponse.getFechaVencimiento()),
+                    await(payments, deadline),
+                    await(totals, deadline),
+                    await(normalized, deadline),
+                    ultima,
+                    MeasurementDeltas.between(ultima, anterior)
+            );
+        } finally {
+            // Si una falla (ej. cliente no encontrado) no tiene sentido esperar al resto
+            all.forEach(future -> future.cancel(true));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Cada consulta espera un permiso hasta el mismo plazo que el resumen completo
+    private <T> Future<T> submit(Callable<T> query, long deadline) {
+        return executor.submit(GymContext.wrap(() -> {
+            if (!connections.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new ServiceUnavailableException(BUSY_MESSAGE);
+            }
+            try {
+                return query.call();
+            } finally {
+                connections.release();
+            }
+        }));
+    }
+
+    private static <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("No se pudo armar el resumen del cliente", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Resumen del cliente interrumpido", ex);
+        }
+    }
+
+    private static Long daysUntil(LocalDate fechaVencimiento) {
+        if (fechaVencimiento == null) return null;
+        return ChronoUnit.DAYS.between(LocalDate.now(), fechaVencimiento);
+    }
+}
@@ -1,33 +1,97 @@
 package com.mastergym.backend.payment.controller;
 
 import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.export.ExportFormat;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.idempotency.IdempotencyService;
+import com.mastergym.backend.common.idempotency.IdempotentResult;
+import com.mastergym.backend.common.pagination.CursorPage;
+import com.mastergym.backend.payment.dto.MembershipLedgerRebuildResponse;
+import com.mastergym.backend.payment.dto.PaymentBatchRequest;
+import com.mastergym.backend.payment.dto.PaymentBatchResponse;
+import com.mastergym.backend.payment.dto.PaymentReceiptBatchRequest;
 import com.mastergym.backend.payment.dto.PaymentRequest;
 import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.dto.PaymentRollupCheckResponse;
+import com.mastergym.backend.payment.dto.PaymentRollupRebuildResponse;
+import com.mastergym.backend.payment.dto.PaymentSummaryResponse;
 import com.mastergym.backend.payment.dto.PaymentUpdateRequest;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
+import com.mastergym.backend.payment.service.MembershipLedgerService;
+import com.mastergym.backend.payment.receipt.PaymentReceipt;
+import com.mastergym.backend.payment.service.PaymentBatchService;
+import com.mastergym.backend.payment.service.PaymentReceiptService;
+import com.mastergym.backend.payment.service.PaymentRollupService;
 import com.mastergym.backend.payment.service.PaymentService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/payments")
 public class PaymentController {
 
+    private static final int MAX_SUMMARY_YEARS = 5;
+
     private final PaymentService paymentService;
+    private final PaymentRollupService paymentRollupService;
+    private final PaymentBatchService paymentBatchService;
+    private final IdempotencyService idempotencyService;
+    private final MembershipLedgerService membershipLedgerService;
+    private final PaymentReceiptService paymentReceiptService;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(
+            PaymentService paymentService,
+            PaymentRollupService paymentRollupService,
+            PaymentBatchService paymentBatchService,
+            IdempotencyService idempotencyService,
+            MembershipLedgerService membershipLedgerService,
+            PaymentReceiptService paymentReceiptService
+    ) {
         this.paymentService = paymentService;
+        this.paymentRollupService = paymentRollupService;
+        this.paymentBatchService = paymentBatchService;
+        this.idempotencyService = idempotencyService;
+        this.membershipLedgerService = membershipLedgerService;
+        this.paymentReceiptService = paymentReceiptService;
     }
 
+    // Con Idempotency-Key un reintento devuelve el pago original sin volver a registrarlo
     @PostMapping
-    public ResponseEntity<PaymentResponse> create(@Valid @RequestBody PaymentRequest request) {
-        PaymentResponse created = paymentService.create(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public ResponseEntity<PaymentResponse> create(
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PaymentRequest request
+    ) {
+        IdempotentResult<PaymentResponse> result = idempotencyService.execute(
+                idempotencyKey, "POST /api/payments", request, PaymentResponse.class, () -> paymentService.create(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
+    }
+
+    // Respuesta con un resultado por item: los invalidos no impiden guardar el resto
+    @PostMapping("/batch")
+    public ResponseEntity<PaymentBatchResponse> createBatch(
+            @RequestHeader(value = IdempotencyService.KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody PaymentBatchRequest request
+    ) {
+        IdempotentResult<PaymentBatchResponse> result = idempotencyService.execute(
+                idempotencyKey, "POST /api/payments/batch", request, PaymentBatchResponse.class,
+                () -> paymentBatchService.createBatch(request.getItems()));
+        return ResponseEntity.ok()
+                .header(IdempotencyService.REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.body());
     }
 
     @GetMapping
@@ -46,6 +110,102 @@ public class PaymentController {
         return paymentService.list(clientId, search, days, pageable);
     }
 
+    @GetMapping(params = "after")
+    public CursorPage<PaymentResponse> listAfter(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer days,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        if (days != null && (days < 1 || days > 365)) {
+            throw new BadRequestException("days debe estar entre 1 y 365");
+        }
+        if (size < 1 || size > 200) {
+            throw new BadRequestException("size debe estar entre 1 y 200");
+        }
+        return paymentService.listAfter(clientId, search, days, after, size);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Integer days,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        if (days != null && (days < 1 || days > 365)) {
+            throw new BadRequestException("days debe estar entre 1 y 365");
+        }
+        ExportFormat exportFormat = ExportFormat.from(format);
+        Long gymId = GymContext.requireGymId();
+        StreamingResponseBody body = output -> paymentService.export(gymId, clientId, search, days, exportFormat, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"pagos." + exportFormat.extension() + "\"")
+                .contentType(exportFormat.mediaType())
+                .body(body);
+    }
+
+    @GetMapping("/summary")
+    public PaymentSummaryResponse summary(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(defaultValue = "false") boolean normalized
+    ) {
+        LocalDate toDate = to == null ? LocalDate.now() : to;
+        LocalDate fromDate = from == null ? toDate.withDayOfMonth(1) : from;
+        validateRange(fromDate, toDate);
+        if (fromDate.plusYears(MAX_SUMMARY_YEARS).isBefore(toDate)) {
+            throw new BadRequestException("El rango máximo es de " + MAX_SUMMARY_YEARS + " años");
+        }
+        return paymentService.summary(fromDate, toDate, PaymentSummaryGroup.from(groupBy), normalized);
+    }
+
+    @PostMapping("/rollup/rebuild")
+    public PaymentRollupRebuildResponse rebuildRollup(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to
+    ) {
+        validateRange(from, to);
+        return paymentRollupService.rebuild(GymContext.requireGymId(), from, to);
+    }
+
+    @GetMapping("/rollup/check")
+    public PaymentRollupCheckResponse checkRollup(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to
+    ) {
+        validateRange(from, to);
+        return paymentRollupService.check(GymContext.requireGymId(), from, to);
+    }
+
+    // Recalcula todos los periodos del gym desde sus pagos y corrige las fechas de membresia de los clientes
+    @PostMapping("/memberships/rebuild")
+    public MembershipLedgerRebuildResponse rebuildMemberships() {
+        return membershipLedgerService.rebuild(GymContext.requireGymId(), true);
+    }
+
+    // Los pagos se cargan antes de responder; los PDF se escriben al ZIP a medida que terminan
+    @PostMapping("/receipts")
+    public ResponseEntity<StreamingResponseBody> receipts(@Valid @RequestBody PaymentReceiptBatchRequest request) {
+        List<PaymentReceipt> receipts = paymentReceiptService.load(GymContext.requireGymId(), request.getIds());
+        StreamingResponseBody body = output -> paymentReceiptService.writeZip(receipts, output);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recibos.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
+    @GetMapping("/{id}/receipt/pdf")
+    public ResponseEntity<byte[]> receipt(@PathVariable Long id) {
+        byte[] pdf = paymentReceiptService.receiptPdf(GymContext.requireGymId(), id);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recibo_" + id + ".pdf\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(pdf);
+    }
+
     @GetMapping("/{id}")
     public PaymentResponse getById(@PathVariable Long id) {
         return paymentService.getById(id);
@@ -61,5 +221,10 @@ public class PaymentController {
         paymentService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("from no puede ser posterior a to");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.mastergym.backend.payment.dto;
+
+public record MembershipLedgerRebuildResponse(
+        int clients,
+        int periods,
+        int clientsUpdated
+) {}
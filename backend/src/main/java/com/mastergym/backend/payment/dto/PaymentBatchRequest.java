@@ -0,0 +1,22 @@
+package com.mastergym.backend.payment.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// Los items se validan uno por uno en el servicio para devolver el error de cada uno
+public class PaymentBatchRequest {
+
+    @NotEmpty(message = "items es obligatorio")
+    @Size(max = 500, message = "items supera el máximo (500)")
+    private List<PaymentRequest> items;
+
+    public List<PaymentRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<PaymentRequest> items) {
+        this.items = items;
+    }
+}
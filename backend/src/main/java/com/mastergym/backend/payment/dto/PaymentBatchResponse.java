@@ -0,0 +1,21 @@
+package com.mastergym.backend.payment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record PaymentBatchResponse(
+        int total,
+        int created,
+        int failed,
+        List<ItemResult> items
+) {
+    // index: posicion en la solicitud. fechaVencimiento: vencimiento del cliente tras este pago
+    public record ItemResult(
+            int index,
+            boolean created,
+            Long paymentId,
+            Long clientId,
+            LocalDate fechaVencimiento,
+            String error
+    ) {}
+}
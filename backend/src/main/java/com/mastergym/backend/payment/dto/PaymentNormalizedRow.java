@@ -0,0 +1,11 @@
+package com.mastergym.backend.payment.dto;
+
+import java.math.BigDecimal;
+
+// Como PaymentSummaryRow pero en la moneda base; unconvertedCount = pagos sin tipo de cambio vigente (no suman)
+public record PaymentNormalizedRow(
+        String group,
+        BigDecimal total,
+        long count,
+        long unconvertedCount
+) {}
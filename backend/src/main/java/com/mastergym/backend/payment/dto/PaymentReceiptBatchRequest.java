@@ -0,0 +1,21 @@
+package com.mastergym.backend.payment.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class PaymentReceiptBatchRequest {
+
+    @NotEmpty(message = "ids es obligatorio")
+    @Size(max = 500, message = "ids supera el máximo (500)")
+    private List<Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -4,6 +4,7 @@ import com.mastergym.backend.payment.enums.PaymentCurrency;
 import com.mastergym.backend.payment.enums.PaymentMethod;
 import com.mastergym.backend.payment.enums.PaymentStatus;
 import com.mastergym.backend.payment.enums.PaymentType;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
@@ -20,7 +21,7 @@ public class PaymentRequest {
     @Positive(message = "clientId debe ser mayor a 0")
     private Long clientId;
 
-    @NotNull(message = "amount es obligatorio")
+    // Opcional si viene planId: se toma el precio del plan
     @DecimalMin(value = "0.01", message = "amount debe ser mayor a 0")
     @Digits(integer = 10, fraction = 2, message = "amount debe tener hasta 2 decimales")
     private BigDecimal amount;
@@ -33,6 +34,9 @@ public class PaymentRequest {
     @NotNull(message = "paymentType es obligatorio")
     private PaymentType paymentType;
 
+    @Positive(message = "planId debe ser mayor a 0")
+    private Long planId;
+
     private PaymentStatus status = PaymentStatus.PAID;
 
     @Size(max = 120, message = "reference supera el máximo (120)")
@@ -87,6 +91,14 @@ public class PaymentRequest {
         this.paymentType = paymentType;
     }
 
+    public Long getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(Long planId) {
+        this.planId = planId;
+    }
+
     public PaymentStatus getStatus() {
         return status;
     }
@@ -119,6 +131,11 @@ public class PaymentRequest {
         this.paymentDate = paymentDate;
     }
 
+    @AssertTrue(message = "amount es obligatorio")
+    public boolean isAmountValid() {
+        return amount != null || planId != null;
+    }
+
     private static String blankToNull(String value) {
         if (value == null) return null;
         String trimmed = value.trim();
@@ -17,6 +17,7 @@ public class PaymentResponse {
     private PaymentCurrency currency;
     private PaymentMethod paymentMethod;
     private PaymentType paymentType;
+    private Long planId;
     private PaymentStatus status;
     private String reference;
     private String notes;
@@ -34,6 +35,7 @@ public class PaymentResponse {
             PaymentCurrency currency,
             PaymentMethod paymentMethod,
             PaymentType paymentType,
+            Long planId,
             PaymentStatus status,
             String reference,
             String notes,
@@ -48,6 +50,7 @@ public class PaymentResponse {
         this.currency = currency;
         this.paymentMethod = paymentMethod;
         this.paymentType = paymentType;
+        this.planId = planId;
         this.status = status;
         this.reference = reference;
         this.notes = notes;
@@ -112,6 +115,14 @@ public class PaymentResponse {
         this.paymentType = paymentType;
     }
 
+    public Long getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(Long planId) {
+        this.planId = planId;
+    }
+
     public PaymentStatus getStatus() {
         return status;
     }
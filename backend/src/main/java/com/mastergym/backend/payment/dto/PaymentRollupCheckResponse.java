@@ -0,0 +1,14 @@
+package com.mastergym.backend.payment.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// from/to nulos: se reviso todo el historial. mismatches se corta en 100 filas
+public record PaymentRollupCheckResponse(
+        LocalDate from,
+        LocalDate to,
+        int keysCompared,
+        boolean consistent,
+        int mismatchCount,
+        List<PaymentRollupMismatch> mismatches
+) {}
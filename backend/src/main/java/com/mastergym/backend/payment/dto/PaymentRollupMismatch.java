@@ -0,0 +1,23 @@
+package com.mastergym.backend.payment.dto;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// expected*: calculado desde payments; rollup*: lo que tiene payment_daily_rollup
+public record PaymentRollupMismatch(
+        LocalDate date,
+        PaymentCurrency currency,
+        PaymentMethod paymentMethod,
+        PaymentType paymentType,
+        Long planId,
+        PaymentStatus status,
+        BigDecimal expectedTotal,
+        long expectedCount,
+        BigDecimal rollupTotal,
+        long rollupCount
+) {}
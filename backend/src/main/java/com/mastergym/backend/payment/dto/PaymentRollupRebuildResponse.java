@@ -0,0 +1,9 @@
+package com.mastergym.backend.payment.dto;
+
+import java.time.LocalDate;
+
+public record PaymentRollupRebuildResponse(
+        LocalDate from,
+        LocalDate to,
+        int rollupRows
+) {}
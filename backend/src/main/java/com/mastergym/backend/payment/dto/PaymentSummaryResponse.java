@@ -0,0 +1,20 @@
+package com.mastergym.backend.payment.dto;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Solo pagos PAID; groups y totals van por moneda. Con normalized=true, normalizedGroups y normalizedTotal
+// suman todo en baseCurrency con el tipo de cambio vigente en la fecha de cada pago (si no, quedan en null)
+public record PaymentSummaryResponse(
+        LocalDate from,
+        LocalDate to,
+        PaymentSummaryGroup groupBy,
+        List<PaymentSummaryRow> groups,
+        List<PaymentSummaryRow> totals,
+        PaymentCurrency baseCurrency,
+        List<PaymentNormalizedRow> normalizedGroups,
+        PaymentNormalizedRow normalizedTotal
+) {}
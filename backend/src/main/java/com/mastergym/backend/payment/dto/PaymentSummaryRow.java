@@ -0,0 +1,13 @@
+package com.mastergym.backend.payment.dto;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+
+import java.math.BigDecimal;
+
+// group: "2025-03-14" (day), "2025-03" (month) o el nombre del metodo/tipo/moneda
+public record PaymentSummaryRow(
+        String group,
+        PaymentCurrency currency,
+        BigDecimal total,
+        long count
+) {}
@@ -24,6 +24,9 @@ public class PaymentUpdateRequest {
     private PaymentCurrency currency;
     private PaymentMethod paymentMethod;
     private PaymentType paymentType;
+
+    @Positive(message = "planId debe ser mayor a 0")
+    private Long planId;
     private PaymentStatus status;
 
     @Size(max = 120, message = "reference supera el máximo (120)")
@@ -76,6 +79,14 @@ public class PaymentUpdateRequest {
         this.paymentType = paymentType;
     }
 
+    public Long getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(Long planId) {
+        this.planId = planId;
+    }
+
     public PaymentStatus getStatus() {
         return status;
     }
@@ -0,0 +1,27 @@
+package com.mastergym.backend.payment.enums;
+
+import com.mastergym.backend.common.error.BadRequestException;
+
+import java.util.Locale;
+
+public enum PaymentSummaryGroup {
+    DAY,
+    MONTH,
+    METHOD,
+    TYPE,
+    CURRENCY,
+    PLAN;
+
+    public static PaymentSummaryGroup from(String value) {
+        if (value == null || value.isBlank()) return MONTH;
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "day" -> DAY;
+            case "month" -> MONTH;
+            case "method" -> METHOD;
+            case "type" -> TYPE;
+            case "currency" -> CURRENCY;
+            case "plan" -> PLAN;
+            default -> throw new BadRequestException("groupBy debe ser day, month, method, type, currency o plan");
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.mastergym.backend.payment.event;
+
+import com.mastergym.backend.common.enums.ChangeOperation;
+
+// Alta, edicion o baja de un pago (los cambios de membresia del cliente van en ClientChangedEvent)
+public record PaymentChangedEvent(Long gymId, Long paymentId, ChangeOperation operation) {}
@@ -0,0 +1,95 @@
+package com.mastergym.backend.payment.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Un periodo pagado de membresia por pago PAID con duracion (plan o tipo de membresia), en orden
+// (payment_date, payment_id). La fila con payment_id nulo es la apertura: las fechas que el cliente
+// ya tenia cuando se registro su primer periodo. Se mantiene por JDBC (MembershipLedgerService).
+@Entity
+@Table(
+        name = "membership_periods",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_membership_periods_payment", columnNames = {"payment_id"})
+        },
+        indexes = {
+                @Index(name = "idx_membership_periods_client_order", columnList = "gym_id, client_id, payment_date, payment_id")
+        }
+)
+public class MembershipPeriodEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gym_id", nullable = false)
+    private Long gymId;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "payment_date")
+    private LocalDate paymentDate;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    // Inicio de la racha continua a la que pertenece el periodo (fecha_inicio_membresia del cliente)
+    @Column(name = "membership_start")
+    private LocalDate membershipStart;
+
+    @Column(name = "extension_months", nullable = false)
+    private int extensionMonths;
+
+    @Column(name = "extension_days", nullable = false)
+    private int extensionDays;
+
+    public MembershipPeriodEntity() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGymId() {
+        return gymId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public LocalDate getPaymentDate() {
+        return paymentDate;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDate getMembershipStart() {
+        return membershipStart;
+    }
+
+    public int getExtensionMonths() {
+        return extensionMonths;
+    }
+
+    public int getExtensionDays() {
+        return extensionDays;
+    }
+}
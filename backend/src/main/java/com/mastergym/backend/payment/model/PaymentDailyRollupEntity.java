@@ -0,0 +1,103 @@
+package com.mastergym.backend.payment.model;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Suma diaria de pagos por combinacion de moneda/metodo/tipo/plan/estado.
+// Se mantiene con deltas desde PaymentService (PaymentRollupService); no se escribe via JPA.
+@Entity
+@Table(
+        name = "payment_daily_rollup",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uk_payment_daily_rollup_key",
+                        columnNames = {"gym_id", "rollup_date", "currency", "payment_method", "payment_type", "plan_id", "status"}
+                )
+        }
+)
+public class PaymentDailyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gym_id", nullable = false)
+    private Long gymId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private PaymentCurrency currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 20)
+    private PaymentMethod paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false, length = 40)
+    private PaymentType paymentType;
+
+    // 0 = pago sin plan: la clave no admite nulos para que ON CONFLICT la compare por igualdad
+    @Column(name = "plan_id", nullable = false, columnDefinition = "bigint default 0 not null")
+    private long planId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PaymentStatus status;
+
+    @Column(nullable = false, precision = 16, scale = 2)
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    public PaymentDailyRollupEntity() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGymId() {
+        return gymId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public PaymentCurrency getCurrency() {
+        return currency;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public PaymentType getPaymentType() {
+        return paymentType;
+    }
+
+    public long getPlanId() {
+        return planId;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+}
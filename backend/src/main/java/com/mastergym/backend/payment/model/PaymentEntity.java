@@ -17,7 +17,9 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_payments_gym_id", columnList = "gym_id"),
                 @Index(name = "idx_payments_client_id", columnList = "client_id"),
-                @Index(name = "idx_payments_payment_date", columnList = "payment_date")
+                @Index(name = "idx_payments_payment_date", columnList = "payment_date"),
+                @Index(name = "idx_payments_gym_status_date", columnList = "gym_id, status, payment_date"),
+                @Index(name = "idx_payments_gym_date_id", columnList = "gym_id, payment_date, id")
         }
 )
 public class PaymentEntity {
@@ -48,6 +50,10 @@ public class PaymentEntity {
     @Column(name = "payment_type", nullable = false, length = 40)
     private PaymentType paymentType;
 
+    // Plan de membresia pagado (membership_plans); nulo para pagos que no son de plan
+    @Column(name = "plan_id")
+    private Long planId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private PaymentStatus status = PaymentStatus.PAID;
@@ -157,6 +163,14 @@ public class PaymentEntity {
         this.paymentType = paymentType;
     }
 
+    public Long getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(Long planId) {
+        this.planId = planId;
+    }
+
     public PaymentStatus getStatus() {
         return status;
     }
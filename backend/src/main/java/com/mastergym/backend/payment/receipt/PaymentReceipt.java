@@ -0,0 +1,24 @@
+package com.mastergym.backend.payment.receipt;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Datos del recibo ya resueltos (cliente y plan): el render no toca la base de datos
+public record PaymentReceipt(
+        Long id,
+        LocalDate paymentDate,
+        String clientName,
+        String cedula,
+        PaymentType paymentType,
+        String planName,
+        PaymentMethod paymentMethod,
+        BigDecimal amount,
+        PaymentCurrency currency,
+        PaymentStatus status,
+        String reference
+) {}
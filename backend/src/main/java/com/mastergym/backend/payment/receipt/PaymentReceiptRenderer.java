@@ -0,0 +1,188 @@
+package com.mastergym.backend.payment.receipt;
+
+import com.mastergym.backend.common.report.ReportLogo;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xhtmlrenderer.pdf.ITextRenderer;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// La plantilla del recibo se arma y parsea una sola vez (logo incluido); cada recibo clona el DOM
+// y llena los elementos data-field. Solo usa Helvetica, fuente base del PDF: no hay fuentes que cargar
+@Component
+public class PaymentReceiptRenderer {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String FIELD_ATTRIBUTE = "data-field";
+
+    private final DocumentBuilderFactory builderFactory;
+    private final Document template;
+
+    public PaymentReceiptRenderer() {
+        this.builderFactory = DocumentBuilderFactory.newInstance();
+        this.builderFactory.setNamespaceAware(true);
+        try {
+            this.template = builderFactory.newDocumentBuilder()
+                    .parse(new InputSource(new StringReader(buildTemplate(ReportLogo.dataUri()))));
+        } catch (Exception ex) {
+            throw new IllegalStateException("No se pudo preparar la plantilla del recibo", ex);
+        }
+    }
+
+    public byte[] render(PaymentReceipt receipt) {
+        try (ByteArrayOutputStream output = new ByteArrayOutputStream()) {
+            ITextRenderer renderer = new ITextRenderer();
+            renderer.setDocument(fill(receipt), null);
+            renderer.layout();
+            renderer.createPDF(output);
+            return output.toByteArray();
+        } catch (Exception ex) {
+            throw new IllegalStateException("No se pudo generar el recibo del pago " + receipt.id(), ex);
+        }
+    }
+
+    private Document fill(PaymentReceipt receipt) throws ParserConfigurationException {
+        Document document = builderFactory.newDocumentBuilder().newDocument();
+        // El DOM no garantiza lecturas concurrentes; la copia es barata frente al layout
+        synchronized (template) {
+            document.appendChild(document.importNode(template.getDocumentElement(), true));
+        }
+        Map<String, String> values = values(receipt);
+        NodeList elements = document.getElementsByTagNameNS("*", "*");
+        for (int i = 0; i < elements.getLength(); i++) {
+            Element element = (Element) elements.item(i);
+            if (element.hasAttribute(FIELD_ATTRIBUTE)) {
+                element.setTextContent(values.getOrDefault(element.getAttribute(FIELD_ATTRIBUTE), "-"));
+            }
+        }
+        return document;
+    }
+
+    private static Map<String, String> values(PaymentReceipt receipt) {
+        Map<String, String> values = new HashMap<>();
+        values.put("numero", String.format(Locale.ROOT, "%08d", receipt.id()));
+        values.put("fecha", receipt.paymentDate() == null ? "-" : DATE_FORMAT.format(receipt.paymentDate()));
+        values.put("cliente", orDash(receipt.clientName()));
+        values.put("cedula", orDash(receipt.cedula()));
+        values.put("concepto", receipt.planName() != null ? receipt.planName() : typeLabel(receipt.paymentType()));
+        values.put("metodo", methodLabel(receipt.paymentMethod()));
+        values.put("referencia", orDash(receipt.reference()));
+        values.put("estado", statusLabel(receipt.status()));
+        values.put("monto", receipt.currency() + " " + String.format(Locale.ROOT, "%,.2f", receipt.amount()));
+        return values;
+    }
+
+    private static String buildTemplate(String logoData) {
+        StringBuilder html = new StringBuilder(3000);
+        html.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        html.append("<html xmlns=\"http://www.w3.org/1999/xhtml\" lang=\"es\">");
+        html.append("<head>");
+        html.append("<meta charset=\"utf-8\"/>");
+        html.append("<style>");
+        html.append("@page{size:A5 landscape;margin:10mm;}");
+        html.append("body{font-family:Helvetica,sans-serif;margin:0;color:#111827;font-size:11px;}");
+        html.append(".header{background:#ff6b7a;border-radius:12px;padding:12px 14px;color:#fff;}");
+        html.append(".brand{width:100%;border-collapse:collapse;}");
+        html.append(".brand td{vertical-align:middle;}");
+        html.append(".brand-logo{width:36px;height:36px;border-radius:10px;display:block;background:#fff;}");
+        html.append(".brand-name{font-size:18px;font-weight:bold;margin:0;}");
+        html.append(".subtitle{font-size:10px;color:#ffe1e6;margin:0;}");
+        html.append(".number{text-align:right;font-size:12px;font-weight:bold;}");
+        html.append(".details{width:100%;border-collapse:collapse;margin-top:12px;}");
+        html.append(".details td{padding:6px 8px;border-bottom:1px solid #f3f4f6;}");
+        html.append(".label{width:30%;font-size:9px;color:#6b7280;text-transform:uppercase;letter-spacing:.08em;}");
+        html.append(".value{font-size:12px;font-weight:bold;}");
+        html.append(".total{margin-top:12px;background:#fff0f2;border:1px solid #ffd7dd;border-radius:10px;padding:10px 12px;}");
+        html.append(".total-amount{font-size:18px;font-weight:bold;}");
+        html.append(".muted{color:#6b7280;font-size:9px;margin-top:10px;}");
+        html.append("</style>");
+        html.append("</head>");
+        html.append("<body>");
+        html.append("<div class=\"header\">");
+        html.append("<table class=\"brand\"><tr>");
+        if (!logoData.isEmpty()) {
+            html.append("<td style=\"width:42px;\"><img class=\"brand-logo\" src=\"").append(logoData).append("\" alt=\"MasterGym\"/></td>");
+        }
+        html.append("<td>");
+        html.append("<div class=\"brand-name\">MasterGym</div>");
+        html.append("<div class=\"subtitle\">Recibo de pago</div>");
+        html.append("</td>");
+        html.append("<td class=\"number\">N.&#160;<span data-field=\"numero\"></span></td>");
+        html.append("</tr></table>");
+        html.append("</div>");
+        html.append("<table class=\"details\">");
+        appendRow(html, "Fecha", "fecha");
+        appendRow(html, "Cliente", "cliente");
+        appendRow(html, "Cedula", "cedula");
+        appendRow(html, "Concepto", "concepto");
+        appendRow(html, "Metodo de pago", "metodo");
+        appendRow(html, "Referencia", "referencia");
+        appendRow(html, "Estado", "estado");
+        html.append("</table>");
+        html.append("<div class=\"total\">");
+        html.append("<div class=\"label\">Total</div>");
+        html.append("<div class=\"total-amount\" data-field=\"monto\"></div>");
+        html.append("</div>");
+        html.append("<div class=\"muted\">Comprobante generado por MasterGym.</div>");
+        html.append("</body>");
+        html.append("</html>");
+        return html.toString();
+    }
+
+    private static void appendRow(StringBuilder html, String label, String field) {
+        html.append("<tr><td class=\"label\">").append(label).append("</td>");
+        html.append("<td class=\"value\" data-field=\"").append(field).append("\"></td></tr>");
+    }
+
+    private static String orDash(String value) {
+        return value == null || value.isBlank() ? "-" : value;
+    }
+
+    private static String typeLabel(PaymentType type) {
+        if (type == null) return "-";
+        return switch (type) {
+            case DAILY_MEMBERSHIP -> "Membresia diaria";
+            case MONTHLY_MEMBERSHIP -> "Membresia mensual";
+            case QUARTERLY_MEMBERSHIP -> "Membresia trimestral";
+            case SEMESTER_MEMBERSHIP -> "Membresia semestral";
+            case ANNUAL_MEMBERSHIP -> "Membresia anual";
+            case REGISTRATION -> "Matricula";
+            case PENALTY -> "Multa";
+            case OTHER -> "Otro";
+        };
+    }
+
+    private static String methodLabel(PaymentMethod method) {
+        if (method == null) return "-";
+        return switch (method) {
+            case CASH -> "Efectivo";
+            case SINPE -> "SINPE";
+            case CARD -> "Tarjeta";
+            case TRANSFER -> "Transferencia";
+            case OTHER -> "Otro";
+        };
+    }
+
+    private static String statusLabel(PaymentStatus status) {
+        if (status == null) return "-";
+        return switch (status) {
+            case PAID -> "Pagado";
+            case PENDING -> "Pendiente";
+            case CANCELLED -> "Anulado";
+            case REFUNDED -> "Reembolsado";
+        };
+    }
+}
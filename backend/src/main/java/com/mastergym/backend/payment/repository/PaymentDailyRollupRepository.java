@@ -0,0 +1,94 @@
+package com.mastergym.backend.payment.repository;
+
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.model.PaymentDailyRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PaymentDailyRollupRepository extends JpaRepository<PaymentDailyRollupEntity, Long> {
+
+    // Resumenes de ingresos sobre el rollup diario: cada fila es [clave..., moneda, suma, cantidad]
+    @Query("""
+            select r.rollupDate, r.currency, sum(r.total), sum(r.paymentCount) from PaymentDailyRollupEntity r
+            where r.gymId = :gymId and r.status = :status and r.paymentCount <> 0 and r.rollupDate between :from and :to
+            group by r.rollupDate, r.currency
+            order by r.rollupDate, r.currency
+            """)
+    List<Object[]> summarizeByDay(
+            @Param("gymId") Long gymId,
+            @Param("status") PaymentStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select extract(year from r.rollupDate), extract(month from r.rollupDate), r.currency, sum(r.total), sum(r.paymentCount)
+            from PaymentDailyRollupEntity r
+            where r.gymId = :gymId and r.status = :status and r.paymentCount <> 0 and r.rollupDate between :from and :to
+            group by extract(year from r.rollupDate), extract(month from r.rollupDate), r.currency
+            order by extract(year from r.rollupDate), extract(month from r.rollupDate), r.currency
+            """)
+    List<Object[]> summarizeByMonth(
+            @Param("gymId") Long gymId,
+            @Param("status") PaymentStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select r.paymentMethod, r.currency, sum(r.total), sum(r.paymentCount) from PaymentDailyRollupEntity r
+            where r.gymId = :gymId and r.status = :status and r.paymentCount <> 0 and r.rollupDate between :from and :to
+            group by r.paymentMethod, r.currency
+            order by r.paymentMethod, r.currency
+            """)
+    List<Object[]> summarizeByMethod(
+            @Param("gymId") Long gymId,
+            @Param("status") PaymentStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select r.paymentType, r.currency, sum(r.total), sum(r.paymentCount) from PaymentDailyRollupEntity r
+            where r.gymId = :gymId and r.status = :status and r.paymentCount <> 0 and r.rollupDate between :from and :to
+            group by r.paymentType, r.currency
+            order by r.paymentType, r.currency
+            """)
+    List<Object[]> summarizeByType(
+            @Param("gymId") Long gymId,
+            @Param("status") PaymentStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+            select r.currency, sum(r.total), sum(r.paymentCount) from PaymentDailyRollupEntity r
+            where r.gymId = :gymId and r.status = :status and r.paymentCount <> 0 and r.rollupDate between :from and :to
+            group by r.currency
+            order by r.currency
+            """)
+    List<Object[]> summarizeByCurrency(
+            @Param("gymId") Long gymId,
+            @Param("status") PaymentStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    // planId 0 = pagos sin plan
+    @Query("""
+            select r.planId, r.currency, sum(r.total), sum(r.paymentCount) from PaymentDailyRollupEntity r
+            where r.gymId = :gymId and r.status = :status and r.paymentCount <> 0 and r.rollupDate between :from and :to
+            group by r.planId, r.currency
+            order by r.planId, r.currency
+            """)
+    List<Object[]> summarizeByPlan(
+            @Param("gymId") Long gymId,
+            @Param("status") PaymentStatus status,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
@@ -1,12 +1,46 @@
 package com.mastergym.backend.payment.repository;
 
+import com.mastergym.backend.payment.enums.PaymentStatus;
 import com.mastergym.backend.payment.model.PaymentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<PaymentEntity, Long>, JpaSpecificationExecutor<PaymentEntity> {
     Optional<PaymentEntity> findByIdAndGymId(Long id, Long gymId);
-}
 
+    @Query("""
+            select p.currency, sum(p.amount) from PaymentEntity p
+            where p.gymId = :gymId and p.client.id = :clientId and p.status = :status
+            group by p.currency
+            """)
+    List<Object[]> sumAmountByCurrency(
+            @Param("gymId") Long gymId,
+            @Param("clientId") Long clientId,
+            @Param("status") PaymentStatus status
+    );
+
+    // Para convertir a la moneda base: una fila por fecha y moneda (la tasa depende de la fecha)
+    @Query("""
+            select p.paymentDate, p.currency, sum(p.amount), count(p) from PaymentEntity p
+            where p.gymId = :gymId and p.client.id = :clientId and p.status = :status
+            group by p.paymentDate, p.currency
+            """)
+    List<Object[]> sumAmountByDateAndCurrency(
+            @Param("gymId") Long gymId,
+            @Param("clientId") Long clientId,
+            @Param("status") PaymentStatus status
+    );
+
+    // Recibos: el cliente llega en la misma consulta
+    @Query("select p from PaymentEntity p join fetch p.client where p.gymId = :gymId and p.id in :ids")
+    List<PaymentEntity> findWithClientByGymIdAndIdIn(@Param("gymId") Long gymId, @Param("ids") Collection<Long> ids);
+
+    @Query("select distinct p.gymId from PaymentEntity p")
+    List<Long> findDistinctGymIds();
+}
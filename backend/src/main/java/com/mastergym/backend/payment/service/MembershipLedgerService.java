@@ -0,0 +1,480 @@
+package com.mastergym.backend.payment.service;
+
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.event.ClientsBulkChangedEvent;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.service.ClientStatusCalculator;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.error.ConflictException;
+import com.mastergym.backend.payment.dto.MembershipLedgerRebuildResponse;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.service.MembershipPlanCatalog;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// Ledger de periodos de membresia (membership_periods). Un cambio de pago borra/inserta su periodo y
+// recalcula solo los periodos del cliente desde esa posicion en adelante; el ultimo periodo da las
+// fechas del cliente, que se escriben en la misma transaccion que el pago con un UPDATE condicional
+// por version: dos pagos simultaneos del mismo cliente no pierden ninguna extension sin bloquear al leer.
+@Service
+public class MembershipLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(MembershipLedgerService.class);
+
+    private static final MembershipRenewal.Membership NONE = new MembershipRenewal.Membership(null, null);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO membership_periods (gym_id, client_id, payment_id, payment_date, start_date, end_date,
+                                            membership_start, extension_months, extension_days)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String PREDECESSOR_SQL = """
+            SELECT membership_start, end_date FROM membership_periods
+            WHERE gym_id = ? AND client_id = ? AND payment_id IS NOT NULL
+              AND (payment_date < ? OR (payment_date = ? AND payment_id < ?))
+            ORDER BY payment_date DESC, payment_id DESC
+            LIMIT 1
+            """;
+
+    private static final String OPENING_SQL = """
+            SELECT membership_start, end_date FROM membership_periods
+            WHERE gym_id = ? AND client_id = ? AND payment_id IS NULL
+            ORDER BY id
+            LIMIT 1
+            """;
+
+    private static final String SUFFIX_SQL = """
+            SELECT id, payment_id, payment_date, start_date, end_date, membership_start, extension_months, extension_days
+            FROM membership_periods
+            WHERE gym_id = ? AND client_id = ? AND payment_id IS NOT NULL
+              AND (payment_date > ? OR (payment_date = ? AND payment_id >= ?))
+            ORDER BY payment_date, payment_id
+            """;
+
+    private static final String FIRST_PERIOD_SQL = """
+            SELECT payment_date, payment_id FROM membership_periods
+            WHERE gym_id = ? AND client_id = ? AND payment_id IS NOT NULL
+            ORDER BY payment_date, payment_id
+            LIMIT 1
+            """;
+
+    private static final String UPDATE_PERIOD_SQL =
+            "UPDATE membership_periods SET start_date = ?, end_date = ?, membership_start = ? WHERE id = ?";
+
+    private static final String REBUILD_SOURCE_SQL = """
+            SELECT p.id, p.client_id, p.payment_date, p.payment_type, p.plan_id, m.duration_months, m.duration_days
+            FROM payments p LEFT JOIN membership_plans m ON m.id = p.plan_id
+            WHERE p.gym_id = ? AND p.status = 'PAID'
+            ORDER BY p.client_id, p.payment_date, p.id
+            """;
+
+    private static final String UPDATE_CLIENT_SQL = """
+            UPDATE clients SET fecha_inicio_membresia = ?, fecha_vencimiento = ?, estado = ?, version = version + 1
+            WHERE id = ? AND gym_id = ? AND deleted_at IS NULL
+            """;
+
+    private static final String CLIENT_SQL = """
+            SELECT fecha_inicio_membresia, fecha_vencimiento, estado, version FROM clients
+            WHERE id = ? AND gym_id = ? AND deleted_at IS NULL
+            """;
+
+    private static final String UPDATE_CLIENT_VERSIONED_SQL = """
+            UPDATE clients SET fecha_inicio_membresia = ?, fecha_vencimiento = ?, estado = ?, version = version + 1
+            WHERE id = ? AND gym_id = ? AND version = ? AND deleted_at IS NULL
+            """;
+
+    // Pago visto por el ledger; extension nula = no genera periodo (no PAID o sin duracion)
+    public record Entry(Long clientId, Long paymentId, LocalDate paymentDate, Period extension) {
+        boolean hasPeriod() {
+            return extension != null;
+        }
+
+        Position position() {
+            return new Position(paymentDate, paymentId);
+        }
+    }
+
+    // Orden del ledger: (payment_date, payment_id)
+    record Position(LocalDate date, long paymentId) {
+        static Position min(Position a, Position b) {
+            int cmp = a.date().compareTo(b.date());
+            if (cmp == 0) cmp = Long.compare(a.paymentId(), b.paymentId());
+            return cmp <= 0 ? a : b;
+        }
+    }
+
+    // Fechas finales del cliente y fin de cada periodo recalculado
+    record Recomputed(MembershipRenewal.Membership membership, Map<Long, LocalDate> endByPayment) {}
+
+    private record PeriodRow(
+            long id,
+            long paymentId,
+            LocalDate paymentDate,
+            LocalDate startDate,
+            LocalDate endDate,
+            LocalDate membershipStart,
+            Period extension
+    ) {}
+
+    private record ClientDates(LocalDate inicio, LocalDate vencimiento, ClientStatus estado) {}
+
+    // Fechas del cliente y la version con la que se leyeron
+    record ClientState(LocalDate inicio, LocalDate vencimiento, ClientStatus estado, long version) {
+        MembershipRenewal.Membership membership() {
+            return new MembershipRenewal.Membership(inicio, vencimiento);
+        }
+    }
+
+    private final MembershipPlanCatalog membershipPlanCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public MembershipLedgerService(
+            MembershipPlanCatalog membershipPlanCatalog,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager,
+            @Value("${app.payments.ledger.batch-size:1000}") int batchSize,
+            @Value("${app.payments.ledger.max-attempts:10}") int maxAttempts
+    ) {
+        this.membershipPlanCatalog = membershipPlanCatalog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public Entry entryOf(PaymentEntity payment) {
+        Period extension = null;
+        if (payment.getStatus() == PaymentStatus.PAID) {
+            extension = payment.getPlanId() == null
+                    ? MembershipRenewal.extensionFor(payment.getPaymentType())
+                    : membershipPlanCatalog.find(payment.getGymId(), payment.getPlanId())
+                    .map(MembershipPlanResponse::duration)
+                    .orElseGet(() -> MembershipRenewal.extensionFor(payment.getPaymentType()));
+        }
+        return new Entry(payment.getClient().getId(), payment.getId(), payment.getPaymentDate(), extension);
+    }
+
+    // Alta (before nulo), edicion o borrado (after nulo) de un pago. Debe llamarse dentro de su transaccion
+    public void apply(Long gymId, Entry before, Entry after) {
+        Entry removed = before != null && before.hasPeriod() ? before : null;
+        Entry added = after != null && after.hasPeriod() ? after : null;
+        if (Objects.equals(removed, added)) return;
+
+        // La version se lee antes que el ledger: si otra transaccion confirma entre medio, el UPDATE falla y se reintenta
+        Map<Long, ClientState> states = new HashMap<>();
+        if (removed != null) states.put(removed.clientId(), readClient(gymId, removed.clientId()));
+        if (added != null) states.putIfAbsent(added.clientId(), readClient(gymId, added.clientId()));
+
+        Map<Long, Position> from = new LinkedHashMap<>();
+        if (removed != null) {
+            jdbcTemplate.update("DELETE FROM membership_periods WHERE gym_id = ? AND payment_id = ?",
+                    gymId, removed.paymentId());
+            from.merge(removed.clientId(), removed.position(), Position::min);
+        }
+        if (added != null) {
+            ClientState state = states.get(added.clientId());
+            if (state != null) ensureOpening(gymId, added.clientId(), state.membership());
+            insertPlaceholders(gymId, List.of(added));
+            from.merge(added.clientId(), added.position(), Position::min);
+        }
+        from.forEach((clientId, position) -> settle(gymId, clientId, position, states.get(clientId), true));
+    }
+
+    // Alta por lote: cada cliente se recalcula una vez desde su primer pago del lote y se escribe condicionado a la
+    // version que el llamador leyo al cargarlo; los eventos quedan a su cargo. current = estado actual por cliente
+    Map<Long, Recomputed> applyBatch(Long gymId, List<Entry> entries, Map<Long, ClientState> current) {
+        List<Entry> added = entries.stream().filter(Entry::hasPeriod).toList();
+        // Por id: dos lotes con clientes en comun toman las filas de clients en el mismo orden
+        Map<Long, Position> from = new TreeMap<>();
+        added.forEach(entry -> from.merge(entry.clientId(), entry.position(), Position::min));
+        from.keySet().forEach(clientId -> {
+            ClientState state = current.get(clientId);
+            if (state != null) ensureOpening(gymId, clientId, state.membership());
+        });
+        insertPlaceholders(gymId, added);
+
+        Map<Long, Recomputed> result = new LinkedHashMap<>();
+        from.forEach((clientId, position) ->
+                result.put(clientId, settle(gymId, clientId, position, current.get(clientId), false)));
+        return result;
+    }
+
+    // Regenera los periodos del gym desde payments. writeBack=false solo llena el ledger (backfill inicial)
+    public MembershipLedgerRebuildResponse rebuild(Long gymId, boolean writeBack) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM membership_periods WHERE gym_id = ? AND payment_id IS NOT NULL", gymId);
+            Map<Long, MembershipRenewal.Membership> memberships = new HashMap<>();
+            jdbcTemplate.query("SELECT client_id, membership_start, end_date FROM membership_periods "
+                    + "WHERE gym_id = ? AND payment_id IS NULL", rs -> {
+                memberships.put(rs.getLong("client_id"), readMembership(rs));
+            }, gymId);
+
+            LocalDate today = LocalDate.now();
+            List<Object[]> pending = new ArrayList<>(batchSize);
+            int[] periods = {0};
+            jdbcTemplate.query(REBUILD_SOURCE_SQL, rs -> {
+                Period extension = rebuildExtension(rs);
+                if (extension == null) return;
+                long clientId = rs.getLong("client_id");
+                LocalDate date = rs.getObject("payment_date", LocalDate.class);
+                MembershipRenewal.Membership previous = memberships.getOrDefault(clientId, NONE);
+                LocalDate start = periodStart(previous.vencimiento(), date);
+                MembershipRenewal.Membership renewed = MembershipRenewal.renew(
+                        previous.inicio(), previous.vencimiento(), date, extension, today);
+                memberships.put(clientId, renewed);
+                pending.add(new Object[]{gymId, clientId, rs.getLong("id"), date, start, renewed.vencimiento(),
+                        renewed.inicio(), extension.getMonths(), extension.getDays()});
+                periods[0] += 1;
+                if (pending.size() >= batchSize) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, pending);
+                    pending.clear();
+                }
+            }, gymId);
+            if (!pending.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, pending);
+
+            int updated = writeBack ? writeBackAll(gymId, memberships, today) : 0;
+            return new MembershipLedgerRebuildResponse(memberships.size(), periods[0], updated);
+        });
+    }
+
+    // Gyms con pagos pero sin ledger (tabla recien creada): se llena sin tocar las fechas actuales
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        List<Long> gymIds = jdbcTemplate.queryForList("""
+                SELECT DISTINCT gym_id FROM payments
+                WHERE status = 'PAID' AND gym_id NOT IN (SELECT DISTINCT gym_id FROM membership_periods)
+                """, Long.class);
+        for (Long gymId : gymIds) {
+            try {
+                MembershipLedgerRebuildResponse result = rebuild(gymId, false);
+                if (result.periods() > 0) {
+                    log.info("Ledger de membresias del gym {} generado ({} periodos)", gymId, result.periods());
+                }
+            } catch (Exception ex) {
+                log.warn("No se pudo generar el ledger de membresias del gym {}: {}", gymId, ex.getMessage());
+            }
+        }
+    }
+
+    // Purga de clientes
+    public void removeClient(Long gymId, Long clientId) {
+        jdbcTemplate.update("DELETE FROM membership_periods WHERE gym_id = ? AND client_id = ?", gymId, clientId);
+    }
+
+    // Fusion de duplicados: los periodos pasan al cliente conservado y su cadena se recalcula desde el primero.
+    // La apertura del duplicado se descarta; la del conservado guarda las fechas que tenia antes de recibirlos
+    public void reassignClient(Long gymId, Long fromClientId, Long toClientId) {
+        ClientState state = readClient(gymId, toClientId);
+        if (state != null) ensureOpening(gymId, toClientId, state.membership());
+        jdbcTemplate.update("DELETE FROM membership_periods WHERE gym_id = ? AND client_id = ? AND payment_id IS NULL",
+                gymId, fromClientId);
+        int moved = jdbcTemplate.update("UPDATE membership_periods SET client_id = ? WHERE gym_id = ? AND client_id = ?",
+                toClientId, gymId, fromClientId);
+        if (moved == 0) return;
+        List<Position> first = jdbcTemplate.query(FIRST_PERIOD_SQL, (rs, rowNum) -> new Position(
+                rs.getObject("payment_date", LocalDate.class), rs.getLong("payment_id")), gymId, toClientId);
+        if (!first.isEmpty()) settle(gymId, toClientId, first.get(0), state, true);
+    }
+
+    // Recalcula y escribe las fechas con UPDATE condicional por version. 0 filas = otra transaccion confirmo un cambio
+    // del cliente despues de leer su version: se relee y, como en READ COMMITTED el ledger ya ve los periodos que ella
+    // confirmo, el recalculo suma ambas extensiones. Se escribe aunque las fechas no cambien para que la version ordene
+    // tambien esos casos, y los periodos se corrigen recien despues de ganar el UPDATE del cliente
+    private Recomputed settle(Long gymId, Long clientId, Position from, ClientState state, boolean publish) {
+        List<Object[]> changed = new ArrayList<>();
+        for (int attempt = 1; ; attempt++) {
+            changed.clear();
+            Recomputed result = recompute(gymId, clientId, from, changed);
+            if (state == null || writeBack(gymId, clientId, state, result.membership(), publish)) {
+                if (!changed.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_PERIOD_SQL, changed);
+                return result;
+            }
+            if (attempt >= maxAttempts) {
+                throw new ConflictException("El cliente fue modificado por otra operación; intente de nuevo");
+            }
+            log.debug("Cliente {} del gym {} cambiado en paralelo; reintento {} del recalculo de membresia",
+                    clientId, gymId, attempt);
+            state = readClient(gymId, clientId);
+        }
+    }
+
+    private ClientState readClient(Long gymId, Long clientId) {
+        List<ClientState> rows = jdbcTemplate.query(CLIENT_SQL, (rs, rowNum) -> {
+            String estado = rs.getString("estado");
+            return new ClientState(
+                    rs.getObject("fecha_inicio_membresia", LocalDate.class),
+                    rs.getObject("fecha_vencimiento", LocalDate.class),
+                    estado == null ? null : ClientStatus.valueOf(estado),
+                    rs.getLong("version"));
+        }, clientId, gymId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Solo lee: los periodos a corregir quedan en changed
+    private Recomputed recompute(Long gymId, Long clientId, Position from, List<Object[]> changed) {
+        List<MembershipRenewal.Membership> seed = jdbcTemplate.query(PREDECESSOR_SQL, (rs, rowNum) -> readMembership(rs),
+                gymId, clientId, from.date(), from.date(), from.paymentId());
+        if (seed.isEmpty()) {
+            seed = jdbcTemplate.query(OPENING_SQL, (rs, rowNum) -> readMembership(rs), gymId, clientId);
+        }
+        MembershipRenewal.Membership state = seed.isEmpty() ? NONE : seed.get(0);
+
+        List<PeriodRow> suffix = jdbcTemplate.query(SUFFIX_SQL, (rs, rowNum) -> new PeriodRow(
+                rs.getLong("id"),
+                rs.getLong("payment_id"),
+                rs.getObject("payment_date", LocalDate.class),
+                rs.getObject("start_date", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class),
+                rs.getObject("membership_start", LocalDate.class),
+                Period.of(0, rs.getInt("extension_months"), rs.getInt("extension_days"))
+        ), gymId, clientId, from.date(), from.date(), from.paymentId());
+
+        LocalDate today = LocalDate.now();
+        Map<Long, LocalDate> endByPayment = new LinkedHashMap<>();
+        for (PeriodRow row : suffix) {
+            LocalDate start = periodStart(state.vencimiento(), row.paymentDate());
+            state = MembershipRenewal.renew(state.inicio(), state.vencimiento(), row.paymentDate(), row.extension(), today);
+            endByPayment.put(row.paymentId(), state.vencimiento());
+            if (!start.equals(row.startDate()) || !state.vencimiento().equals(row.endDate())
+                    || !Objects.equals(state.inicio(), row.membershipStart())) {
+                changed.add(new Object[]{start, state.vencimiento(), state.inicio(), row.id()});
+            }
+        }
+        return new Recomputed(state, endByPayment);
+    }
+
+    // Primer periodo del cliente: se guardan las fechas que ya tenia para no perderlas al recalcular
+    private void ensureOpening(Long gymId, Long clientId, MembershipRenewal.Membership current) {
+        if (current.vencimiento() == null) return;
+        List<Integer> existing = jdbcTemplate.queryForList(
+                "SELECT 1 FROM membership_periods WHERE gym_id = ? AND client_id = ? LIMIT 1", Integer.class, gymId, clientId);
+        if (!existing.isEmpty()) return;
+        jdbcTemplate.update(INSERT_SQL, gymId, clientId, null, null, current.inicio(), current.vencimiento(),
+                current.inicio(), 0, 0);
+    }
+
+    // Fechas provisorias: recompute las corrige en la misma transaccion
+    private void insertPlaceholders(Long gymId, List<Entry> entries) {
+        if (entries.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, e) -> {
+            ps.setLong(1, gymId);
+            ps.setLong(2, e.clientId());
+            ps.setLong(3, e.paymentId());
+            ps.setObject(4, e.paymentDate());
+            ps.setObject(5, e.paymentDate());
+            ps.setObject(6, e.paymentDate());
+            ps.setObject(7, e.paymentDate());
+            ps.setInt(8, e.extension().getMonths());
+            ps.setInt(9, e.extension().getDays());
+        });
+    }
+
+    // false si la version ya no es la leida. El UPDATE va por JDBC: con publish, la entidad cargada en esta
+    // transaccion se refresca para que no quede con fechas o version viejas y se avisa el cambio
+    private boolean writeBack(Long gymId, Long clientId, ClientState row, MembershipRenewal.Membership membership,
+                              boolean publish) {
+        ClientStatus estado = ClientStatusCalculator.resolve(membership.inicio(), membership.vencimiento(), LocalDate.now());
+        int updated = jdbcTemplate.update(UPDATE_CLIENT_VERSIONED_SQL, membership.inicio(), membership.vencimiento(),
+                estado.name(), clientId, gymId, row.version());
+        if (updated == 0) return false;
+        if (!publish) return true;
+
+        ClientEntity client = entityManager.find(ClientEntity.class, clientId);
+        if (client == null) return true;
+        entityManager.refresh(client);
+        if (!Objects.equals(row.inicio(), membership.inicio())
+                || !Objects.equals(row.vencimiento(), membership.vencimiento())
+                || row.estado() != estado) {
+            ClientSnapshot after = ClientSnapshot.from(client);
+            ClientSnapshot before = new ClientSnapshot(after.id(), after.gymId(), after.nombre(), after.apellido(),
+                    after.cedula(), after.telefono(), after.email(), row.estado(), after.fechaRegistro(),
+                    row.inicio(), row.vencimiento(), after.notas());
+            eventPublisher.publishEvent(new ClientChangedEvent(gymId, clientId, before, after));
+        }
+        return true;
+    }
+
+    private int writeBackAll(Long gymId, Map<Long, MembershipRenewal.Membership> memberships, LocalDate today) {
+        Map<Long, ClientDates> current = new HashMap<>();
+        jdbcTemplate.query("SELECT id, fecha_inicio_membresia, fecha_vencimiento, estado FROM clients "
+                + "WHERE gym_id = ? AND deleted_at IS NULL", rs -> {
+            String estado = rs.getString("estado");
+            current.put(rs.getLong("id"), new ClientDates(
+                    rs.getObject("fecha_inicio_membresia", LocalDate.class),
+                    rs.getObject("fecha_vencimiento", LocalDate.class),
+                    estado == null ? null : ClientStatus.valueOf(estado)));
+        }, gymId);
+
+        List<Object[]> updates = new ArrayList<>();
+        memberships.forEach((clientId, membership) -> {
+            ClientDates dates = current.get(clientId);
+            if (dates == null) return;
+            ClientStatus estado = ClientStatusCalculator.resolve(membership.inicio(), membership.vencimiento(), today);
+            if (Objects.equals(dates.inicio(), membership.inicio())
+                    && Objects.equals(dates.vencimiento(), membership.vencimiento())
+                    && dates.estado() == estado) {
+                return;
+            }
+            updates.add(new Object[]{membership.inicio(), membership.vencimiento(), estado.name(), clientId, gymId});
+        });
+        if (updates.isEmpty()) return 0;
+        jdbcTemplate.batchUpdate(UPDATE_CLIENT_SQL, updates);
+        eventPublisher.publishEvent(new ClientsBulkChangedEvent(gymId));
+        return updates.size();
+    }
+
+    private static Period rebuildExtension(ResultSet rs) throws SQLException {
+        Object planId = rs.getObject("plan_id");
+        Object months = rs.getObject("duration_months");
+        if (planId != null && months != null) {
+            return Period.of(0, rs.getInt("duration_months"), rs.getInt("duration_days"));
+        }
+        return MembershipRenewal.extensionFor(PaymentType.valueOf(rs.getString("payment_type")));
+    }
+
+    private static MembershipRenewal.Membership readMembership(ResultSet rs) throws SQLException {
+        return new MembershipRenewal.Membership(
+                rs.getObject("membership_start", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class)
+        );
+    }
+
+    // El periodo empieza al vencer el anterior o, si hubo un corte, en la fecha del pago
+    private static LocalDate periodStart(LocalDate vencimiento, LocalDate paymentDate) {
+        return vencimiento != null && !vencimiento.isBefore(paymentDate) ? vencimiento : paymentDate;
+    }
+}
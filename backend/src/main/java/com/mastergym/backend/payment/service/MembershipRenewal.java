@@ -0,0 +1,39 @@
+package com.mastergym.backend.payment.service;
+
+import com.mastergym.backend.payment.enums.PaymentType;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+// Regla de renovacion de membresia por pago; la usan el alta individual y el alta por lote
+final class MembershipRenewal {
+
+    record Membership(LocalDate inicio, LocalDate vencimiento) {}
+
+    private MembershipRenewal() {
+    }
+
+    // Duracion implicita del tipo de pago; los pagos con plan usan la duracion del plan
+    static Period extensionFor(PaymentType type) {
+        if (type == null) return null;
+        return switch (type) {
+            case DAILY_MEMBERSHIP -> Period.ofDays(1);
+            case MONTHLY_MEMBERSHIP -> Period.ofMonths(1);
+            case QUARTERLY_MEMBERSHIP -> Period.ofMonths(3);
+            case SEMESTER_MEMBERSHIP -> Period.ofMonths(6);
+            case ANNUAL_MEMBERSHIP -> Period.ofMonths(12);
+            default -> null;
+        };
+    }
+
+    // Extiende desde el vencimiento vigente o, si ya vencio, desde la fecha del pago
+    static Membership renew(LocalDate inicio, LocalDate vencimiento, LocalDate paymentDate, Period extension, LocalDate today) {
+        LocalDate date = paymentDate != null ? paymentDate : today;
+        LocalDate base = (vencimiento != null && !vencimiento.isBefore(date)) ? vencimiento : date;
+        LocalDate nuevoInicio = inicio;
+        if (date.isAfter(today) || vencimiento == null || vencimiento.isBefore(date)) {
+            nuevoInicio = date;
+        }
+        return new Membership(nuevoInicio, base.plus(extension));
+    }
+}
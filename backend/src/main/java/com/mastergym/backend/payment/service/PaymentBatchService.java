@@ -0,0 +1,289 @@
+package com.mastergym.backend.payment.service;
+
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientStatusCalculator;
+import com.mastergym.backend.common.audit.AuditService;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.enums.ChangeOperation;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.payment.dto.PaymentBatchResponse;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.event.PaymentChangedEvent;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.service.MembershipPlanCatalog;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Alta de muchos pagos en una sola transaccion: los clientes se cargan con un IN, los pagos se escriben con
+// lotes JDBC y las renovaciones se resuelven en el ledger (un recalculo y un UPDATE por version por cliente).
+// Los items invalidos se informan y no impiden guardar el resto.
+@Service
+public class PaymentBatchService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO payments (gym_id, client_id, amount, currency, payment_method, payment_type, plan_id, status,
+                                  reference, notes, payment_date, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ClientRepository clientRepository;
+    private final PaymentRollupService paymentRollupService;
+    private final MembershipLedgerService membershipLedgerService;
+    private final MembershipPlanCatalog membershipPlanCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final Validator validator;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PaymentBatchService(
+            ClientRepository clientRepository,
+            PaymentRollupService paymentRollupService,
+            MembershipLedgerService membershipLedgerService,
+            MembershipPlanCatalog membershipPlanCatalog,
+            JdbcTemplate jdbcTemplate,
+            Validator validator,
+            AuditService auditService,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.clientRepository = clientRepository;
+        this.paymentRollupService = paymentRollupService;
+        this.membershipLedgerService = membershipLedgerService;
+        this.membershipPlanCatalog = membershipPlanCatalog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.validator = validator;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private record Accepted(
+            int index,
+            PaymentRequest request,
+            BigDecimal amount,
+            PaymentCurrency currency,
+            PaymentStatus status,
+            Long planId,
+            Period extension
+    ) {}
+
+    private static final class MembershipState {
+        private final ClientSnapshot before;
+        private final long version;
+        private LocalDate inicio;
+        private LocalDate vencimiento;
+        private boolean changed;
+
+        private MembershipState(ClientSnapshot before, long version) {
+            this.before = before;
+            this.version = version;
+            this.inicio = before.fechaInicioMembresia();
+            this.vencimiento = before.fechaVencimiento();
+        }
+    }
+
+    @Transactional
+    public PaymentBatchResponse createBatch(List<PaymentRequest> items) {
+        Long gymId = GymContext.requireGymId();
+        PaymentBatchResponse.ItemResult[] results = new PaymentBatchResponse.ItemResult[items.size()];
+
+        List<Accepted> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            PaymentRequest request = items.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = rejected(i, request, error);
+                continue;
+            }
+            Period implied = MembershipRenewal.extensionFor(request.getPaymentType());
+            MembershipPlanResponse plan;
+            try {
+                plan = membershipPlanCatalog.resolve(gymId, request.getPlanId(), implied);
+            } catch (BadRequestException ex) {
+                results[i] = rejected(i, request, ex.getMessage());
+                continue;
+            }
+            boolean planPrice = request.getAmount() == null;
+            BigDecimal amount = planPrice ? plan.price() : request.getAmount();
+            PaymentCurrency currency = planPrice ? plan.currency()
+                    : request.getCurrency() != null ? request.getCurrency() : PaymentCurrency.CRC;
+            PaymentStatus status = request.getStatus() != null ? request.getStatus() : PaymentStatus.PAID;
+            valid.add(new Accepted(i, request, amount, currency, status,
+                    plan != null ? plan.id() : null, plan != null ? plan.duration() : implied));
+        }
+
+        Set<Long> clientIds = valid.stream().map(a -> a.request().getClientId()).collect(Collectors.toSet());
+        Map<Long, MembershipState> clients = clientIds.isEmpty() ? Map.of()
+                : clientRepository.findByGymIdAndIdIn(gymId, clientIds).stream()
+                .collect(Collectors.toMap(ClientEntity::getId, c -> new MembershipState(ClientSnapshot.from(c), c.getVersion()), (a, b) -> a, LinkedHashMap::new));
+
+        List<Accepted> accepted = new ArrayList<>(valid.size());
+        for (Accepted item : valid) {
+            if (!clients.containsKey(item.request().getClientId())) {
+                results[item.index()] = rejected(item.index(), item.request(), "clientId inválido (no pertenece al gym)");
+            } else {
+                accepted.add(item);
+            }
+        }
+
+        List<Long> paymentIds = insertPayments(gymId, accepted);
+
+        // Los periodos van al ledger en orden de fecha; cada cliente se recalcula una vez desde su primer pago del lote
+        List<MembershipLedgerService.Entry> entries = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Accepted item = accepted.get(i);
+            Period extension = item.status() == PaymentStatus.PAID ? item.extension() : null;
+            entries.add(new MembershipLedgerService.Entry(
+                    item.request().getClientId(), paymentIds.get(i), item.request().getPaymentDate(), extension));
+        }
+        Map<Long, MembershipLedgerService.ClientState> current = new HashMap<>();
+        clients.forEach((id, state) -> current.put(id, new MembershipLedgerService.ClientState(
+                state.inicio, state.vencimiento, state.before.estado(), state.version)));
+        Map<Long, MembershipLedgerService.Recomputed> recomputed = membershipLedgerService.applyBatch(gymId, entries, current);
+        recomputed.forEach((clientId, result) -> {
+            MembershipState state = clients.get(clientId);
+            MembershipRenewal.Membership membership = result.membership();
+            state.changed = !Objects.equals(state.inicio, membership.inicio())
+                    || !Objects.equals(state.vencimiento, membership.vencimiento());
+            state.inicio = membership.inicio();
+            state.vencimiento = membership.vencimiento();
+        });
+
+        LocalDate today = LocalDate.now();
+        List<ClientSnapshot> renewed = renewedClients(clients, today);
+        for (int i = 0; i < accepted.size(); i++) {
+            Accepted item = accepted.get(i);
+            Long clientId = item.request().getClientId();
+            MembershipLedgerService.Recomputed result = recomputed.get(clientId);
+            LocalDate vencimiento = result == null ? null : result.endByPayment().get(paymentIds.get(i));
+            if (vencimiento == null) vencimiento = clients.get(clientId).vencimiento;
+            results[item.index()] = new PaymentBatchResponse.ItemResult(
+                    item.index(), true, paymentIds.get(i), clientId, vencimiento, null);
+        }
+
+        paymentRollupService.addAll(accepted.stream()
+                .map(a -> new PaymentRollupService.Entry(gymId, a.request().getPaymentDate(), a.currency(),
+                        a.request().getPaymentMethod(), a.request().getPaymentType(), a.planId(), a.status(), a.amount()))
+                .toList());
+
+        if (!accepted.isEmpty()) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("count", accepted.size());
+            details.put("paymentIds", paymentIds);
+            details.put("clientsRenewed", renewed.size());
+            auditService.log("BATCH_CREATE", "payment", null, details);
+        }
+        for (ClientSnapshot after : renewed) {
+            ClientSnapshot before = clients.get(after.id()).before;
+            eventPublisher.publishEvent(new ClientChangedEvent(gymId, after.id(), before, after));
+        }
+        for (Long paymentId : paymentIds) {
+            eventPublisher.publishEvent(new PaymentChangedEvent(gymId, paymentId, ChangeOperation.CREATED));
+        }
+
+        int created = accepted.size();
+        return new PaymentBatchResponse(items.size(), created, items.size() - created, Arrays.asList(results));
+    }
+
+    private String validate(PaymentRequest request) {
+        if (request == null) return "item vacío";
+        Set<ConstraintViolation<PaymentRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private List<Long> insertPayments(Long gymId, List<Accepted> accepted) {
+        if (accepted.isEmpty()) return List.of();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Accepted item = accepted.get(i);
+                PaymentRequest r = item.request();
+                ps.setLong(1, gymId);
+                ps.setLong(2, r.getClientId());
+                ps.setBigDecimal(3, item.amount());
+                ps.setString(4, item.currency().name());
+                ps.setString(5, r.getPaymentMethod().name());
+                ps.setString(6, r.getPaymentType().name());
+                ps.setObject(7, item.planId(), Types.BIGINT);
+                ps.setString(8, item.status().name());
+                ps.setString(9, blankToNull(r.getReference()));
+                ps.setString(10, blankToNull(r.getNotes()));
+                ps.setDate(11, Date.valueOf(r.getPaymentDate()));
+                ps.setTimestamp(12, now);
+                ps.setTimestamp(13, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return accepted.size();
+            }
+        }, keys);
+
+        // El nombre de la columna generada varia por driver ("id" / "ID"): se toma el unico valor
+        List<Long> ids = new ArrayList<>(accepted.size());
+        for (Map<String, Object> row : keys.getKeyList()) {
+            ids.add(((Number) row.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    // El ledger ya escribio las fechas; aqui solo se arman los snapshots para los eventos
+    private static List<ClientSnapshot> renewedClients(Map<Long, MembershipState> clients, LocalDate today) {
+        List<ClientSnapshot> renewed = new ArrayList<>();
+        for (MembershipState state : clients.values()) {
+            if (!state.changed) continue;
+            ClientSnapshot b = state.before;
+            ClientStatus estado = ClientStatusCalculator.resolve(state.inicio, state.vencimiento, today);
+            renewed.add(new ClientSnapshot(b.id(), b.gymId(), b.nombre(), b.apellido(), b.cedula(), b.telefono(),
+                    b.email(), estado, b.fechaRegistro(), state.inicio, state.vencimiento, b.notas()));
+        }
+        return renewed;
+    }
+
+    private static PaymentBatchResponse.ItemResult rejected(int index, PaymentRequest request, String error) {
+        Long clientId = request == null ? null : request.getClientId();
+        return new PaymentBatchResponse.ItemResult(index, false, null, clientId, null, error);
+    }
+
+    private static String blankToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,147 @@
+package com.mastergym.backend.payment.service;
+
+import com.mastergym.backend.payment.dto.PaymentRollupRebuildResponse;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.service.MembershipPlanCatalog;
+import com.mastergym.backend.plan.service.MembershipPlanService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Migracion unica al catalogo de planes: a cada gym con pagos y sin planes se le crea el catalogo
+// inicial y sus pagos historicos se asocian al plan de igual duracion, segun el tipo de pago o,
+// para los que quedaron como OTHER, el "tipoPago: X" que la UI escribia en las notas.
+@Service
+public class PaymentPlanMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentPlanMigrationService.class);
+
+    private static final Pattern TIPO_PAGO_PATTERN = Pattern.compile("tipoPago:\\s*(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private static final String SELECT_BATCH_SQL = """
+            SELECT id, payment_type, notes FROM payments
+            WHERE gym_id = ? AND plan_id IS NULL AND id > ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String UPDATE_SQL = "UPDATE payments SET plan_id = ? WHERE id = ? AND plan_id IS NULL";
+
+    private record Candidate(long id, PaymentType paymentType, String notes) {}
+
+    private record Assignment(long paymentId, long planId) {}
+
+    private final MembershipPlanService membershipPlanService;
+    private final MembershipPlanCatalog membershipPlanCatalog;
+    private final PaymentRollupService paymentRollupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PaymentPlanMigrationService(
+            MembershipPlanService membershipPlanService,
+            MembershipPlanCatalog membershipPlanCatalog,
+            PaymentRollupService paymentRollupService,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.plans.migration.batch-size:1000}") int batchSize
+    ) {
+        this.membershipPlanService = membershipPlanService;
+        this.membershipPlanCatalog = membershipPlanCatalog;
+        this.paymentRollupService = paymentRollupService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migratePending() {
+        List<Long> gymIds = jdbcTemplate.queryForList("""
+                SELECT DISTINCT gym_id FROM payments
+                WHERE gym_id NOT IN (SELECT DISTINCT gym_id FROM membership_plans)
+                """, Long.class);
+        for (Long gymId : gymIds) {
+            try {
+                migrate(gymId);
+            } catch (Exception ex) {
+                log.warn("No se pudo migrar los pagos del gym {} al catalogo de planes: {}", gymId, ex.getMessage());
+            }
+        }
+    }
+
+    // Reejecutable: solo toca pagos con plan_id nulo. Devuelve los pagos asociados a un plan
+    public int migrate(Long gymId) {
+        membershipPlanService.createDefaultsIfMissing(gymId);
+
+        int updated = 0;
+        long lastId = 0;
+        List<Candidate> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_BATCH_SQL, (rs, rowNum) -> new Candidate(
+                    rs.getLong("id"),
+                    PaymentType.valueOf(rs.getString("payment_type")),
+                    rs.getString("notes")
+            ), gymId, lastId, batchSize);
+            if (batch.isEmpty()) break;
+            lastId = batch.get(batch.size() - 1).id();
+
+            List<Assignment> assignments = new ArrayList<>(batch.size());
+            for (Candidate candidate : batch) {
+                Period duration = durationOf(candidate);
+                membershipPlanCatalog.findByDuration(gymId, duration)
+                        .map(MembershipPlanResponse::id)
+                        .ifPresent(planId -> assignments.add(new Assignment(candidate.id(), planId)));
+            }
+            if (!assignments.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(UPDATE_SQL, assignments, assignments.size(), (ps, a) -> {
+                            ps.setLong(1, a.planId());
+                            ps.setLong(2, a.paymentId());
+                        }));
+                updated += assignments.size();
+            }
+        } while (batch.size() >= batchSize);
+
+        if (updated > 0) {
+            // El rollup guardaba estos pagos como "sin plan"
+            PaymentRollupRebuildResponse rebuilt = paymentRollupService.rebuild(gymId, null, null);
+            log.info("Gym {}: {} pagos asociados a planes, rollup regenerado ({} filas)",
+                    gymId, updated, rebuilt.rollupRows());
+        }
+        return updated;
+    }
+
+    private static Period durationOf(Candidate candidate) {
+        Period byType = MembershipRenewal.extensionFor(candidate.paymentType());
+        if (byType != null) return byType;
+        return tipoPagoDuration(candidate.notes()).orElse(null);
+    }
+
+    private static Optional<Period> tipoPagoDuration(String notes) {
+        if (notes == null || notes.isBlank()) return Optional.empty();
+        Matcher matcher = TIPO_PAGO_PATTERN.matcher(notes);
+        if (!matcher.find()) return Optional.empty();
+        return switch (matcher.group(1).toLowerCase(Locale.ROOT)) {
+            case "diario" -> Optional.of(Period.ofDays(1));
+            case "mensual" -> Optional.of(Period.ofMonths(1));
+            case "trimestral" -> Optional.of(Period.ofMonths(3));
+            case "semestral" -> Optional.of(Period.ofMonths(6));
+            case "anual" -> Optional.of(Period.ofMonths(12));
+            default -> Optional.empty();
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.mastergym.backend.payment.service;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.receipt.PaymentReceipt;
+import com.mastergym.backend.payment.receipt.PaymentReceiptRenderer;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.service.MembershipPlanCatalog;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Recibos PDF de pagos. El lote se renderiza en un pool fijo compartido y cada PDF se escribe al ZIP
+// apenas termina: en memoria quedan a lo sumo `workers * 2` recibos por lote, nunca el archivo completo
+@Service
+public class PaymentReceiptService {
+
+    private final PaymentRepository paymentRepository;
+    private final MembershipPlanCatalog membershipPlanCatalog;
+    private final PaymentReceiptRenderer renderer;
+    private final int maxInFlight;
+    private final ExecutorService renderPool;
+
+    public PaymentReceiptService(
+            PaymentRepository paymentRepository,
+            MembershipPlanCatalog membershipPlanCatalog,
+            PaymentReceiptRenderer renderer,
+            @Value("${app.payments.receipts.workers:4}") int workers
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.membershipPlanCatalog = membershipPlanCatalog;
+        this.renderer = renderer;
+        int poolSize = Math.max(1, workers);
+        this.maxInFlight = poolSize * 2;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "receipt-render-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record Rendered(PaymentReceipt receipt, byte[] pdf) {}
+
+    public byte[] receiptPdf(Long gymId, Long id) {
+        return renderer.render(load(gymId, List.of(id)).get(0));
+    }
+
+    // Se llama antes de empezar la respuesta: un id inexistente da 404 y no un ZIP cortado
+    public List<PaymentReceipt> load(Long gymId, List<Long> ids) {
+        if (ids.contains(null)) {
+            throw new BadRequestException("ids no puede contener valores nulos");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, PaymentEntity> found = paymentRepository.findWithClientByGymIdAndIdIn(gymId, requested).stream()
+                .collect(Collectors.toMap(PaymentEntity::getId, Function.identity()));
+        List<PaymentReceipt> receipts = new ArrayList<>(requested.size());
+        for (Long id : requested) {
+            PaymentEntity payment = found.get(id);
+            if (payment == null) {
+                throw new NotFoundException("Pago no encontrado: " + id);
+            }
+            receipts.add(toReceipt(gymId, payment));
+        }
+        return receipts;
+    }
+
+    public void writeZip(List<PaymentReceipt> receipts, OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output);
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(renderPool);
+        List<Future<Rendered>> pending = new ArrayList<>(receipts.size());
+        int submitted = 0;
+        try {
+            for (int written = 0; written < receipts.size(); written++) {
+                while (submitted < receipts.size() && submitted - written < maxInFlight) {
+                    PaymentReceipt receipt = receipts.get(submitted++);
+                    pending.add(completion.submit(() -> new Rendered(receipt, renderer.render(receipt))));
+                }
+                Rendered rendered = completion.take().get();
+                zip.putNextEntry(new ZipEntry(filename(rendered.receipt())));
+                zip.write(rendered.pdf());
+                zip.closeEntry();
+            }
+            zip.finish();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generacion de recibos interrumpida", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("No se pudieron generar los recibos", ex.getCause());
+        } finally {
+            // Si el cliente corta la descarga o falla un recibo, el resto del lote no sigue ocupando el pool
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    public static String filename(PaymentReceipt receipt) {
+        return "recibo_" + receipt.id() + ".pdf";
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private PaymentReceipt toReceipt(Long gymId, PaymentEntity payment) {
+        ClientEntity client = payment.getClient();
+        String nombre = client.getNombre() == null ? "" : client.getNombre().trim();
+        String apellido = client.getApellido() == null ? "" : client.getApellido().trim();
+        String planName = payment.getPlanId() == null ? null : membershipPlanCatalog.find(gymId, payment.getPlanId())
+                .map(MembershipPlanResponse::name)
+                .orElse(null);
+        return new PaymentReceipt(
+                payment.getId(),
+                payment.getPaymentDate(),
+                apellido.isEmpty() ? nombre : nombre + " " + apellido,
+                client.getCedula(),
+                payment.getPaymentType(),
+                planName,
+                payment.getPaymentMethod(),
+                payment.getAmount(),
+                payment.getCurrency(),
+                payment.getStatus(),
+                payment.getReference()
+        );
+    }
+}
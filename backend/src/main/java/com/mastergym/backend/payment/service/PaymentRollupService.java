@@ -0,0 +1,342 @@
+package com.mastergym.backend.payment.service;
+
+import com.mastergym.backend.payment.dto.PaymentRollupCheckResponse;
+import com.mastergym.backend.payment.dto.PaymentRollupMismatch;
+import com.mastergym.backend.payment.dto.PaymentRollupRebuildResponse;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Mantiene payment_daily_rollup con deltas dentro de la misma transaccion que el pago.
+// El upsert es INSERT ... ON CONFLICT DO NOTHING + UPDATE total = total + ?: funciona en Postgres y H2,
+// y el UPDATE bloquea la fila hasta el commit, asi dos pagos del mismo dia no pierden deltas.
+@Service
+public class PaymentRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentRollupService.class);
+
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    private static final String ENSURE_ROW_SQL = """
+            INSERT INTO payment_daily_rollup
+                (gym_id, rollup_date, currency, payment_method, payment_type, plan_id, status, total, payment_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, 0)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String APPLY_DELTA_SQL = """
+            UPDATE payment_daily_rollup SET total = total + ?, payment_count = payment_count + ?
+            WHERE gym_id = ? AND rollup_date = ? AND currency = ? AND payment_method = ? AND payment_type = ?
+              AND plan_id = ? AND status = ?
+            """;
+
+    // En payments plan_id es opcional; en el rollup el "sin plan" es 0
+    private static final String GROUP_COLUMNS = "payment_date, currency, payment_method, payment_type, COALESCE(plan_id, 0), status";
+
+    private static final String SELECT_COLUMNS = "payment_date, currency, payment_method, payment_type, "
+            + "COALESCE(plan_id, 0) AS plan_id, status";
+
+    // Cada fila del rollup toma la tasa cuya vigencia [effective_date, siguiente effective_date) contiene su fecha;
+    // sin tasa la fila no suma y se cuenta en unconverted_count. %1$s = columnas de la clave
+    private static final String NORMALIZED_SUMMARY_SQL = """
+            WITH rates AS (
+                SELECT currency, rate, effective_date AS valid_from,
+                       LEAD(effective_date) OVER (PARTITION BY currency ORDER BY effective_date) AS valid_to
+                FROM exchange_rates
+                WHERE gym_id = ?
+            )
+            SELECT %1$s,
+                   SUM(CASE WHEN r.currency = ? THEN r.total ELSE r.total * x.rate END) AS normalized_total,
+                   SUM(r.payment_count) AS payment_count,
+                   SUM(CASE WHEN r.currency <> ? AND x.rate IS NULL THEN r.payment_count ELSE 0 END) AS unconverted_count
+            FROM payment_daily_rollup r
+            LEFT JOIN rates x ON x.currency = r.currency AND x.valid_from <= r.rollup_date
+                             AND (x.valid_to IS NULL OR r.rollup_date < x.valid_to)
+            WHERE r.gym_id = ? AND r.status = ? AND r.payment_count <> 0 AND r.rollup_date BETWEEN ? AND ?
+            GROUP BY %1$s
+            ORDER BY %1$s
+            """;
+
+    // key con los mismos tipos que las filas de PaymentDailyRollupRepository (ej. LocalDate, PaymentMethod)
+    public record NormalizedRow(Object[] key, BigDecimal total, long count, long unconvertedCount) {}
+
+    // Clave del rollup + monto de un pago; se toma antes y despues de editarlo
+    public record Entry(
+            Long gymId,
+            LocalDate date,
+            PaymentCurrency currency,
+            PaymentMethod paymentMethod,
+            PaymentType paymentType,
+            Long planId,
+            PaymentStatus status,
+            BigDecimal amount
+    ) {
+        public static Entry of(PaymentEntity payment) {
+            return new Entry(
+                    payment.getGymId(),
+                    payment.getPaymentDate(),
+                    payment.getCurrency(),
+                    payment.getPaymentMethod(),
+                    payment.getPaymentType(),
+                    payment.getPlanId(),
+                    payment.getStatus(),
+                    payment.getAmount()
+            );
+        }
+    }
+
+    private record Key(
+            LocalDate date,
+            PaymentCurrency currency,
+            PaymentMethod paymentMethod,
+            PaymentType paymentType,
+            long planId,
+            PaymentStatus status
+    ) {}
+
+    private record Totals(BigDecimal total, long count) {}
+
+    private final PaymentRepository paymentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int checkDays;
+
+    public PaymentRollupService(
+            PaymentRepository paymentRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.payments.rollup.check-days:45}") int checkDays
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkDays = Math.max(1, checkDays);
+    }
+
+    // Debe llamarse dentro de la transaccion que crea/edita/borra el pago
+    public void add(Entry entry) {
+        applyDelta(entry.gymId(), keyOf(entry), entry.amount(), 1);
+    }
+
+    public void remove(Entry entry) {
+        applyDelta(entry.gymId(), keyOf(entry), entry.amount().negate(), -1);
+    }
+
+    // Alta por lote: un delta por clave en lugar de uno por pago
+    public void addAll(List<Entry> entries) {
+        Map<Long, Map<Key, Totals>> grouped = new HashMap<>();
+        for (Entry entry : entries) {
+            grouped.computeIfAbsent(entry.gymId(), g -> new HashMap<>())
+                    .merge(keyOf(entry), new Totals(entry.amount(), 1),
+                            (a, b) -> new Totals(a.total().add(b.total()), a.count() + b.count()));
+        }
+        grouped.forEach((gymId, byKey) -> byKey.forEach((key, totals) ->
+                applyDelta(gymId, key, totals.total(), totals.count())));
+    }
+
+    public void replace(Entry before, Entry after) {
+        if (before.equals(after)) return;
+        remove(before);
+        add(after);
+    }
+
+    // Resta del rollup el mismo lote que ClientDeletionWorker borra a continuacion (ORDER BY id LIMIT n)
+    public void removeClientBatch(Long gymId, Long clientId, int limit) {
+        String sql = "SELECT " + SELECT_COLUMNS + ", SUM(amount) AS total, COUNT(*) AS payment_count FROM payments "
+                + "WHERE id IN (SELECT id FROM payments WHERE gym_id = ? AND client_id = ? ORDER BY id LIMIT ?) "
+                + "GROUP BY " + GROUP_COLUMNS;
+        Map<Key, Totals> batch = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            batch.put(readKey(rs), new Totals(rs.getBigDecimal("total"), rs.getLong("payment_count")));
+        }, gymId, clientId, limit);
+        batch.forEach((key, totals) -> applyDelta(gymId, key, totals.total().negate(), -totals.count()));
+    }
+
+    // Recalcula el rango desde payments (backfill o reparacion). from/to nulos = todo el historial
+    public PaymentRollupRebuildResponse rebuild(Long gymId, LocalDate from, LocalDate to) {
+        List<Object> args = new ArrayList<>();
+        String range = rangeClause("rollup_date", gymId, from, to, args);
+        List<Object> sourceArgs = new ArrayList<>();
+        String sourceRange = rangeClause("payment_date", gymId, from, to, sourceArgs);
+        String insertSql = "INSERT INTO payment_daily_rollup "
+                + "(gym_id, rollup_date, currency, payment_method, payment_type, plan_id, status, total, payment_count) "
+                + "SELECT gym_id, " + GROUP_COLUMNS + ", SUM(amount), COUNT(*) FROM payments WHERE " + sourceRange
+                + " GROUP BY gym_id, " + GROUP_COLUMNS;
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("DELETE FROM payment_daily_rollup WHERE " + range, args.toArray());
+            return jdbcTemplate.update(insertSql, sourceArgs.toArray());
+        });
+        return new PaymentRollupRebuildResponse(from, to, rows == null ? 0 : rows);
+    }
+
+    public PaymentRollupCheckResponse check(Long gymId, LocalDate from, LocalDate to) {
+        List<Object> args = new ArrayList<>();
+        String range = rangeClause("rollup_date", gymId, from, to, args);
+        List<Object> sourceArgs = new ArrayList<>();
+        String sourceRange = rangeClause("payment_date", gymId, from, to, sourceArgs);
+
+        Map<Key, Totals> expected = new HashMap<>();
+        jdbcTemplate.query("SELECT " + SELECT_COLUMNS + ", SUM(amount) AS total, COUNT(*) AS payment_count "
+                        + "FROM payments WHERE " + sourceRange + " GROUP BY " + GROUP_COLUMNS,
+                rs -> {
+                    expected.put(readKey(rs), new Totals(rs.getBigDecimal("total"), rs.getLong("payment_count")));
+                }, sourceArgs.toArray());
+
+        Map<Key, Totals> actual = new HashMap<>();
+        jdbcTemplate.query("SELECT rollup_date AS payment_date, currency, payment_method, payment_type, plan_id, status, "
+                        + "total, payment_count FROM payment_daily_rollup WHERE " + range + " AND payment_count <> 0",
+                rs -> {
+                    actual.put(readKey(rs), new Totals(rs.getBigDecimal("total"), rs.getLong("payment_count")));
+                }, args.toArray());
+
+        Set<Key> keys = new HashSet<>(expected.keySet());
+        keys.addAll(actual.keySet());
+        Totals empty = new Totals(BigDecimal.ZERO, 0);
+        List<PaymentRollupMismatch> mismatches = new ArrayList<>();
+        int mismatchCount = 0;
+        for (Key key : keys) {
+            Totals e = expected.getOrDefault(key, empty);
+            Totals a = actual.getOrDefault(key, empty);
+            if (e.count() == a.count() && e.total().compareTo(a.total()) == 0) continue;
+            mismatchCount += 1;
+            if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                mismatches.add(new PaymentRollupMismatch(key.date(), key.currency(), key.paymentMethod(),
+                        key.paymentType(), key.planId() == 0 ? null : key.planId(), key.status(), e.total(), e.count(), a.total(), a.count()));
+            }
+        }
+        mismatches.sort((x, y) -> x.date().compareTo(y.date()));
+        return new PaymentRollupCheckResponse(from, to, keys.size(), mismatchCount == 0, mismatchCount, mismatches);
+    }
+
+    // Resumen PAID en la moneda base, convertido en el mismo SELECT (join por vigencia contra exchange_rates)
+    public List<NormalizedRow> summarizeNormalized(Long gymId, LocalDate from, LocalDate to, PaymentSummaryGroup groupBy,
+                                                   PaymentCurrency baseCurrency) {
+        String keyColumns = switch (groupBy) {
+            case DAY -> "r.rollup_date";
+            case MONTH -> "EXTRACT(YEAR FROM r.rollup_date), EXTRACT(MONTH FROM r.rollup_date)";
+            case METHOD -> "r.payment_method";
+            case TYPE -> "r.payment_type";
+            case CURRENCY -> "r.currency";
+            case PLAN -> "r.plan_id";
+        };
+        int keySize = groupBy == PaymentSummaryGroup.MONTH ? 2 : 1;
+        return jdbcTemplate.query(NORMALIZED_SUMMARY_SQL.formatted(keyColumns), (rs, rowNum) -> {
+            Object[] key = new Object[keySize];
+            key[0] = switch (groupBy) {
+                case DAY -> rs.getObject(1, LocalDate.class);
+                case MONTH -> rs.getInt(1);
+                case METHOD -> PaymentMethod.valueOf(rs.getString(1));
+                case TYPE -> PaymentType.valueOf(rs.getString(1));
+                case CURRENCY -> PaymentCurrency.valueOf(rs.getString(1));
+                case PLAN -> rs.getLong(1);
+            };
+            if (keySize == 2) key[1] = rs.getInt(2);
+            BigDecimal total = rs.getBigDecimal("normalized_total");
+            return new NormalizedRow(key, total == null ? BigDecimal.ZERO : total,
+                    rs.getLong("payment_count"), rs.getLong("unconverted_count"));
+        }, gymId, baseCurrency.name(), baseCurrency.name(), gymId, PaymentStatus.PAID.name(), from, to);
+    }
+
+    // Gyms con pagos pero sin rollup (tabla recien creada): backfill completo al arrancar
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissing() {
+        List<Long> gymIds = jdbcTemplate.queryForList("""
+                SELECT DISTINCT gym_id FROM payments
+                WHERE gym_id NOT IN (SELECT DISTINCT gym_id FROM payment_daily_rollup)
+                """, Long.class);
+        for (Long gymId : gymIds) {
+            PaymentRollupRebuildResponse result = rebuild(gymId, null, null);
+            log.info("Rollup de pagos del gym {} generado ({} filas)", gymId, result.rollupRows());
+        }
+    }
+
+    // Revision nocturna de los ultimos dias; los dias con diferencias se recalculan
+    @Scheduled(cron = "${app.payments.rollup.check-cron:0 15 3 * * *}")
+    public void verifyRecent() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(checkDays - 1L);
+        for (Long gymId : paymentRepository.findDistinctGymIds()) {
+            try {
+                PaymentRollupCheckResponse result = check(gymId, from, to);
+                if (result.consistent()) continue;
+                log.warn("Rollup de pagos del gym {} con {} diferencias; se recalculan los dias afectados",
+                        gymId, result.mismatchCount());
+                if (result.mismatchCount() > result.mismatches().size()) {
+                    rebuild(gymId, from, to);
+                    continue;
+                }
+                Set<LocalDate> days = new TreeSet<>();
+                result.mismatches().forEach(m -> days.add(m.date()));
+                for (LocalDate day : days) {
+                    rebuild(gymId, day, day);
+                }
+            } catch (Exception ex) {
+                log.warn("No se pudo revisar el rollup de pagos del gym {}: {}", gymId, ex.getMessage());
+            }
+        }
+    }
+
+    private void applyDelta(Long gymId, Key key, BigDecimal amount, long count) {
+        String currency = key.currency().name();
+        String method = key.paymentMethod().name();
+        String type = key.paymentType().name();
+        String status = key.status().name();
+        jdbcTemplate.update(ENSURE_ROW_SQL, gymId, key.date(), currency, method, type, key.planId(), status);
+        jdbcTemplate.update(APPLY_DELTA_SQL, amount, count, gymId, key.date(), currency, method, type, key.planId(), status);
+    }
+
+    private static Key keyOf(Entry entry) {
+        return new Key(entry.date(), entry.currency(), entry.paymentMethod(), entry.paymentType(),
+                entry.planId() == null ? 0L : entry.planId(), entry.status());
+    }
+
+    private static String rangeClause(String dateColumn, Long gymId, LocalDate from, LocalDate to, List<Object> args) {
+        StringBuilder sql = new StringBuilder("gym_id = ?");
+        args.add(gymId);
+        if (from != null) {
+            sql.append(" AND ").append(dateColumn).append(" >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND ").append(dateColumn).append(" <= ?");
+            args.add(to);
+        }
+        return sql.toString();
+    }
+
+    private static Key readKey(ResultSet rs) throws SQLException {
+        return new Key(
+                rs.getObject("payment_date", LocalDate.class),
+                PaymentCurrency.valueOf(rs.getString("currency")),
+                PaymentMethod.valueOf(rs.getString("payment_method")),
+                PaymentType.valueOf(rs.getString("payment_type")),
+                rs.getLong("plan_id"),
+                PaymentStatus.valueOf(rs.getString("status"))
+        );
+    }
+}
@@ -2,61 +2,124 @@ package com.mastergym.backend.payment.service;
 
 import com.mastergym.backend.client.model.ClientEntity;
 import com.mastergym.backend.client.repository.ClientRepository;
-import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.client.service.ClientLookupCache;
 import com.mastergym.backend.common.audit.AuditService;
+import com.mastergym.backend.common.enums.ChangeOperation;
 import com.mastergym.backend.common.error.BadRequestException;
 import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.export.EntityStreamExporter;
+import com.mastergym.backend.common.export.ExportFormat;
 import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.pagination.CursorPage;
+import com.mastergym.backend.common.pagination.KeysetCursor;
+import com.mastergym.backend.common.persistence.ProjectionQueries;
+import com.mastergym.backend.exchange.dto.NormalizedTotal;
+import com.mastergym.backend.exchange.service.ExchangeRateCatalog;
+import com.mastergym.backend.payment.dto.PaymentNormalizedRow;
 import com.mastergym.backend.payment.dto.PaymentRequest;
 import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.dto.PaymentSummaryResponse;
+import com.mastergym.backend.payment.dto.PaymentSummaryRow;
 import com.mastergym.backend.payment.dto.PaymentUpdateRequest;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
 import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
 import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.event.PaymentChangedEvent;
 import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentDailyRollupRepository;
 import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.service.MembershipPlanCatalog;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
+import java.time.format.DateTimeParseException;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class PaymentService {
 
+    private static final List<String> EXPORT_HEADERS = List.of(
+            "id", "clientId", "amount", "currency", "paymentMethod", "paymentType", "planId", "status",
+            "reference", "notes", "paymentDate", "createdAt"
+    );
+
     private final PaymentRepository paymentRepository;
     private final ClientRepository clientRepository;
     private final AuditService auditService;
+    private final EntityStreamExporter entityStreamExporter;
+    private final ClientLookupCache clientLookupCache;
+    private final ProjectionQueries projectionQueries;
+    private final PaymentRollupService paymentRollupService;
+    private final PaymentDailyRollupRepository paymentDailyRollupRepository;
+    private final MembershipPlanCatalog membershipPlanCatalog;
+    private final MembershipLedgerService membershipLedgerService;
+    private final ExchangeRateCatalog exchangeRateCatalog;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PaymentService(
             PaymentRepository paymentRepository,
             ClientRepository clientRepository,
-            AuditService auditService
+            AuditService auditService,
+            EntityStreamExporter entityStreamExporter,
+            ClientLookupCache clientLookupCache,
+            ProjectionQueries projectionQueries,
+            PaymentRollupService paymentRollupService,
+            PaymentDailyRollupRepository paymentDailyRollupRepository,
+            MembershipPlanCatalog membershipPlanCatalog,
+            MembershipLedgerService membershipLedgerService,
+            ExchangeRateCatalog exchangeRateCatalog,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.paymentRepository = paymentRepository;
         this.clientRepository = clientRepository;
         this.auditService = auditService;
+        this.entityStreamExporter = entityStreamExporter;
+        this.clientLookupCache = clientLookupCache;
+        this.projectionQueries = projectionQueries;
+        this.paymentRollupService = paymentRollupService;
+        this.paymentDailyRollupRepository = paymentDailyRollupRepository;
+        this.membershipPlanCatalog = membershipPlanCatalog;
+        this.membershipLedgerService = membershipLedgerService;
+        this.exchangeRateCatalog = exchangeRateCatalog;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public PaymentResponse create(PaymentRequest request) {
         Long gymId = GymContext.requireGymId();
-        ClientEntity client = clientRepository.findByIdAndGymId(request.getClientId(), gymId)
-                .orElseThrow(() -> new BadRequestException("clientId inválido (no pertenece al gym)"));
+        ClientEntity client = requireClientReference(gymId, request.getClientId());
+        Period implied = MembershipRenewal.extensionFor(request.getPaymentType());
+        MembershipPlanResponse plan = membershipPlanCatalog.resolve(gymId, request.getPlanId(), implied);
 
+        // Sin monto explicito se cobra el precio del plan, en su moneda
+        boolean planPrice = request.getAmount() == null;
         PaymentEntity entity = new PaymentEntity(
                 gymId,
                 client,
-                request.getAmount(),
-                request.getCurrency(),
+                planPrice ? plan.price() : request.getAmount(),
+                planPrice ? plan.currency() : request.getCurrency(),
                 request.getPaymentMethod(),
                 request.getPaymentType(),
                 request.getStatus(),
@@ -64,10 +127,13 @@ public class PaymentService {
                 request.getNotes(),
                 request.getPaymentDate()
         );
+        if (plan != null) entity.setPlanId(plan.id());
 
         PaymentEntity saved = paymentRepository.save(entity);
-        applyMembershipRenewalIfNeeded(client, saved, request.getNotes());
+        paymentRollupService.add(PaymentRollupService.Entry.of(saved));
+        membershipLedgerService.apply(gymId, null, membershipLedgerService.entryOf(saved));
         auditService.log("CREATE", "payment", saved.getId(), buildCreateAuditDetails(saved));
+        eventPublisher.publishEvent(new PaymentChangedEvent(gymId, saved.getId(), ChangeOperation.CREATED));
         return toResponse(saved);
     }
 
@@ -86,7 +152,150 @@ public class PaymentService {
             toDate = today;
         }
         Specification<PaymentEntity> spec = specFor(gymId, clientId, search, fromDate, toDate);
-        return paymentRepository.findAll(spec, pageable).map(this::toResponse);
+        return projectionQueries.page(PaymentEntity.class, spec, pageable, LIST_COLUMNS, PaymentService::fromRow);
+    }
+
+    public CursorPage<PaymentResponse> listAfter(
+            Long clientId,
+            String search,
+            Integer days,
+            String after,
+            int size
+    ) {
+        Long gymId = GymContext.requireGymId();
+        LocalDate fromDate = null;
+        LocalDate toDate = null;
+        if (days != null) {
+            LocalDate today = LocalDate.now();
+            fromDate = today.minusDays(days - 1L);
+            toDate = today;
+        }
+        Specification<PaymentEntity> spec = specFor(gymId, clientId, search, fromDate, toDate);
+        KeysetCursor.Position position = KeysetCursor.decode(after);
+        if (position != null) {
+            spec = spec.and(KeysetCursor.before("paymentDate", parseCursorDate(position.value()), position.id()));
+        }
+        List<PaymentResponse> fetched = projectionQueries.list(
+                PaymentEntity.class, spec, KeysetCursor.descending("paymentDate"), size + 1, LIST_COLUMNS, PaymentService::fromRow);
+        return KeysetCursor.page(fetched, size, r -> KeysetCursor.encode(r.getPaymentDate(), r.getId()), r -> r);
+    }
+
+    public List<PaymentResponse> latestForClient(Long clientId, int limit) {
+        Long gymId = GymContext.requireGymId();
+        Specification<PaymentEntity> spec = specFor(gymId, clientId, null, null, null);
+        return projectionQueries.list(PaymentEntity.class, spec, KeysetCursor.descending("paymentDate"), limit, LIST_COLUMNS, PaymentService::fromRow);
+    }
+
+    // Solo pagos PAID, una suma por moneda (sin conversion)
+    public Map<PaymentCurrency, BigDecimal> totalPaidByCurrency(Long clientId) {
+        Long gymId = GymContext.requireGymId();
+        Map<PaymentCurrency, BigDecimal> totals = new EnumMap<>(PaymentCurrency.class);
+        for (Object[] row : paymentRepository.sumAmountByCurrency(gymId, clientId, PaymentStatus.PAID)) {
+            totals.put((PaymentCurrency) row[0], (BigDecimal) row[1]);
+        }
+        return totals;
+    }
+
+    // Solo pagos PAID, convertidos a la moneda base: una suma por (fecha, moneda) y la conversion en memoria
+    // con la tabla de tasas cacheada, una busqueda por fila agrupada en lugar de una consulta por pago
+    public NormalizedTotal totalPaidNormalized(Long clientId) {
+        Long gymId = GymContext.requireGymId();
+        List<ExchangeRateCatalog.DatedAmount> amounts = new ArrayList<>();
+        for (Object[] row : paymentRepository.sumAmountByDateAndCurrency(gymId, clientId, PaymentStatus.PAID)) {
+            amounts.add(new ExchangeRateCatalog.DatedAmount(
+                    (LocalDate) row[0], (PaymentCurrency) row[1], (BigDecimal) row[2], ((Number) row[3]).longValue()));
+        }
+        return exchangeRateCatalog.normalize(gymId, amounts);
+    }
+
+    public PaymentSummaryResponse summary(LocalDate from, LocalDate to, PaymentSummaryGroup groupBy) {
+        return summary(from, to, groupBy, false);
+    }
+
+    // Agregados sobre payment_daily_rollup: unas pocas filas por dia en lugar de cada pago del rango
+    public PaymentSummaryResponse summary(LocalDate from, LocalDate to, PaymentSummaryGroup groupBy, boolean normalized) {
+        Long gymId = GymContext.requireGymId();
+        PaymentStatus paid = PaymentStatus.PAID;
+        Function<Object[], String> key = summaryKey(gymId, groupBy);
+        List<PaymentSummaryRow> groups = switch (groupBy) {
+            case DAY -> summaryRows(paymentDailyRollupRepository.summarizeByDay(gymId, paid, from, to), 1, key);
+            case MONTH -> summaryRows(paymentDailyRollupRepository.summarizeByMonth(gymId, paid, from, to), 2, key);
+            case METHOD -> summaryRows(paymentDailyRollupRepository.summarizeByMethod(gymId, paid, from, to), 1, key);
+            case TYPE -> summaryRows(paymentDailyRollupRepository.summarizeByType(gymId, paid, from, to), 1, key);
+            case CURRENCY -> summaryRows(paymentDailyRollupRepository.summarizeByCurrency(gymId, paid, from, to), 0, key);
+            case PLAN -> summaryRows(paymentDailyRollupRepository.summarizeByPlan(gymId, paid, from, to), 1, key);
+        };
+
+        Map<PaymentCurrency, BigDecimal> totalAmounts = new EnumMap<>(PaymentCurrency.class);
+        Map<PaymentCurrency, Long> totalCounts = new EnumMap<>(PaymentCurrency.class);
+        for (PaymentSummaryRow row : groups) {
+            totalAmounts.merge(row.currency(), row.total(), BigDecimal::add);
+            totalCounts.merge(row.currency(), row.count(), Long::sum);
+        }
+        List<PaymentSummaryRow> totals = new ArrayList<>(totalAmounts.size());
+        totalAmounts.forEach((currency, amount) ->
+                totals.add(new PaymentSummaryRow("total", currency, amount, totalCounts.get(currency))));
+
+        if (!normalized) {
+            return new PaymentSummaryResponse(from, to, groupBy, groups, totals, null, null, null);
+        }
+        PaymentCurrency base = exchangeRateCatalog.baseCurrency();
+        List<PaymentNormalizedRow> normalizedGroups = new ArrayList<>();
+        BigDecimal normalizedAmount = BigDecimal.ZERO;
+        long count = 0;
+        long unconverted = 0;
+        for (PaymentRollupService.NormalizedRow row : paymentRollupService.summarizeNormalized(gymId, from, to, groupBy, base)) {
+            BigDecimal amount = row.total().setScale(2, RoundingMode.HALF_UP);
+            normalizedGroups.add(new PaymentNormalizedRow(key.apply(row.key()), amount, row.count(), row.unconvertedCount()));
+            normalizedAmount = normalizedAmount.add(amount);
+            count += row.count();
+            unconverted += row.unconvertedCount();
+        }
+        return new PaymentSummaryResponse(from, to, groupBy, groups, totals, base, normalizedGroups,
+                new PaymentNormalizedRow("total", normalizedAmount, count, unconverted));
+    }
+
+    // Etiqueta del grupo a partir de las columnas de clave de la fila
+    private Function<Object[], String> summaryKey(Long gymId, PaymentSummaryGroup groupBy) {
+        return switch (groupBy) {
+            case DAY -> row -> row[0].toString();
+            case MONTH -> row -> String.format(Locale.ROOT, "%04d-%02d", ((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            case METHOD -> row -> ((PaymentMethod) row[0]).name();
+            case TYPE -> row -> ((PaymentType) row[0]).name();
+            case CURRENCY -> row -> ((PaymentCurrency) row[0]).name();
+            case PLAN -> row -> planName(gymId, ((Number) row[0]).longValue());
+        };
+    }
+
+    // Filas [clave..., moneda, suma, cantidad]: currencyIndex marca donde termina la clave
+    private static List<PaymentSummaryRow> summaryRows(List<Object[]> rows, int currencyIndex, Function<Object[], String> key) {
+        List<PaymentSummaryRow> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            BigDecimal total = row[currencyIndex + 1] == null ? BigDecimal.ZERO : (BigDecimal) row[currencyIndex + 1];
+            result.add(new PaymentSummaryRow(
+                    key.apply(row),
+                    (PaymentCurrency) row[currencyIndex],
+                    total,
+                    ((Number) row[currencyIndex + 2]).longValue()
+            ));
+        }
+        return result;
+    }
+
+    // Se ejecuta fuera del hilo del request (StreamingResponseBody): gymId llega explicito
+    public void export(Long gymId, Long clientId, String search, Integer days, ExportFormat format, OutputStream output) {
+        LocalDate fromDate = null;
+        LocalDate toDate = null;
+        if (days != null) {
+            LocalDate today = LocalDate.now();
+            fromDate = today.minusDays(days - 1L);
+            toDate = today;
+        }
+        Specification<PaymentEntity> spec = specFor(gymId, clientId, search, fromDate, toDate);
+        Supplier<Stream<PaymentEntity>> source = () -> paymentRepository.findBy(spec, q -> q
+                .sortBy(KeysetCursor.descending("paymentDate"))
+                .stream());
+        entityStreamExporter.export(source, this::toResponse, format, output, EXPORT_HEADERS, PaymentService::exportValues);
     }
 
     public PaymentResponse getById(Long id) {
@@ -96,15 +305,17 @@ public class PaymentService {
         return toResponse(entity);
     }
 
+    @Transactional
     public PaymentResponse update(Long id, PaymentUpdateRequest request) {
         Long gymId = GymContext.requireGymId();
         PaymentEntity entity = paymentRepository.findByIdAndGymId(id, gymId)
                 .orElseThrow(() -> new NotFoundException("Pago no encontrado"));
+        PaymentRollupService.Entry before = PaymentRollupService.Entry.of(entity);
+        MembershipLedgerService.Entry ledgerBefore = membershipLedgerService.entryOf(entity);
 
         Map<String, Object> auditDetails = new LinkedHashMap<>();
         if (request.getClientId() != null) {
-            ClientEntity client = clientRepository.findByIdAndGymId(request.getClientId(), gymId)
-                    .orElseThrow(() -> new BadRequestException("clientId inválido (no pertenece al gym)"));
+            ClientEntity client = requireClientReference(gymId, request.getClientId());
             entity.setClient(client);
             auditDetails.put("clientId", client.getId());
         }
@@ -125,6 +336,10 @@ public class PaymentService {
             entity.setPaymentType(request.getPaymentType());
             auditDetails.put("paymentType", request.getPaymentType());
         }
+        if (request.getPlanId() != null && !request.getPlanId().equals(entity.getPlanId())) {
+            entity.setPlanId(membershipPlanCatalog.requireActive(gymId, request.getPlanId()).id());
+            auditDetails.put("planId", request.getPlanId());
+        }
         if (request.getStatus() != null) {
             entity.setStatus(request.getStatus());
             auditDetails.put("status", request.getStatus());
@@ -144,12 +359,16 @@ public class PaymentService {
         }
 
         PaymentEntity saved = paymentRepository.save(entity);
+        paymentRollupService.replace(before, PaymentRollupService.Entry.of(saved));
+        membershipLedgerService.apply(gymId, ledgerBefore, membershipLedgerService.entryOf(saved));
         if (!auditDetails.isEmpty()) {
             auditService.log("UPDATE", "payment", saved.getId(), auditDetails);
         }
+        eventPublisher.publishEvent(new PaymentChangedEvent(gymId, saved.getId(), ChangeOperation.UPDATED));
         return toResponse(saved);
     }
 
+    @Transactional
     public void delete(Long id) {
         Long gymId = GymContext.requireGymId();
         PaymentEntity entity = paymentRepository.findByIdAndGymId(id, gymId)
@@ -158,8 +377,54 @@ public class PaymentService {
         auditDetails.put("clientId", entity.getClient().getId());
         auditDetails.put("amount", entity.getAmount());
         auditDetails.put("paymentDate", entity.getPaymentDate());
+        MembershipLedgerService.Entry ledgerBefore = membershipLedgerService.entryOf(entity);
         paymentRepository.delete(entity);
+        paymentRollupService.remove(PaymentRollupService.Entry.of(entity));
+        membershipLedgerService.apply(gymId, ledgerBefore, null);
         auditService.log("DELETE", "payment", entity.getId(), auditDetails);
+        eventPublisher.publishEvent(new PaymentChangedEvent(gymId, entity.getId(), ChangeOperation.DELETED));
+    }
+
+    private static List<Object> exportValues(PaymentResponse r) {
+        return Arrays.asList(
+                r.getId(),
+                r.getClientId(),
+                r.getAmount(),
+                r.getCurrency(),
+                r.getPaymentMethod(),
+                r.getPaymentType(),
+                r.getPlanId(),
+                r.getStatus(),
+                r.getReference(),
+                r.getNotes(),
+                r.getPaymentDate(),
+                r.getCreatedAt()
+        );
+    }
+
+    // Mismo orden que los argumentos de PaymentResponse
+    private static final List<String> LIST_COLUMNS = List.of(
+            "id", "gymId", "client.id", "amount", "currency", "paymentMethod", "paymentType",
+            "planId", "status", "reference", "notes", "paymentDate", "createdAt", "updatedAt"
+    );
+
+    private static PaymentResponse fromRow(Object[] row) {
+        return new PaymentResponse(
+                (Long) row[0],
+                (Long) row[1],
+                (Long) row[2],
+                (BigDecimal) row[3],
+                (PaymentCurrency) row[4],
+                (PaymentMethod) row[5],
+                (PaymentType) row[6],
+                (Long) row[7],
+                (PaymentStatus) row[8],
+                (String) row[9],
+                (String) row[10],
+                (LocalDate) row[11],
+                (LocalDateTime) row[12],
+                (LocalDateTime) row[13]
+        );
     }
 
     private PaymentResponse toResponse(PaymentEntity e) {
@@ -171,6 +436,7 @@ public class PaymentService {
                 e.getCurrency(),
                 e.getPaymentMethod(),
                 e.getPaymentType(),
+                e.getPlanId(),
                 e.getStatus(),
                 e.getReference(),
                 e.getNotes(),
@@ -180,56 +446,11 @@ public class PaymentService {
         );
     }
 
-    private void applyMembershipRenewalIfNeeded(ClientEntity client, PaymentEntity payment, String notes) {
-        if (payment.getStatus() != PaymentStatus.PAID) return;
-        Period extension = resolveMembershipExtension(payment.getPaymentType(), notes);
-        if (extension == null) return;
-
-        LocalDate today = LocalDate.now();
-        LocalDate paymentDate = payment.getPaymentDate() != null ? payment.getPaymentDate() : today;
-        LocalDate current = client.getFechaVencimiento();
-        LocalDate base = (current != null && !current.isBefore(paymentDate)) ? current : paymentDate;
-        LocalDate nuevaFecha = base.plus(extension);
-
-        if (paymentDate.isAfter(today) || current == null || current.isBefore(paymentDate)) {
-            client.setFechaInicioMembresia(paymentDate);
-        }
-        client.setFechaVencimiento(nuevaFecha);
-        client.setEstado(resolveStatus(client, today));
-        clientRepository.save(client);
-    }
-
-    private ClientStatus resolveStatus(ClientEntity client, LocalDate today) {
-        LocalDate inicio = client.getFechaInicioMembresia();
-        LocalDate vencimiento = client.getFechaVencimiento();
-        if (vencimiento == null) return ClientStatus.INACTIVO;
-        if (inicio != null && today.isBefore(inicio)) return ClientStatus.INACTIVO;
-        if (vencimiento.isBefore(today)) return ClientStatus.MOROSO;
-        return ClientStatus.ACTIVO;
-    }
-
-    private static final Pattern TIPO_PAGO_PATTERN = Pattern.compile("tipoPago:\\s*(\\w+)", Pattern.CASE_INSENSITIVE);
-
-    private Period resolveMembershipExtension(PaymentType type, String notes) {
-        if (type == PaymentType.DAILY_MEMBERSHIP) return Period.ofDays(1);
-        if (type == PaymentType.MONTHLY_MEMBERSHIP) return Period.ofMonths(1);
-        if (type == PaymentType.QUARTERLY_MEMBERSHIP) return Period.ofMonths(3);
-        if (type == PaymentType.SEMESTER_MEMBERSHIP) return Period.ofMonths(6);
-        if (type == PaymentType.ANNUAL_MEMBERSHIP) return Period.ofMonths(12);
-
-        if (notes == null || notes.isBlank()) return null;
-        Matcher matcher = TIPO_PAGO_PATTERN.matcher(notes);
-        if (!matcher.find()) return null;
-
-        String raw = matcher.group(1).toLowerCase(Locale.ROOT);
-        return switch (raw) {
-            case "diario" -> Period.ofDays(1);
-            case "mensual" -> Period.ofMonths(1);
-            case "trimestral" -> Period.ofMonths(3);
-            case "semestral" -> Period.ofMonths(6);
-            case "anual" -> Period.ofMonths(12);
-            default -> null;
-        };
+    // Valida contra el cache y devuelve un proxy: la fila del cliente solo se lee si hay renovacion
+    private ClientEntity requireClientReference(Long gymId, Long clientId) {
+        clientLookupCache.find(gymId, clientId)
+                .orElseThrow(() -> new BadRequestException("clientId inválido (no pertenece al gym)"));
+        return clientRepository.getReferenceById(clientId);
     }
 
     private static Specification<PaymentEntity> specFor(Long gymId, Long clientId, String search, LocalDate fromDate, LocalDate toDate) {
@@ -268,12 +489,28 @@ public class PaymentService {
         details.put("currency", payment.getCurrency());
         details.put("paymentMethod", payment.getPaymentMethod());
         details.put("paymentType", payment.getPaymentType());
+        if (payment.getPlanId() != null) details.put("planId", payment.getPlanId());
         details.put("status", payment.getStatus());
         details.put("paymentDate", payment.getPaymentDate());
         if (payment.getReference() != null) details.put("reference", payment.getReference());
         return details;
     }
 
+    private String planName(Long gymId, long planId) {
+        if (planId == 0) return "Sin plan";
+        return membershipPlanCatalog.find(gymId, planId)
+                .map(MembershipPlanResponse::name)
+                .orElse("Plan " + planId);
+    }
+
+    private static LocalDate parseCursorDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("cursor invalido");
+        }
+    }
+
     private static String blankToNull(String value) {
         if (value == null) return null;
         String trimmed = value.trim();
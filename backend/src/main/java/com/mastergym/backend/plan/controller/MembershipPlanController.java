@@ -0,0 +1,48 @@
+package com.mastergym.backend.plan.controller;
+
+import com.mastergym.backend.plan.dto.MembershipPlanRequest;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.service.MembershipPlanService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/plans")
+public class MembershipPlanController {
+
+    private final MembershipPlanService membershipPlanService;
+
+    public MembershipPlanController(MembershipPlanService membershipPlanService) {
+        this.membershipPlanService = membershipPlanService;
+    }
+
+    @GetMapping
+    public List<MembershipPlanResponse> list(@RequestParam(defaultValue = "false") boolean includeInactive) {
+        return membershipPlanService.list(includeInactive);
+    }
+
+    @GetMapping("/{id}")
+    public MembershipPlanResponse getById(@PathVariable Long id) {
+        return membershipPlanService.getById(id);
+    }
+
+    @PostMapping
+    public ResponseEntity<MembershipPlanResponse> create(@Valid @RequestBody MembershipPlanRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(membershipPlanService.create(request));
+    }
+
+    @PutMapping("/{id}")
+    public MembershipPlanResponse update(@PathVariable Long id, @Valid @RequestBody MembershipPlanRequest request) {
+        return membershipPlanService.update(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deactivate(@PathVariable Long id) {
+        membershipPlanService.deactivate(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,86 @@
+package com.mastergym.backend.plan.dto;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class MembershipPlanRequest {
+
+    @NotBlank(message = "name es obligatorio")
+    @Size(max = 80, message = "name supera el máximo (80)")
+    private String name;
+
+    @Min(value = 0, message = "durationMonths no puede ser negativo")
+    @Max(value = 60, message = "durationMonths supera el máximo (60)")
+    private int durationMonths;
+
+    @Min(value = 0, message = "durationDays no puede ser negativo")
+    @Max(value = 366, message = "durationDays supera el máximo (366)")
+    private int durationDays;
+
+    @NotNull(message = "price es obligatorio")
+    @DecimalMin(value = "0.00", message = "price no puede ser negativo")
+    @Digits(integer = 10, fraction = 2, message = "price debe tener hasta 2 decimales")
+    private BigDecimal price;
+
+    private PaymentCurrency currency = PaymentCurrency.CRC;
+
+    private Boolean active;
+
+    public MembershipPlanRequest() {}
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getDurationMonths() {
+        return durationMonths;
+    }
+
+    public void setDurationMonths(int durationMonths) {
+        this.durationMonths = durationMonths;
+    }
+
+    public int getDurationDays() {
+        return durationDays;
+    }
+
+    public void setDurationDays(int durationDays) {
+        this.durationDays = durationDays;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public PaymentCurrency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(PaymentCurrency currency) {
+        this.currency = currency;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
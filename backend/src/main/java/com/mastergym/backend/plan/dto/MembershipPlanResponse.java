@@ -0,0 +1,34 @@
+package com.mastergym.backend.plan.dto;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.plan.model.MembershipPlanEntity;
+
+import java.math.BigDecimal;
+import java.time.Period;
+
+// Inmutable: es tambien el valor del catalogo en memoria
+public record MembershipPlanResponse(
+        Long id,
+        String name,
+        int durationMonths,
+        int durationDays,
+        BigDecimal price,
+        PaymentCurrency currency,
+        boolean active
+) {
+    public static MembershipPlanResponse from(MembershipPlanEntity e) {
+        return new MembershipPlanResponse(
+                e.getId(),
+                e.getName(),
+                e.getDurationMonths(),
+                e.getDurationDays(),
+                e.getPrice(),
+                e.getCurrency(),
+                e.isActive()
+        );
+    }
+
+    public Period duration() {
+        return Period.of(0, durationMonths, durationDays);
+    }
+}
@@ -0,0 +1,4 @@
+package com.mastergym.backend.plan.event;
+
+// Alta, edicion o baja de un plan: el catalogo en memoria del gym se descarta
+public record MembershipPlanChangedEvent(Long gymId) {}
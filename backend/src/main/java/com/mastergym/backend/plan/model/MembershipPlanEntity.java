@@ -0,0 +1,144 @@
+package com.mastergym.backend.plan.model;
+
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.Period;
+
+// Plan de membresia del gym: la duracion extiende el vencimiento y el precio es el monto sugerido del pago.
+// No se borra (los pagos lo referencian): se desactiva.
+@Entity
+@Table(
+        name = "membership_plans",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_membership_plans_gym_name", columnNames = {"gym_id", "name"})
+        }
+)
+public class MembershipPlanEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "gym_id", nullable = false)
+    private Long gymId;
+
+    @Column(nullable = false, length = 80)
+    private String name;
+
+    @Column(name = "duration_months", nullable = false)
+    private int durationMonths;
+
+    @Column(name = "duration_days", nullable = false)
+    private int durationDays;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private PaymentCurrency currency = PaymentCurrency.CRC;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public MembershipPlanEntity() {}
+
+    public MembershipPlanEntity(Long gymId, String name, int durationMonths, int durationDays,
+                                BigDecimal price, PaymentCurrency currency) {
+        this.gymId = gymId;
+        this.name = name;
+        this.durationMonths = durationMonths;
+        this.durationDays = durationDays;
+        this.price = price;
+        if (currency != null) this.currency = currency;
+    }
+
+    @PrePersist
+    void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Period duration() {
+        return Period.of(0, durationMonths, durationDays);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGymId() {
+        return gymId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getDurationMonths() {
+        return durationMonths;
+    }
+
+    public void setDurationMonths(int durationMonths) {
+        this.durationMonths = durationMonths;
+    }
+
+    public int getDurationDays() {
+        return durationDays;
+    }
+
+    public void setDurationDays(int durationDays) {
+        this.durationDays = durationDays;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public PaymentCurrency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(PaymentCurrency currency) {
+        this.currency = currency;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,20 @@
+package com.mastergym.backend.plan.repository;
+
+import com.mastergym.backend.plan.model.MembershipPlanEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MembershipPlanRepository extends JpaRepository<MembershipPlanEntity, Long> {
+
+    Optional<MembershipPlanEntity> findByIdAndGymId(Long id, Long gymId);
+
+    List<MembershipPlanEntity> findByGymIdOrderByNameAsc(Long gymId);
+
+    boolean existsByGymId(Long gymId);
+
+    boolean existsByGymIdAndNameIgnoreCase(Long gymId, String name);
+
+    boolean existsByGymIdAndNameIgnoreCaseAndIdNot(Long gymId, String name, Long id);
+}
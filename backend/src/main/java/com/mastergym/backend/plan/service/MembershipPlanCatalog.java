@@ -0,0 +1,97 @@
+package com.mastergym.backend.plan.service;
+
+import com.mastergym.backend.common.cache.BoundedTtlCache;
+import com.mastergym.backend.common.cache.CacheStats;
+import com.mastergym.backend.common.cache.CacheStatsSource;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.event.MembershipPlanChangedEvent;
+import com.mastergym.backend.plan.repository.MembershipPlanRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Period;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Catalogo de planes por gym en memoria: pocos planes por gym y una lectura por pago,
+// asi que se carga el catalogo completo (incluye inactivos, los pagos viejos los referencian)
+@Service
+public class MembershipPlanCatalog implements CacheStatsSource {
+
+    private final MembershipPlanRepository membershipPlanRepository;
+    private final BoundedTtlCache<Long, Plans> cache;
+
+    public MembershipPlanCatalog(
+            MembershipPlanRepository membershipPlanRepository,
+            @Value("${app.plans.cache.max-size:1000}") int maxSize,
+            @Value("${app.plans.cache.ttl-seconds:3600}") long ttlSeconds
+    ) {
+        this.membershipPlanRepository = membershipPlanRepository;
+        this.cache = new BoundedTtlCache<>("plans", maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    private record Plans(List<MembershipPlanResponse> all, Map<Long, MembershipPlanResponse> byId) {}
+
+    public List<MembershipPlanResponse> list(Long gymId) {
+        return load(gymId).all();
+    }
+
+    public Optional<MembershipPlanResponse> find(Long gymId, Long planId) {
+        if (gymId == null || planId == null) return Optional.empty();
+        return Optional.ofNullable(load(gymId).byId().get(planId));
+    }
+
+    // Para pagos nuevos: el plan debe existir en el gym y estar activo
+    public MembershipPlanResponse requireActive(Long gymId, Long planId) {
+        MembershipPlanResponse plan = find(gymId, planId)
+                .orElseThrow(() -> new BadRequestException("planId inválido (no pertenece al gym)"));
+        if (!plan.active()) {
+            throw new BadRequestException("El plan '" + plan.name() + "' está inactivo");
+        }
+        return plan;
+    }
+
+    // Primer plan activo (por nombre) con esa duracion
+    public Optional<MembershipPlanResponse> findByDuration(Long gymId, Period duration) {
+        if (gymId == null || duration == null) return Optional.empty();
+        return load(gymId).all().stream()
+                .filter(plan -> plan.active() && plan.duration().equals(duration))
+                .findFirst();
+    }
+
+    // planId explicito o, si el pago implica una duracion (tipo de membresia), el plan equivalente
+    public MembershipPlanResponse resolve(Long gymId, Long planId, Period impliedDuration) {
+        if (planId != null) return requireActive(gymId, planId);
+        return findByDuration(gymId, impliedDuration).orElse(null);
+    }
+
+    public void invalidate(Long gymId) {
+        cache.invalidate(gymId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlanChanged(MembershipPlanChangedEvent event) {
+        invalidate(event.gymId());
+    }
+
+    @Override
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    private Plans load(Long gymId) {
+        return cache.get(gymId, id -> {
+            List<MembershipPlanResponse> all = membershipPlanRepository.findByGymIdOrderByNameAsc(id).stream()
+                    .map(MembershipPlanResponse::from)
+                    .toList();
+            Map<Long, MembershipPlanResponse> byId = new LinkedHashMap<>();
+            all.forEach(plan -> byId.put(plan.id(), plan));
+            return new Plans(all, Map.copyOf(byId));
+        });
+    }
+}
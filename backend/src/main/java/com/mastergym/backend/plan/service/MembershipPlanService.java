@@ -0,0 +1,146 @@
+package com.mastergym.backend.plan.service;
+
+import com.mastergym.backend.common.audit.AuditService;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.plan.dto.MembershipPlanRequest;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.event.MembershipPlanChangedEvent;
+import com.mastergym.backend.plan.model.MembershipPlanEntity;
+import com.mastergym.backend.plan.repository.MembershipPlanRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class MembershipPlanService {
+
+    // Los mismos planes y precios que sugeria la UI antes del catalogo
+    private record DefaultPlan(String name, int months, int days, String price) {}
+
+    private static final List<DefaultPlan> DEFAULT_PLANS = List.of(
+            new DefaultPlan("Diario", 0, 1, "1000"),
+            new DefaultPlan("Mensual", 1, 0, "12500"),
+            new DefaultPlan("Trimestral", 3, 0, "35000"),
+            new DefaultPlan("Semestral", 6, 0, "65000"),
+            new DefaultPlan("Anual", 12, 0, "120000")
+    );
+
+    private final MembershipPlanRepository membershipPlanRepository;
+    private final MembershipPlanCatalog membershipPlanCatalog;
+    private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MembershipPlanService(
+            MembershipPlanRepository membershipPlanRepository,
+            MembershipPlanCatalog membershipPlanCatalog,
+            AuditService auditService,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.membershipPlanRepository = membershipPlanRepository;
+        this.membershipPlanCatalog = membershipPlanCatalog;
+        this.auditService = auditService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public List<MembershipPlanResponse> list(boolean includeInactive) {
+        Long gymId = GymContext.requireGymId();
+        List<MembershipPlanResponse> plans = membershipPlanCatalog.list(gymId);
+        if (includeInactive) return plans;
+        return plans.stream().filter(MembershipPlanResponse::active).toList();
+    }
+
+    public MembershipPlanResponse getById(Long id) {
+        Long gymId = GymContext.requireGymId();
+        return membershipPlanCatalog.find(gymId, id)
+                .orElseThrow(() -> new NotFoundException("Plan no encontrado"));
+    }
+
+    @Transactional
+    public MembershipPlanResponse create(MembershipPlanRequest request) {
+        Long gymId = GymContext.requireGymId();
+        String name = request.getName().trim();
+        requireDuration(request);
+        if (membershipPlanRepository.existsByGymIdAndNameIgnoreCase(gymId, name)) {
+            throw new BadRequestException("Ya existe un plan con ese nombre");
+        }
+        MembershipPlanEntity entity = new MembershipPlanEntity(gymId, name, request.getDurationMonths(),
+                request.getDurationDays(), request.getPrice(), request.getCurrency());
+        if (request.getActive() != null) entity.setActive(request.getActive());
+        MembershipPlanEntity saved = membershipPlanRepository.save(entity);
+        auditService.log("CREATE", "plan", saved.getId(), auditDetails(saved));
+        eventPublisher.publishEvent(new MembershipPlanChangedEvent(gymId));
+        return MembershipPlanResponse.from(saved);
+    }
+
+    @Transactional
+    public MembershipPlanResponse update(Long id, MembershipPlanRequest request) {
+        Long gymId = GymContext.requireGymId();
+        MembershipPlanEntity entity = membershipPlanRepository.findByIdAndGymId(id, gymId)
+                .orElseThrow(() -> new NotFoundException("Plan no encontrado"));
+        String name = request.getName().trim();
+        requireDuration(request);
+        if (membershipPlanRepository.existsByGymIdAndNameIgnoreCaseAndIdNot(gymId, name, id)) {
+            throw new BadRequestException("Ya existe un plan con ese nombre");
+        }
+        entity.setName(name);
+        entity.setDurationMonths(request.getDurationMonths());
+        entity.setDurationDays(request.getDurationDays());
+        entity.setPrice(request.getPrice());
+        if (request.getCurrency() != null) entity.setCurrency(request.getCurrency());
+        if (request.getActive() != null) entity.setActive(request.getActive());
+        MembershipPlanEntity saved = membershipPlanRepository.save(entity);
+        auditService.log("UPDATE", "plan", saved.getId(), auditDetails(saved));
+        eventPublisher.publishEvent(new MembershipPlanChangedEvent(gymId));
+        return MembershipPlanResponse.from(saved);
+    }
+
+    // Los pagos referencian el plan: se desactiva en lugar de borrarlo
+    @Transactional
+    public void deactivate(Long id) {
+        Long gymId = GymContext.requireGymId();
+        MembershipPlanEntity entity = membershipPlanRepository.findByIdAndGymId(id, gymId)
+                .orElseThrow(() -> new NotFoundException("Plan no encontrado"));
+        if (!entity.isActive()) return;
+        entity.setActive(false);
+        membershipPlanRepository.save(entity);
+        auditService.log("DEACTIVATE", "plan", entity.getId(), auditDetails(entity));
+        eventPublisher.publishEvent(new MembershipPlanChangedEvent(gymId));
+    }
+
+    // Catalogo inicial para gyms que aun no definieron planes; devuelve false si ya tenian
+    @Transactional
+    public boolean createDefaultsIfMissing(Long gymId) {
+        if (membershipPlanRepository.existsByGymId(gymId)) return false;
+        for (DefaultPlan plan : DEFAULT_PLANS) {
+            membershipPlanRepository.save(new MembershipPlanEntity(gymId, plan.name(), plan.months(), plan.days(),
+                    new BigDecimal(plan.price()), PaymentCurrency.CRC));
+        }
+        eventPublisher.publishEvent(new MembershipPlanChangedEvent(gymId));
+        return true;
+    }
+
+    private static void requireDuration(MembershipPlanRequest request) {
+        if (request.getDurationMonths() == 0 && request.getDurationDays() == 0) {
+            throw new BadRequestException("La duración del plan debe ser mayor a 0");
+        }
+    }
+
+    private static Map<String, Object> auditDetails(MembershipPlanEntity plan) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("name", plan.getName());
+        details.put("durationMonths", plan.getDurationMonths());
+        details.put("durationDays", plan.getDurationDays());
+        details.put("price", plan.getPrice());
+        details.put("currency", plan.getCurrency());
+        details.put("active", plan.isActive());
+        return details;
+    }
+}
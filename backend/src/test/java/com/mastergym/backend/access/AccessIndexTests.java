@@ -0,0 +1,110 @@
+package com.mastergym.backend.access;
+
+import com.mastergym.backend.access.dto.AccessCheckResponse;
+import com.mastergym.backend.access.service.AccessIndexService;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class AccessIndexTests {
+
+	private static final Long GYM_ID = 8081L;
+
+	@Autowired
+	private AccessIndexService accessIndexService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	// Los eventos llegan despues del commit y este test termina en rollback: se entregan a mano
+	@Test
+	void sharedCedulaFallsBackToRemainingClient() {
+		LocalDate today = LocalDate.now();
+		ClientEntity longer = client("1-1111-1111", today.minusDays(5), today.plusDays(30));
+		ClientEntity shorter = client("111111111", today.minusDays(5), today.plusDays(10));
+		ClientEntity lapsed = client("3-3333-3333", today.minusMonths(2), today.minusDays(1));
+
+		AccessCheckResponse first = accessIndexService.check(GYM_ID, "111111111");
+		assertTrue(first.allowed());
+		assertEquals(longer.getId(), first.clientId());
+		assertEquals(30, first.diasRestantes());
+
+		AccessCheckResponse expired = accessIndexService.check(GYM_ID, "3-3333-3333");
+		assertFalse(expired.allowed());
+		assertEquals(lapsed.getId(), expired.clientId());
+		assertEquals(ClientStatus.MOROSO, expired.estado());
+
+		// Se borra el de vencimiento mas largo: la cedula sigue entrando con el otro cliente
+		accessIndexService.onClientChanged(new ClientChangedEvent(GYM_ID, longer.getId(), ClientSnapshot.from(longer), null));
+		AccessCheckResponse fallback = accessIndexService.check(GYM_ID, "1-1111-1111");
+		assertTrue(fallback.allowed());
+		assertEquals(shorter.getId(), fallback.clientId());
+
+		// El restante cambia de cedula: la vieja desaparece y la nueva apunta a el
+		ClientSnapshot before = ClientSnapshot.from(shorter);
+		shorter.setCedula("2-2222-2222");
+		accessIndexService.onClientChanged(new ClientChangedEvent(GYM_ID, shorter.getId(), before, ClientSnapshot.from(shorter)));
+		assertNull(accessIndexService.check(GYM_ID, "111111111").clientId());
+		assertEquals(shorter.getId(), accessIndexService.check(GYM_ID, "222222222").clientId());
+
+		// Un cliente con la misma cedula que se acorta ya no gana frente a otro vigente
+		ClientEntity other = client("2-2222-2222", today.minusDays(1), today.plusDays(20));
+		assertEquals(other.getId(), accessIndexService.check(GYM_ID, "222222222").clientId());
+		before = ClientSnapshot.from(other);
+		other.setFechaVencimiento(today.plusDays(2));
+		accessIndexService.onClientChanged(new ClientChangedEvent(GYM_ID, other.getId(), before, ClientSnapshot.from(other)));
+		assertEquals(shorter.getId(), accessIndexService.check(GYM_ID, "222222222").clientId());
+	}
+
+	@Test
+	void sharedCedulaEntersWithActiveClientOverLaterFutureMembership() {
+		LocalDate today = LocalDate.now();
+		ClientEntity current = client("4-4444-4444", today.minusDays(20), today.plusDays(10));
+		ClientEntity upcoming = client("444444444", today.plusDays(11), today.plusDays(41));
+
+		// La membresia futura vence mas tarde pero todavia no empieza: entra por la vigente
+		AccessCheckResponse response = accessIndexService.check(GYM_ID, "444444444");
+		assertTrue(response.allowed());
+		assertEquals(current.getId(), response.clientId());
+		assertEquals(ClientStatus.ACTIVO, response.estado());
+		assertEquals(10, response.diasRestantes());
+
+		// Sin ninguna vigente se niega y se informa la que vence mas tarde
+		ClientSnapshot before = ClientSnapshot.from(current);
+		current.setFechaVencimiento(today.minusDays(1));
+		accessIndexService.onClientChanged(new ClientChangedEvent(GYM_ID, current.getId(), before, ClientSnapshot.from(current)));
+		AccessCheckResponse denied = accessIndexService.check(GYM_ID, "444444444");
+		assertFalse(denied.allowed());
+		assertEquals(upcoming.getId(), denied.clientId());
+		assertEquals(ClientStatus.INACTIVO, denied.estado());
+		assertNull(denied.diasRestantes());
+	}
+
+	private ClientEntity client(String cedula, LocalDate inicio, LocalDate vencimiento) {
+		ClientEntity client = new ClientEntity(GYM_ID, "Cliente", cedula, cedula, null, null, null);
+		client.setFechaInicioMembresia(inicio);
+		client.setFechaVencimiento(vencimiento);
+		ClientEntity saved = clientRepository.save(client);
+		// Si el indice del gym ya se cargo en otro test, el alta llega como evento; si no, la carga la lee de la BD
+		accessIndexService.onClientChanged(new ClientChangedEvent(GYM_ID, saved.getId(), null, ClientSnapshot.from(saved)));
+		return saved;
+	}
+}
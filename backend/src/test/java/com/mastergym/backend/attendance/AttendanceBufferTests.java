@@ -0,0 +1,137 @@
+package com.mastergym.backend.attendance;
+
+import com.mastergym.backend.attendance.service.AttendanceBuffer;
+import com.mastergym.backend.attendance.service.AttendanceBuffer.PendingCheckIn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Base simulada: permite cortar la conexion o rechazar filas sin depender de H2
+class AttendanceBufferTests {
+
+	private static final Long GYM_ID = 8091L;
+	private static final OffsetDateTime BASE = OffsetDateTime.parse("2025-03-01T06:00:00Z");
+
+	@TempDir
+	Path spoolDir;
+
+	private final FakeJdbcTemplate jdbc = new FakeJdbcTemplate();
+	private AttendanceBuffer buffer;
+
+	@AfterEach
+	void tearDown() {
+		if (buffer != null) buffer.shutdown();
+	}
+
+	@Test
+	void databaseDownSpoolsAndReplaysInOrder() throws Exception {
+		buffer = new AttendanceBuffer(jdbc, 100, spoolDir.toString());
+		jdbc.down = true;
+		buffer.append(checkIn(1));
+		buffer.append(checkIn(2));
+		buffer.flush();
+		assertEquals(2, spoolLines().size());
+		assertEquals(List.of(), jdbc.inserted);
+
+		// Lo que llega con la base caida va detras de lo ya guardado en el spool
+		buffer.append(checkIn(3));
+		buffer.flush();
+		assertEquals(3, spoolLines().size());
+
+		jdbc.down = false;
+		buffer.append(checkIn(4));
+		buffer.flush();
+		assertEquals(List.of(1L, 2L, 3L, 4L), jdbc.inserted);
+		assertFalse(Files.exists(spoolFile()));
+		assertEquals(0, buffer.pending());
+	}
+
+	@Test
+	void connectionLostDuringRowFallbackSpoolsOnlyUninsertedRows() throws Exception {
+		buffer = new AttendanceBuffer(jdbc, 100, spoolDir.toString());
+		// El lote multi-fila choca con una fila invalida; en la insercion fila por fila se corta la base
+		jdbc.rejectMultiRow = true;
+		jdbc.invalidClient = 2L;
+		jdbc.failAfterRows = 2;
+		for (long id = 1; id <= 4; id++) {
+			buffer.append(checkIn(id));
+		}
+		buffer.flush();
+
+		assertEquals(List.of(1L), jdbc.inserted);
+		List<String> spooled = spoolLines();
+		assertEquals(2, spooled.size());
+		assertEquals(GYM_ID + ",3," + BASE.plusMinutes(3), spooled.get(0));
+		assertEquals(GYM_ID + ",4," + BASE.plusMinutes(4), spooled.get(1));
+
+		jdbc.rejectMultiRow = false;
+		jdbc.failAfterRows = -1;
+		buffer.flush();
+		assertEquals(List.of(1L, 3L, 4L), jdbc.inserted);
+		assertFalse(Files.exists(spoolFile()));
+	}
+
+	@Test
+	void unreadableSpoolLinesAreSkipped() throws Exception {
+		Files.createDirectories(spoolDir);
+		Files.write(spoolFile(), List.of(GYM_ID + ",5," + BASE, "basura", GYM_ID + ",6," + BASE),
+				StandardCharsets.UTF_8);
+		buffer = new AttendanceBuffer(jdbc, 100, spoolDir.toString());
+		buffer.flush();
+		assertEquals(List.of(5L, 6L), jdbc.inserted);
+	}
+
+	private Path spoolFile() {
+		return spoolDir.resolve("attendance.spool");
+	}
+
+	private List<String> spoolLines() throws Exception {
+		return Files.readAllLines(spoolFile(), StandardCharsets.UTF_8);
+	}
+
+	private static PendingCheckIn checkIn(long clientId) {
+		return new PendingCheckIn(GYM_ID, clientId, BASE.plusMinutes(clientId));
+	}
+
+	private static final class FakeJdbcTemplate extends JdbcTemplate {
+		private final List<Long> inserted = new ArrayList<>();
+		private boolean down;
+		private boolean rejectMultiRow;
+		private Long invalidClient;
+		// Llamadas de una fila admitidas antes de cortar la conexion (-1: sin corte)
+		private int failAfterRows = -1;
+		private int rowCalls;
+
+		@Override
+		public int update(String sql, Object... args) {
+			if (down) throw new DataAccessResourceFailureException("base caida");
+			int rows = args.length / 3;
+			if (rows > 1 && rejectMultiRow) throw new DataIntegrityViolationException("fila invalida");
+			if (rows == 1) {
+				if (failAfterRows >= 0 && rowCalls++ >= failAfterRows) {
+					throw new DataAccessResourceFailureException("conexion perdida");
+				}
+				if (invalidClient != null && invalidClient.equals(args[1])) {
+					throw new DataIntegrityViolationException("cliente borrado");
+				}
+			}
+			for (int i = 0; i < rows; i++) {
+				inserted.add((Long) args[i * 3 + 1]);
+			}
+			return rows;
+		}
+	}
+}
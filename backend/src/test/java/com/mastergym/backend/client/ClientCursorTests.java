@@ -0,0 +1,91 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.pagination.CursorPage;
+import com.mastergym.backend.common.pagination.KeysetCursor;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientCursorTests {
+
+	private static final Long GYM_ID = 8031L;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void pagesWalkRegistrationOrderAcrossOffsetsAndTies() {
+		OffsetDateTime base = OffsetDateTime.parse("2025-03-01T10:00:00.123456-06:00");
+		Long tieLow = client("A", base);
+		Long tieHigh = client("B", base);
+		// Un microsegundo despues, expresado en UTC
+		Long latest = client("C", OffsetDateTime.parse("2025-03-01T16:00:00.123457Z"));
+		Long earlier = client("D", base.minusSeconds(1));
+		Long oldest = client("E", base.minusDays(1));
+
+		List<Long> seen = new ArrayList<>();
+		String cursor = "";
+		int pages = 0;
+		do {
+			CursorPage<ClientResponse> page = clientService.listClientsAfter(null, cursor, 2);
+			page.items().forEach(item -> seen.add(item.getId()));
+			assertEquals(page.hasNext(), page.nextCursor() != null);
+			cursor = page.nextCursor();
+			pages += 1;
+		} while (cursor != null && pages < 10);
+
+		assertEquals(List.of(latest, tieHigh, tieLow, earlier, oldest), seen);
+		assertEquals(3, pages);
+	}
+
+	@Test
+	void cursorCarriesUtcMicros() {
+		client("A", OffsetDateTime.parse("2025-03-01T10:00:00.123456-06:00"));
+		client("B", OffsetDateTime.parse("2025-03-01T09:00:00-06:00"));
+
+		CursorPage<ClientResponse> first = clientService.listClientsAfter(null, "", 1);
+
+		assertTrue(first.hasNext());
+		assertEquals("1740844800123456", KeysetCursor.decode(first.nextCursor()).value());
+		assertEquals(1, clientService.listClientsAfter(null, first.nextCursor(), 1).items().size());
+	}
+
+	private Long client(String nombre, OffsetDateTime fechaRegistro) {
+		ClientEntity client = new ClientEntity(GYM_ID, nombre, "Cursor", null, null, null, null);
+		client.setFechaRegistro(fechaRegistro);
+		return clientRepository.save(client).getId();
+	}
+}
@@ -0,0 +1,76 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.controller.ClientController;
+import com.mastergym.backend.client.dto.ClientDeletionResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.enums.ClientDeletionStatus;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientDeletionTests {
+
+	private static final Long GYM_ID = 8131L;
+
+	@Autowired
+	private ClientController clientController;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void deleteAnswersNoContentAndExposesJobSeparately() {
+		ClientEntity client = clientRepository.save(new ClientEntity(GYM_ID, "Rosa", "Vega", null, null, null, null));
+
+		ResponseEntity<Void> response = clientController.deleteClient(client.getId());
+
+		assertEquals(204, response.getStatusCode().value());
+		assertFalse(response.hasBody());
+		assertTrue(clientRepository.findByIdAndGymId(client.getId(), GYM_ID).isEmpty());
+		assertThrows(NotFoundException.class, () -> clientController.getClientById(client.getId()));
+
+		ClientDeletionResponse job = clientController.getClientDeletion(client.getId());
+		assertEquals(client.getId(), job.clientId());
+		assertEquals(ClientDeletionStatus.PENDING, job.status());
+		assertEquals(job, clientController.getDeletion(job.id()));
+	}
+
+	@Test
+	void unknownClientOrJobIsNotFound() {
+		assertThrows(NotFoundException.class, () -> clientController.deleteClient(-1L));
+		assertThrows(NotFoundException.class, () -> clientController.getClientDeletion(-1L));
+
+		ClientEntity other = clientRepository.save(new ClientEntity(GYM_ID + 1, "Otro", "Gym", null, null, null, null));
+		GymContext.setGymId(GYM_ID + 1);
+		clientController.deleteClient(other.getId());
+		GymContext.setGymId(GYM_ID);
+		assertThrows(NotFoundException.class, () -> clientController.getClientDeletion(other.getId()));
+	}
+}
@@ -0,0 +1,165 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientMergeResponse;
+import com.mastergym.backend.client.dto.DuplicatePair;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientDuplicateService;
+import com.mastergym.backend.common.error.ConflictException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.text.TextNormalizer;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientDuplicateMergeTests {
+
+	private static final Long GYM_ID = 8141L;
+
+	@Autowired
+	private ClientDuplicateService clientDuplicateService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void phoneticKeyMatchesCommonSpellingVariants() {
+		assertEquals(TextNormalizer.phonetic("Yesica"), TextNormalizer.phonetic("Jessica"));
+		assertEquals(TextNormalizer.phonetic("Jiménez"), TextNormalizer.phonetic("Gimenez"));
+		assertEquals(TextNormalizer.phonetic("Vásquez"), TextNormalizer.phonetic("Basquez"));
+		assertNotEquals(TextNormalizer.phonetic("Mora"), TextNormalizer.phonetic("Mena"));
+	}
+
+	@Test
+	void scanPairsPhoneticNamesSharingPhone() {
+		ClientEntity a = clientRepository.save(new ClientEntity(GYM_ID, "Yesica", "Jimenez", null, "8888-1234", null, null));
+		ClientEntity b = clientRepository.save(new ClientEntity(GYM_ID, "Jessica", "Gimenez", null, "88881234", null, null));
+		clientRepository.save(new ClientEntity(GYM_ID, "Pedro", "Mora", null, "70001111", null, null));
+
+		clientDuplicateService.scanAll();
+
+		List<DuplicatePair> pairs = clientDuplicateService.report().pairs();
+		assertEquals(1, pairs.size());
+		DuplicatePair pair = pairs.get(0);
+		assertEquals(Set.of(a.getId(), b.getId()), Set.of(pair.clientId(), pair.otherClientId()));
+		assertTrue(pair.reasons().contains("telefono"));
+		assertTrue(pair.reasons().contains("nombre"));
+	}
+
+	@Test
+	void mergeMovesHistoryAndCopiesMissingContact() {
+		ClientEntity kept = clientRepository.save(new ClientEntity(GYM_ID, "Ana", "Rojas", null, null, null, null));
+		ClientEntity removed = clientRepository.save(new ClientEntity(GYM_ID, "Ana", "Rojas", "112223333", "88887777", null, null));
+		payment(removed, "2025-01-10");
+		payment(removed, "2025-02-10");
+
+		ClientMergeResponse response = clientDuplicateService.merge(kept.getId(), removed.getId());
+
+		assertEquals(2, response.paymentsMoved());
+		assertEquals("112223333", response.client().getCedula());
+		assertEquals("88887777", response.client().getTelefono());
+		assertTrue(clientRepository.findByIdAndGymId(removed.getId(), GYM_ID).isEmpty());
+		assertEquals(2, countPayments(kept.getId()));
+		assertEquals(0, countPayments(removed.getId()));
+	}
+
+	@Test
+	void mergeRecomputesKeptMembershipFromMovedPeriods() {
+		ClientEntity kept = clientRepository.save(new ClientEntity(GYM_ID, "Marta", "Brenes", null, null, null, null));
+		ClientEntity removed = clientRepository.save(new ClientEntity(GYM_ID, "Marta", "Brenes", null, null, null, null));
+		paymentService.create(monthly(removed, "2025-01-10"));
+		paymentService.create(monthly(removed, "2025-02-10"));
+		paymentService.create(monthly(kept, "2025-03-01"));
+
+		ClientMergeResponse response = clientDuplicateService.merge(kept.getId(), removed.getId());
+
+		// El pago del conservado se encadena al vencimiento 2025-03-10 que traen los periodos movidos
+		assertEquals(LocalDate.parse("2025-01-10"), response.client().getFechaInicioMembresia());
+		assertEquals(LocalDate.parse("2025-04-10"), response.client().getFechaVencimiento());
+		Integer periods = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM membership_periods WHERE client_id = ? AND payment_id IS NOT NULL",
+				Integer.class, kept.getId());
+		assertEquals(3, periods);
+	}
+
+	@Test
+	void mergeRejectsCedulaOwnedByAnotherClient() {
+		ClientEntity kept = clientRepository.save(new ClientEntity(GYM_ID, "Luis", "Soto", null, null, null, null));
+		ClientEntity removed = clientRepository.save(new ClientEntity(GYM_ID, "Luis", "Soto", "445556666", null, null, null));
+		clientRepository.save(new ClientEntity(GYM_ID, "Otro", "Cliente", "445556666", null, null, null));
+		payment(removed, "2025-01-10");
+
+		assertThrows(ConflictException.class, () -> clientDuplicateService.merge(kept.getId(), removed.getId()));
+
+		assertTrue(clientRepository.findByIdAndGymId(removed.getId(), GYM_ID).isPresent());
+		assertEquals(1, countPayments(removed.getId()));
+	}
+
+	private void payment(ClientEntity client, String date) {
+		paymentRepository.save(new PaymentEntity(GYM_ID, client, new BigDecimal("12500"), PaymentCurrency.CRC,
+				PaymentMethod.CASH, PaymentType.OTHER, PaymentStatus.PAID, null, null, LocalDate.parse(date)));
+	}
+
+	private PaymentRequest monthly(ClientEntity client, String date) {
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(client.getId());
+		request.setAmount(new BigDecimal("12500"));
+		request.setPaymentMethod(PaymentMethod.CASH);
+		request.setPaymentType(PaymentType.MONTHLY_MEMBERSHIP);
+		request.setPaymentDate(LocalDate.parse(date));
+		return request;
+	}
+
+	private int countPayments(Long clientId) {
+		clientRepository.flush();
+		Integer count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM payments WHERE gym_id = ? AND client_id = ?", Integer.class, GYM_ID, clientId);
+		return count == null ? 0 : count;
+	}
+}
@@ -0,0 +1,98 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.export.ExportFormat;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientExportTests {
+
+	private static final Long GYM_ID = 8051L;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private ClientEntity ana;
+	private ClientEntity luis;
+
+	// El export recibe el gym explicito porque corre fuera del hilo del request
+	@BeforeEach
+	void setUp() {
+		ana = save(GYM_ID, "Ana", "Paga \"en efectivo\", martes", "2025-01-01T10:00:00Z");
+		luis = save(GYM_ID, "Luis", null, "2025-02-01T10:00:00Z");
+		luis.setFechaInicioMembresia(LocalDate.now().minusDays(5));
+		luis.setFechaVencimiento(LocalDate.now().plusDays(25));
+		luis.setEstado(ClientStatus.ACTIVO);
+		clientRepository.save(luis);
+		save(GYM_ID + 1, "Otro", null, "2025-03-01T10:00:00Z");
+	}
+
+	@Test
+	void csvWritesHeaderAndNewestFirstWithEscaping() {
+		List<String> lines = export(null, ExportFormat.CSV);
+
+		assertEquals(3, lines.size());
+		assertEquals("id,nombre,apellido,cedula,telefono,email,estado,fechaRegistro,fechaInicioMembresia,fechaVencimiento,notas",
+				lines.get(0));
+		assertEquals(luis.getId() + ",Luis,Rojas,,88881234,,ACTIVO,2025-02-01T10:00Z,"
+				+ luis.getFechaInicioMembresia() + "," + luis.getFechaVencimiento() + ",", lines.get(1));
+		assertEquals(ana.getId() + ",Ana,Rojas,,88881234,,INACTIVO,2025-01-01T10:00Z,,,\"Paga \"\"en efectivo\"\", martes\"",
+				lines.get(2));
+	}
+
+	@Test
+	void ndjsonWritesOneResponsePerLineAndAppliesSearch() {
+		List<String> lines = export("ana", ExportFormat.NDJSON);
+
+		assertEquals(1, lines.size());
+		JsonNode row = objectMapper.readTree(lines.get(0));
+		assertEquals(ana.getId().longValue(), row.get("id").asLong());
+		assertEquals("Ana", row.get("nombre").asString());
+		assertEquals("INACTIVO", row.get("estado").asString());
+		assertEquals("Paga \"en efectivo\", martes", row.get("notas").asString());
+
+		assertEquals(List.of(luis.getId()), export("activo", ExportFormat.NDJSON).stream()
+				.map(line -> objectMapper.readTree(line).get("id").asLong())
+				.toList());
+	}
+
+	private List<String> export(String search, ExportFormat format) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		clientService.exportClients(GYM_ID, search, format, output);
+		return output.toString(StandardCharsets.UTF_8).lines().toList();
+	}
+
+	private ClientEntity save(Long gymId, String nombre, String notas, String fechaRegistro) {
+		ClientEntity client = new ClientEntity(gymId, nombre, "Rojas", null, "88881234", null, notas);
+		client.setFechaRegistro(OffsetDateTime.parse(fechaRegistro).withOffsetSameInstant(ZoneOffset.UTC));
+		return clientRepository.save(client);
+	}
+}
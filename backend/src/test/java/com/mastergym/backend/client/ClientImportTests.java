@@ -0,0 +1,164 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientImportResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientImportService;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientImportTests {
+
+	private static final Long GYM_ID = 8041L;
+
+	@Autowired
+	private ClientImportService clientImportService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void csvWithCommaImportsRowsAndReportsInvalidOnes() {
+		String csv = """
+				\uFEFFNombre,Apellido,Cédula,Teléfono,Email
+				Ana,Rojas,1-1222-3333,8888-1234,ana@correo.com
+				"Pérez, Luis",,223334444,+506 7000 1111,
+				,Sin Nombre,334445555,88880000,
+				Mario,Soto,12345,88880001,
+				"Sin cierre,Soto,445556666,88880002,
+				""";
+
+		ClientImportResponse response = importCsv(csv);
+
+		assertEquals(5, response.totalRows());
+		assertEquals(2, response.imported());
+		assertEquals(3, response.failed());
+		assertEquals(List.of(4, 5, 6), response.errors().stream().map(ClientImportResponse.RowError::row).toList());
+		assertEquals("nombre es obligatorio", response.errors().get(0).message());
+		assertEquals("cedula debe tener 9 digitos", response.errors().get(1).message());
+		assertEquals("fila con formato invalido", response.errors().get(2).message());
+		assertFalse(response.errorsTruncated());
+
+		Map<String, Object> luis = jdbcTemplate.queryForMap(
+				"SELECT nombre, apellido, telefono, estado, search_text FROM clients WHERE gym_id = ? AND cedula = ?",
+				GYM_ID, "223334444");
+		assertEquals("Pérez, Luis", luis.get("nombre"));
+		assertNull(luis.get("apellido"));
+		assertEquals("+50670001111", luis.get("telefono"));
+		assertEquals("INACTIVO", luis.get("estado"));
+		assertEquals("perez luis 223334444 50670001111", luis.get("search_text"));
+	}
+
+	@Test
+	void csvWithSemicolonAcceptsColumnsInAnyOrder() {
+		String csv = """
+				telefono;cedula;nombre
+				88881234;112223333;Ana
+				88885678;223334444;Luis
+				""";
+
+		ClientImportResponse response = importCsv(csv);
+
+		assertEquals(2, response.imported());
+		assertEquals(List.of("112223333", "223334444"), cedulas());
+	}
+
+	@Test
+	void rejectsCedulaOrEmailAlreadyInGymOrFile() {
+		clientRepository.save(new ClientEntity(GYM_ID, "Ana", "Rojas", "112223333", "88881234", "ana@correo.com", null));
+		String csv = """
+				nombre,cedula,telefono,email
+				Ana,112223333,88881234,
+				Luis,223334444,88885678,ANA@correo.com
+				Marta,334445555,88889999,marta@correo.com
+				Marta,334445555,88889999,
+				Sara,445556666,88887777,Marta@Correo.com
+				""";
+
+		ClientImportResponse response = importCsv(csv);
+
+		assertEquals(1, response.imported());
+		assertEquals(List.of(
+				new ClientImportResponse.RowError(2, "cedula duplicada: 112223333"),
+				new ClientImportResponse.RowError(3, "email duplicado: ANA@correo.com"),
+				new ClientImportResponse.RowError(5, "cedula duplicada: 334445555"),
+				new ClientImportResponse.RowError(6, "email duplicado: Marta@Correo.com")
+		), response.errors());
+		assertEquals(List.of("112223333", "334445555"), cedulas());
+	}
+
+	@Test
+	void ndjsonImportsEachLineAsRequest() {
+		String ndjson = """
+				{"nombre":"Ana","cedula":"112223333","telefono":"88881234"}
+
+				{"nombre":"Luis","cedula":"223334444","telefono":"88885678","email":"luis@correo.com"}
+				{"nombre":"Roto",
+				""";
+
+		ClientImportResponse response = clientImportService.importClients(stream(ndjson), true);
+
+		assertEquals(3, response.totalRows());
+		assertEquals(2, response.imported());
+		assertEquals(List.of(new ClientImportResponse.RowError(4, "fila con formato invalido")), response.errors());
+		assertEquals(List.of("112223333", "223334444"), cedulas());
+	}
+
+	@Test
+	void csvHeaderWithoutRequiredColumnsIsRejected() {
+		String csv = """
+				nombre,apellido,email
+				Ana,Rojas,ana@correo.com
+				""";
+
+		assertThrows(BadRequestException.class, () -> importCsv(csv));
+		assertEquals(List.of(), cedulas());
+	}
+
+	private ClientImportResponse importCsv(String csv) {
+		return clientImportService.importClients(stream(csv), false);
+	}
+
+	private List<String> cedulas() {
+		return clientRepository.findCedulasByGymId(GYM_ID).stream().sorted().toList();
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,51 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientLookupCache;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientLookupCacheTests {
+
+	private static final Long GYM_ID = 8061L;
+	private static final Long OTHER_GYM_ID = 8062L;
+
+	@Autowired
+	private ClientLookupCache clientLookupCache;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	// Los eventos de cambio se entregan despues del commit y estos tests terminan en rollback: se invalida a mano
+	@Test
+	void servesSnapshotUntilInvalidated() {
+		ClientEntity client = clientRepository.save(new ClientEntity(GYM_ID, "Ana", "Solis", null, null, null, null));
+		assertEquals("Ana", clientLookupCache.find(GYM_ID, client.getId()).map(ClientSnapshot::nombre).orElseThrow());
+
+		client.setNombre("Ana Maria");
+		clientRepository.saveAndFlush(client);
+		assertEquals("Ana", clientLookupCache.find(GYM_ID, client.getId()).map(ClientSnapshot::nombre).orElseThrow());
+
+		clientLookupCache.invalidate(GYM_ID, client.getId());
+		assertEquals("Ana Maria", clientLookupCache.find(GYM_ID, client.getId()).map(ClientSnapshot::nombre).orElseThrow());
+	}
+
+	@Test
+	void clientOfAnotherGymIsNotFound() {
+		ClientEntity client = clientRepository.save(new ClientEntity(GYM_ID, "Luis", "Mora", null, null, null, null));
+		assertTrue(clientLookupCache.find(OTHER_GYM_ID, client.getId()).isEmpty());
+		assertTrue(clientLookupCache.find(GYM_ID, client.getId()).isPresent());
+	}
+}
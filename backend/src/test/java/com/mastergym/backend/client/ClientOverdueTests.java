@@ -0,0 +1,95 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientOverdueResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientOverdueService;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.plan.model.MembershipPlanEntity;
+import com.mastergym.backend.plan.repository.MembershipPlanRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientOverdueTests {
+
+	private static final Long GYM_ID = 9801L;
+	private static final LocalDate TODAY = LocalDate.parse("2025-04-01");
+
+	@Autowired
+	private ClientOverdueService clientOverdueService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private MembershipPlanRepository membershipPlanRepository;
+
+	@Test
+	void listsOverdueClientsMostOverdueFirstWithLastPaymentAndPlan() {
+		MembershipPlanEntity plan = membershipPlanRepository.save(new MembershipPlanEntity(
+				GYM_ID, "Mensual", 1, 0, new BigDecimal("15000"), PaymentCurrency.CRC));
+		ClientEntity lapsed = client("Marta", null, "2025-01-15");
+		ClientEntity recent = client("Jorge", null, "2025-03-20");
+		client("Activa", null, "2025-04-01");
+		// Membresia que arranca en el futuro: INACTIVO, no moroso
+		client("Futura", "2025-05-01", "2025-03-01");
+
+		payment(lapsed, "15000", "2024-12-15", plan.getId());
+		// El ultimo pago no es de plan: el plan habitual sale del pago anterior
+		payment(lapsed, "3000", "2025-01-05", null);
+
+		List<ClientOverdueResponse> overdue = clientOverdueService.overdue(GYM_ID, TODAY, 50);
+
+		assertEquals(List.of(lapsed.getId(), recent.getId()), overdue.stream().map(ClientOverdueResponse::id).toList());
+		ClientOverdueResponse first = overdue.get(0);
+		assertEquals(76, first.diasVencido());
+		assertEquals(LocalDate.parse("2025-01-05"), first.ultimoPagoFecha());
+		assertEquals(0, new BigDecimal("3000").compareTo(first.ultimoPagoMonto()));
+		assertEquals(plan.getId(), first.planId());
+		assertEquals(0, new BigDecimal("15000").compareTo(first.planPrecio()));
+
+		ClientOverdueResponse second = overdue.get(1);
+		assertEquals(12, second.diasVencido());
+		assertNull(second.ultimoPagoFecha());
+		assertNull(second.planId());
+
+		assertEquals(1, clientOverdueService.overdue(GYM_ID, TODAY, 1).size());
+	}
+
+	private ClientEntity client(String nombre, String inicio, String vencimiento) {
+		ClientEntity client = new ClientEntity(GYM_ID, nombre, "Prueba", null, null, null, null);
+		client.setFechaInicioMembresia(inicio == null ? null : LocalDate.parse(inicio));
+		client.setFechaVencimiento(LocalDate.parse(vencimiento));
+		return clientRepository.save(client);
+	}
+
+	private void payment(ClientEntity client, String amount, String date, Long planId) {
+		PaymentEntity payment = new PaymentEntity(GYM_ID, client, new BigDecimal(amount), PaymentCurrency.CRC,
+				PaymentMethod.CASH, planId == null ? PaymentType.OTHER : PaymentType.MONTHLY_MEMBERSHIP,
+				PaymentStatus.PAID, null, null, LocalDate.parse(date));
+		payment.setPlanId(planId);
+		paymentRepository.save(payment);
+	}
+}
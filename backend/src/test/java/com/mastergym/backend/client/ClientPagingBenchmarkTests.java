@@ -0,0 +1,104 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.pagination.KeysetCursor;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Benchmark manual: MASTERGYM_BENCHMARK=true ./gradlew test --tests '*ClientPagingBenchmarkTests'
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+@EnabledIfEnvironmentVariable(named = "MASTERGYM_BENCHMARK", matches = "true")
+class ClientPagingBenchmarkTests {
+
+	private static final Long GYM_ID = 8151L;
+	private static final int CLIENTS = 20_000;
+	private static final int PAGE_SIZE = 50;
+	private static final int DEEP_PAGE = CLIENTS / PAGE_SIZE - 10;
+	private static final int WARMUP = 5;
+	private static final int RUNS = 20;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void deepOffsetPageVersusCursor() {
+		// Registro estrictamente decreciente: el orden de insercion es el orden de la lista
+		OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+		List<ClientEntity> seeded = new ArrayList<>(CLIENTS);
+		for (int i = 0; i < CLIENTS; i++) {
+			ClientEntity client = new ClientEntity(GYM_ID, "Cliente" + i, "Bench", null, null, null, null);
+			client.setFechaRegistro(base.minusSeconds(i));
+			seeded.add(client);
+		}
+		seeded = clientRepository.saveAllAndFlush(seeded);
+
+		int offset = DEEP_PAGE * PAGE_SIZE;
+		ClientEntity previous = seeded.get(offset - 1);
+		String cursor = KeysetCursor.encode(KeysetCursor.epochMicros(previous.getFechaRegistro()), previous.getId());
+		PageRequest pageable = PageRequest.of(DEEP_PAGE, PAGE_SIZE, KeysetCursor.descending("fechaRegistro"));
+
+		Supplier<List<ClientResponse>> pageMode = () -> clientService.listClients(null, pageable).getContent();
+		Supplier<List<ClientResponse>> cursorMode = () -> clientService.listClientsAfter(null, cursor, PAGE_SIZE).items();
+
+		assertEquals(ids(pageMode.get()), ids(cursorMode.get()));
+		assertEquals(seeded.get(offset).getId(), pageMode.get().get(0).getId());
+
+		double pageMillis = medianMillis(pageMode);
+		double cursorMillis = medianMillis(cursorMode);
+		System.out.printf("Clientes=%d pagina=%d tamano=%d: Page %.2f ms, cursor %.2f ms (mediana de %d)%n",
+				CLIENTS, DEEP_PAGE, PAGE_SIZE, pageMillis, cursorMillis, RUNS);
+	}
+
+	private static List<Long> ids(List<ClientResponse> items) {
+		return items.stream().map(ClientResponse::getId).toList();
+	}
+
+	private static double medianMillis(Supplier<?> query) {
+		for (int i = 0; i < WARMUP; i++) {
+			query.get();
+		}
+		long[] samples = new long[RUNS];
+		for (int i = 0; i < RUNS; i++) {
+			long start = System.nanoTime();
+			query.get();
+			samples[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(samples);
+		return samples[RUNS / 2] / 1_000_000.0;
+	}
+}
@@ -0,0 +1,87 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientSearchTests {
+
+	private static final Long GYM_ID = 8021L;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	private Long ana;
+	private Long jose;
+	private Long mariana;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+		ana = save(GYM_ID, "Ana", "Rojas", "112223333", ClientStatus.ACTIVO);
+		jose = save(GYM_ID, "José", "Anaya", "223334444", ClientStatus.MOROSO);
+		mariana = save(GYM_ID, "Mariana", "Pérez", null, ClientStatus.INACTIVO);
+		save(GYM_ID + 1, "Ana", "Rojas", "112223333", ClientStatus.ACTIVO);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void searchRanksCedulaThenPrefixThenWordThenSubstring() {
+		assertEquals(List.of(ana, jose, mariana), ids(clientService.searchClients("ana", 10)));
+		assertEquals(List.of(ana, jose), ids(clientService.searchClients("ana", 2)));
+		assertEquals(List.of(ana), ids(clientService.searchClients("112223333", 10)));
+		assertEquals(List.of(ana), ids(clientService.searchClients("1122-2333-3", 10)));
+	}
+
+	@Test
+	void searchIgnoresAccentsAndRequiresEveryToken() {
+		assertEquals(List.of(jose), ids(clientService.searchClients("jose", 10)));
+		assertEquals(List.of(mariana), ids(clientService.searchClients("PEREZ", 10)));
+		assertEquals(List.of(jose), ids(clientService.searchClients("anaya José", 10)));
+		assertTrue(clientService.searchClients("ana soto", 10).isEmpty());
+		assertTrue(clientService.searchClients("  ", 10).isEmpty());
+	}
+
+	@Test
+	void listFiltersByStatusNameOrTokens() {
+		assertEquals(List.of(jose), ids(clientService.listClients(GYM_ID, "moroso")));
+		assertEquals(List.of(ana), ids(clientService.listClients(GYM_ID, "rojas ana")));
+		assertEquals(3, clientService.listClients(GYM_ID, null).size());
+	}
+
+	private Long save(Long gymId, String nombre, String apellido, String cedula, ClientStatus estado) {
+		ClientEntity client = new ClientEntity(gymId, nombre, apellido, cedula, null, null, null);
+		client.setEstado(estado);
+		return clientRepository.save(client).getId();
+	}
+
+	private static List<Long> ids(List<ClientResponse> clients) {
+		return clients.stream().map(ClientResponse::getId).toList();
+	}
+}
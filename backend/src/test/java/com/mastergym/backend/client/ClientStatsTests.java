@@ -0,0 +1,78 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientStatsResponse;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientOverdueService;
+import com.mastergym.backend.client.service.ClientStatsService;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientStatsTests {
+
+	private static final Long GYM_ID = 8071L;
+
+	@Autowired
+	private ClientStatsService clientStatsService;
+
+	@Autowired
+	private ClientOverdueService clientOverdueService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Test
+	void statusCountsFollowDatesAndAgreeWithOverdue() {
+		LocalDate today = LocalDate.now();
+		// El estado guardado quedo viejo (el sweeper aun no corrio): cuentan las fechas
+		ClientEntity lapsed = client(ClientStatus.ACTIVO, today.minusMonths(1).minusDays(1), today.minusDays(1));
+		client(ClientStatus.ACTIVO, today.minusDays(3), today.plusDays(3));
+		client(ClientStatus.MOROSO, today.minusDays(10), today);
+		client(ClientStatus.ACTIVO, today.plusDays(2), today.plusMonths(1));
+		client(ClientStatus.ACTIVO, null, null);
+
+		ClientStatsResponse stats = clientStatsService.stats(GYM_ID);
+
+		assertEquals(5, stats.total());
+		assertEquals(2, stats.activos());
+		assertEquals(1, stats.morosos());
+		assertEquals(2, stats.inactivos());
+		assertEquals(2, stats.vencenEstaSemana());
+		assertEquals(clientOverdueService.overdue(GYM_ID, today, 1000).size(), stats.morosos());
+
+		// Los eventos llegan despues del commit y este test termina en rollback: se entregan a mano
+		ClientSnapshot before = ClientSnapshot.from(lapsed);
+		lapsed.setFechaInicioMembresia(today);
+		lapsed.setFechaVencimiento(today.plusMonths(1));
+		clientStatsService.onClientChanged(new ClientChangedEvent(GYM_ID, lapsed.getId(), before, ClientSnapshot.from(lapsed)));
+
+		clientRepository.flush();
+		ClientStatsResponse renewed = clientStatsService.stats(GYM_ID);
+		assertEquals(3, renewed.activos());
+		assertEquals(0, renewed.morosos());
+		assertEquals(2, renewed.inactivos());
+		assertEquals(clientOverdueService.overdue(GYM_ID, today, 1000).size(), renewed.morosos());
+	}
+
+	private ClientEntity client(ClientStatus estado, LocalDate inicio, LocalDate vencimiento) {
+		ClientEntity client = new ClientEntity(GYM_ID, "Cliente", "Contador", null, null, null, null);
+		client.setEstado(estado);
+		client.setFechaInicioMembresia(inicio);
+		client.setFechaVencimiento(vencimiento);
+		return clientRepository.save(client);
+	}
+}
@@ -0,0 +1,91 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.client.service.ClientStatusSweeper;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientStatusSweeperTests {
+
+	private static final Long GYM_ID = 8011L;
+
+	@Autowired
+	private ClientStatusSweeper clientStatusSweeper;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void readsComputeStatusAndSweepPersistsIt() {
+		LocalDate now = LocalDate.now();
+		Long lapsed = client(ClientStatus.ACTIVO, now.minusMonths(1), now.minusDays(1));
+		Long current = client(ClientStatus.MOROSO, now.minusDays(5), now.plusDays(25));
+		Long future = client(ClientStatus.ACTIVO, now.plusDays(3), now.plusMonths(1));
+		Long none = client(ClientStatus.ACTIVO, null, null);
+
+		// La lectura calcula el estado en memoria y no escribe
+		assertEquals(ClientStatus.MOROSO, clientService.getClientById(lapsed).getEstado());
+		assertEquals(ClientStatus.ACTIVO, persisted(lapsed));
+
+		assertEquals(4, clientStatusSweeper.sweepGym(GYM_ID, now));
+		assertEquals(ClientStatus.MOROSO, persisted(lapsed));
+		assertEquals(ClientStatus.ACTIVO, persisted(current));
+		assertEquals(ClientStatus.INACTIVO, persisted(future));
+		assertEquals(ClientStatus.INACTIVO, persisted(none));
+
+		// Sin cambios de fecha no hay nada que actualizar
+		assertEquals(0, clientStatusSweeper.sweepGym(GYM_ID, now));
+
+		// Al llegar el inicio de la membresia futura el cliente pasa a ACTIVO
+		assertEquals(1, clientStatusSweeper.sweepGym(GYM_ID, now.plusDays(3)));
+		assertEquals(ClientStatus.ACTIVO, persisted(future));
+		assertEquals(ClientStatus.MOROSO, persisted(lapsed));
+		assertEquals(0, clientStatusSweeper.sweepGym(GYM_ID + 1, now));
+	}
+
+	private Long client(ClientStatus estado, LocalDate inicio, LocalDate vencimiento) {
+		ClientEntity client = new ClientEntity(GYM_ID, "Cliente", "Barrido", null, null, null, null);
+		client.setEstado(estado);
+		client.setFechaInicioMembresia(inicio);
+		client.setFechaVencimiento(vencimiento);
+		return clientRepository.save(client).getId();
+	}
+
+	private ClientStatus persisted(Long id) {
+		return ClientStatus.valueOf(jdbcTemplate.queryForObject("SELECT estado FROM clients WHERE id = ?", String.class, id));
+	}
+}
@@ -0,0 +1,79 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientSuggestion;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientSuggestService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Repositorio simulado: los eventos se entregan justo despues de que la carga leyo la base
+class ClientSuggestLoadTests {
+
+	private static final Long GYM_ID = 8112L;
+
+	private final List<Object[]> rows = new ArrayList<>();
+	private Runnable duringLoad = () -> {};
+	private int loads;
+
+	private final ClientSuggestService service = new ClientSuggestService(fakeRepository(), 30);
+
+	@Test
+	void changesCommittedDuringLoadAreAppliedOverTheSnapshot() {
+		rows.add(new Object[] {1L, "Ana", "Mora", null, null, null});
+		rows.add(new Object[] {2L, "Luis", "Soto", null, null, null});
+		duringLoad = () -> {
+			service.onClientChanged(new ClientChangedEvent(GYM_ID, 1L, snapshot(1L, "Ana", "Mora"), null));
+			service.onClientChanged(new ClientChangedEvent(GYM_ID, 2L, snapshot(2L, "Luis", "Soto"), snapshot(2L, "Luis", "Quesada")));
+			service.onClientChanged(new ClientChangedEvent(GYM_ID, 3L, null, snapshot(3L, "Marta", "Rojas")));
+		};
+
+		assertTrue(ids("ana").isEmpty());
+		assertEquals(List.of(2L), ids("ques"));
+		assertTrue(ids("soto").isEmpty());
+		assertEquals(List.of(3L), ids("marta"));
+		assertEquals(1, loads);
+	}
+
+	@Test
+	void changeAlreadyInSnapshotIsNotDuplicated() {
+		rows.add(new Object[] {1L, "Ana", "Mora", null, null, null});
+		duringLoad = () -> service.onClientChanged(new ClientChangedEvent(GYM_ID, 1L, null, snapshot(1L, "Ana", "Mora")));
+
+		assertEquals(List.of(1L), ids("ana"));
+
+		service.onClientChanged(new ClientChangedEvent(GYM_ID, 1L, snapshot(1L, "Ana", "Mora"), null));
+		assertTrue(ids("ana").isEmpty());
+		assertEquals(1, loads);
+	}
+
+	private List<Long> ids(String query) {
+		return service.suggest(GYM_ID, query, 10, null).stream().map(ClientSuggestion::id).toList();
+	}
+
+	private ClientRepository fakeRepository() {
+		return (ClientRepository) Proxy.newProxyInstance(
+				ClientRepository.class.getClassLoader(),
+				new Class<?>[] {ClientRepository.class},
+				(proxy, method, args) -> {
+					if (!method.getName().equals("findSuggestRowsByGymId")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					loads += 1;
+					List<Object[]> snapshot = List.copyOf(rows);
+					duringLoad.run();
+					return snapshot;
+				});
+	}
+
+	private static ClientSnapshot snapshot(Long id, String nombre, String apellido) {
+		return new ClientSnapshot(id, GYM_ID, nombre, apellido, null, null, null, null, null, null, null, null);
+	}
+}
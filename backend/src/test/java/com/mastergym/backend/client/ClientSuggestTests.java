@@ -0,0 +1,101 @@
+package com.mastergym.backend.client;
+
+import com.mastergym.backend.client.dto.ClientSuggestion;
+import com.mastergym.backend.client.event.ClientChangedEvent;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.model.ClientSnapshot;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientSuggestService;
+import com.mastergym.backend.common.enums.ClientStatus;
+import com.mastergym.backend.config.TestMailConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ClientSuggestTests {
+
+	private static final Long GYM_ID = 8111L;
+
+	@Autowired
+	private ClientSuggestService clientSuggestService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Test
+	void suggestsByNamePrefixAndCedulaAndFollowsChanges() {
+		ClientEntity andrea = save(new ClientEntity(GYM_ID, "Andrea", "Solís", "1-0234-0567", null, null, null));
+		ClientEntity andres = save(new ClientEntity(GYM_ID, "Andrés", "Solano", null, null, null, null));
+		ClientEntity ana = save(new ClientEntity(GYM_ID, "Ana", "Mora", null, null, null, null));
+
+		assertEquals(List.of(ana.getId(), andrea.getId(), andres.getId()), ids("an", 10));
+		assertEquals(List.of(ana.getId()), ids("an", 1));
+		assertEquals(List.of(andrea.getId(), andres.getId()), ids("SOL andr", 10));
+		assertEquals(List.of(andrea.getId()), ids("andr solis", 10));
+		assertEquals(List.of(andrea.getId()), ids("10234", 10));
+		assertTrue(ids("   ", 10).isEmpty());
+
+		// Los eventos llegan despues del commit y este test termina en rollback: se entregan a mano
+		ClientSnapshot before = ClientSnapshot.from(andres);
+		andres.setApellido("Quesada");
+		clientSuggestService.onClientChanged(new ClientChangedEvent(GYM_ID, andres.getId(), before, ClientSnapshot.from(andres)));
+		assertEquals(List.of(andrea.getId()), ids("sol", 10));
+		assertEquals(List.of(andres.getId()), ids("ques", 10));
+
+		clientSuggestService.onClientChanged(new ClientChangedEvent(GYM_ID, ana.getId(), ClientSnapshot.from(ana), null));
+		assertEquals(List.of(andrea.getId(), andres.getId()), ids("an", 10));
+	}
+
+	@Test
+	void returnsDisplayDataAndFiltersByComputedStatus() {
+		LocalDate today = LocalDate.now();
+		ClientEntity activa = client("Paula", "Rojas", today.minusDays(10), today.plusDays(20));
+		ClientEntity vencida = client("Paola", "Rojas", today.minusDays(40), today.minusDays(1));
+		ClientEntity futura = client("Pamela", "Rojas", today.plusDays(3), today.plusDays(33));
+
+		List<ClientSuggestion> all = clientSuggestService.suggest(GYM_ID, "pa rojas", 10, null);
+		assertEquals(3, all.size());
+		ClientSuggestion paula = all.stream().filter(s -> s.id().equals(activa.getId())).findFirst().orElseThrow();
+		assertEquals("Paula", paula.nombre());
+		assertEquals("Rojas", paula.apellido());
+		assertEquals(ClientStatus.ACTIVO, paula.estado());
+		assertEquals(today.plusDays(20), paula.fechaVencimiento());
+
+		// El filtro se aplica antes del limite: con limit 1 igual aparece el unico activo
+		assertEquals(List.of(activa.getId()), clientSuggestService.suggest(GYM_ID, "pa", 1, ClientStatus.ACTIVO)
+				.stream().map(ClientSuggestion::id).toList());
+		assertEquals(List.of(vencida.getId()), clientSuggestService.suggest(GYM_ID, "pa", 10, ClientStatus.MOROSO)
+				.stream().map(ClientSuggestion::id).toList());
+		assertEquals(List.of(futura.getId()), clientSuggestService.suggest(GYM_ID, "pa", 10, ClientStatus.INACTIVO)
+				.stream().map(ClientSuggestion::id).toList());
+	}
+
+	private ClientEntity client(String nombre, String apellido, LocalDate inicio, LocalDate vencimiento) {
+		ClientEntity client = new ClientEntity(GYM_ID, nombre, apellido, null, null, null, null);
+		client.setFechaInicioMembresia(inicio);
+		client.setFechaVencimiento(vencimiento);
+		return save(client);
+	}
+
+	// Si el indice del gym ya se cargo en otro test, el alta llega como evento; si no, la carga la lee de la BD
+	private ClientEntity save(ClientEntity client) {
+		ClientEntity saved = clientRepository.save(client);
+		clientSuggestService.onClientChanged(new ClientChangedEvent(GYM_ID, saved.getId(), null, ClientSnapshot.from(saved)));
+		return saved;
+	}
+
+	private List<Long> ids(String query, int limit) {
+		return clientSuggestService.suggest(GYM_ID, query, limit, null).stream().map(ClientSuggestion::id).toList();
+	}
+}
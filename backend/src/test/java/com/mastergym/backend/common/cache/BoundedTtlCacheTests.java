@@ -0,0 +1,96 @@
+package com.mastergym.backend.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoundedTtlCacheTests {
+
+	@Test
+	void invalidateDuringLoadDiscardsLoadedValue() throws Exception {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 10, Duration.ofMinutes(5));
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch invalidated = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			// La carga lee el valor viejo; el commit del cambio invalida antes de que la carga lo guarde
+			Future<String> stale = executor.submit(() -> cache.get("k", key -> {
+				loading.countDown();
+				await(invalidated);
+				return "viejo";
+			}));
+			loading.await(5, TimeUnit.SECONDS);
+			cache.invalidate("k");
+			invalidated.countDown();
+
+			assertEquals("viejo", stale.get(5, TimeUnit.SECONDS));
+			assertNull(cache.getIfPresent("k"));
+			assertEquals("nuevo", cache.get("k", key -> "nuevo"));
+			assertEquals("nuevo", cache.get("k", key -> "otro"));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void invalidateIfAndAllAlsoCancelLoadsInFlight() {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 10, Duration.ofMinutes(5));
+		cache.get("a", key -> {
+			cache.invalidateIf(k -> k.equals("a"));
+			return "viejo";
+		});
+		assertNull(cache.getIfPresent("a"));
+
+		cache.get("b", key -> {
+			cache.invalidateAll();
+			return "viejo";
+		});
+		assertNull(cache.getIfPresent("b"));
+	}
+
+	@Test
+	void failedLoadIsNotCachedAndNextLoadIs() {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 10, Duration.ofMinutes(5));
+		assertThrows(IllegalStateException.class, () -> cache.get("k", key -> {
+			throw new IllegalStateException("falla");
+		}));
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("k", key -> "v" + loads.incrementAndGet());
+		assertEquals("v1", cache.get("k", key -> "v" + loads.incrementAndGet()));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedAndExpiresByTtl() throws Exception {
+		BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 2, Duration.ofMinutes(5));
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.getIfPresent("a");
+		cache.put("c", "3");
+		assertNull(cache.getIfPresent("b"));
+		assertEquals("1", cache.getIfPresent("a"));
+
+		BoundedTtlCache<String, String> shortLived = new BoundedTtlCache<>("test", 2, Duration.ofMillis(20));
+		shortLived.put("a", "1");
+		Thread.sleep(50);
+		assertNull(shortLived.getIfPresent("a"));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
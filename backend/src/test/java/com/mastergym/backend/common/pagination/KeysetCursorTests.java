@@ -0,0 +1,52 @@
+package com.mastergym.backend.common.pagination;
+
+import com.mastergym.backend.common.error.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTests {
+
+	@Test
+	void tokenRoundTripsValueAndId() {
+		KeysetCursor.Position position = KeysetCursor.decode(KeysetCursor.encode("2025-03-01", 42L));
+		assertEquals(new KeysetCursor.Position("2025-03-01", 42L), position);
+		assertNull(KeysetCursor.decode(" "));
+		assertNull(KeysetCursor.decode(null));
+	}
+
+	@Test
+	void timestampsAreEncodedAsUtcMicros() {
+		OffsetDateTime local = OffsetDateTime.parse("2025-03-01T10:00:00.123456-06:00");
+		OffsetDateTime utc = OffsetDateTime.parse("2025-03-01T16:00:00.123456Z");
+
+		assertEquals("1740844800123456", KeysetCursor.epochMicros(local));
+		assertEquals(KeysetCursor.epochMicros(local), KeysetCursor.epochMicros(utc));
+		assertEquals(utc, KeysetCursor.fromEpochMicros(KeysetCursor.epochMicros(local)));
+		// Por debajo del microsegundo se trunca, igual que al guardar en la base
+		assertEquals("1740844800123456", KeysetCursor.epochMicros(OffsetDateTime.parse("2025-03-01T16:00:00.123456789Z")));
+		// Antes de 1970 el segundo es negativo y los micros siguen sumando hacia adelante
+		OffsetDateTime old = OffsetDateTime.parse("1969-12-31T23:59:59.500001Z");
+		assertEquals("-499999", KeysetCursor.epochMicros(old));
+		assertEquals(old, KeysetCursor.fromEpochMicros("-499999"));
+	}
+
+	@Test
+	void malformedTokensAreBadRequests() {
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode("%%%"));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("sin-separador")));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.decode(token("123|abc")));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.fromEpochMicros("2025-03-01T10:00:00Z"));
+		assertThrows(BadRequestException.class, () -> KeysetCursor.fromEpochMicros(""));
+	}
+
+	private static String token(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
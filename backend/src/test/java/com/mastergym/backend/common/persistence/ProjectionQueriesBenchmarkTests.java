@@ -0,0 +1,137 @@
+package com.mastergym.backend.common.persistence;
+
+import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.client.service.ClientStatusCalculator;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Benchmark manual: MASTERGYM_BENCHMARK=true ./gradlew test --tests '*ProjectionQueriesBenchmarkTests'
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+@EnabledIfEnvironmentVariable(named = "MASTERGYM_BENCHMARK", matches = "true")
+class ProjectionQueriesBenchmarkTests {
+
+	private static final Long GYM_ID = 8102L;
+	private static final int PAGE_SIZE = 500;
+	private static final int WARMUP = 5;
+	private static final int RUNS = 20;
+
+	private final com.sun.management.ThreadMXBean threads =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void fiveHundredRowPageProjectionVersusEntities() {
+		List<ClientEntity> seeded = new ArrayList<>(PAGE_SIZE);
+		LocalDate today = LocalDate.now();
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			ClientEntity client = new ClientEntity(GYM_ID, "Cliente" + i, "Bench", "1-" + i, "8888" + i, "c" + i + "@gym.test", "Notas " + i);
+			client.setFechaInicioMembresia(today.minusDays(i % 60));
+			client.setFechaVencimiento(today.plusDays(30 - i % 60));
+			seeded.add(client);
+		}
+		clientRepository.saveAllAndFlush(seeded);
+		entityManager.clear();
+
+		PageRequest pageable = PageRequest.of(0, PAGE_SIZE, Sort.by("nombre"));
+		Specification<ClientEntity> byGym = (root, query, cb) -> cb.equal(root.get("gymId"), GYM_ID);
+
+		// Camino anterior: entidades administradas mapeadas a la respuesta
+		Supplier<List<ClientResponse>> entities = () ->
+				clientRepository.findAll(byGym, pageable).map(ProjectionQueriesBenchmarkTests::toResponse).getContent();
+		Supplier<List<ClientResponse>> projection = () -> clientService.listClients(null, pageable).getContent();
+
+		assertEquals(PAGE_SIZE, projection.get().size());
+		assertEquals(PAGE_SIZE, entities.get().size());
+		entityManager.clear();
+
+		Sample before = measure(entities);
+		Sample after = measure(projection);
+		System.out.printf("Pagina de %d clientes: entidades %.2f ms / %d KB, proyeccion %.2f ms / %d KB (mediana de %d)%n",
+				PAGE_SIZE, before.millis(), before.bytes() / 1024, after.millis(), after.bytes() / 1024, RUNS);
+	}
+
+	private Sample measure(Supplier<?> query) {
+		for (int i = 0; i < WARMUP; i++) {
+			query.get();
+			entityManager.clear();
+		}
+		long[] nanos = new long[RUNS];
+		long[] bytes = new long[RUNS];
+		for (int i = 0; i < RUNS; i++) {
+			long allocated = threads.getCurrentThreadAllocatedBytes();
+			long start = System.nanoTime();
+			query.get();
+			nanos[i] = System.nanoTime() - start;
+			bytes[i] = threads.getCurrentThreadAllocatedBytes() - allocated;
+			// Cada request empieza con un contexto de persistencia vacio
+			entityManager.clear();
+		}
+		Arrays.sort(nanos);
+		Arrays.sort(bytes);
+		return new Sample(nanos[RUNS / 2] / 1_000_000.0, bytes[RUNS / 2]);
+	}
+
+	private static ClientResponse toResponse(ClientEntity e) {
+		return new ClientResponse(
+				e.getId(),
+				e.getGymId(),
+				e.getNombre(),
+				e.getApellido(),
+				e.getCedula(),
+				e.getTelefono(),
+				e.getEmail(),
+				ClientStatusCalculator.resolve(e.getFechaInicioMembresia(), e.getFechaVencimiento(), LocalDate.now()),
+				e.getFechaRegistro(),
+				e.getFechaInicioMembresia(),
+				e.getFechaVencimiento(),
+				e.getNotas()
+		);
+	}
+
+	private record Sample(double millis, long bytes) {
+	}
+}
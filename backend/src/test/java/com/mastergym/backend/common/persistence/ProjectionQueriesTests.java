@@ -0,0 +1,130 @@
+package com.mastergym.backend.common.persistence;
+
+import com.mastergym.backend.client.dto.ClientResponse;
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.PaymentService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class ProjectionQueriesTests {
+
+	private static final Long GYM_ID = 8101L;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private ClientEntity ana;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+		ana = clientRepository.save(new ClientEntity(GYM_ID, "Ana", "Rojas", "112223333", "88881234", "ana@correo.com", "nota"));
+		ana.setFechaInicioMembresia(LocalDate.now().minusDays(40));
+		ana.setFechaVencimiento(LocalDate.now().minusDays(10));
+		clientRepository.save(new ClientEntity(GYM_ID, "Luis", null, null, "88885678", null, null));
+		clientRepository.save(new ClientEntity(GYM_ID, "Marta", "Soto", null, "88889999", null, null));
+		clientRepository.save(new ClientEntity(GYM_ID + 1, "Otro", null, null, "88880000", null, null));
+		payment("12500", PaymentCurrency.CRC, "2025-01-10", "REF-1");
+		payment("25", PaymentCurrency.USD, "2025-02-10", null);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void clientPageMatchesDetailWithoutLoadingEntities() {
+		clearPersistenceContext();
+
+		Page<ClientResponse> page = clientService.listClients(null, PageRequest.of(0, 2, Sort.by("nombre")));
+
+		assertEquals(0, managedEntities());
+		assertEquals(3, page.getTotalElements());
+		assertEquals(List.of("Ana", "Luis"), page.getContent().stream().map(ClientResponse::getNombre).toList());
+		for (ClientResponse row : page.getContent()) {
+			assertSameJson(clientService.getClientById(row.getId()), row);
+		}
+	}
+
+	@Test
+	void paymentPageMatchesDetailWithoutLoadingEntities() {
+		clearPersistenceContext();
+
+		Page<PaymentResponse> page = paymentService.list(ana.getId(), null, null, PageRequest.of(0, 10, Sort.by("paymentDate")));
+
+		assertEquals(0, managedEntities());
+		assertEquals(2, page.getTotalElements());
+		for (PaymentResponse row : page.getContent()) {
+			assertEquals(ana.getId(), row.getClientId());
+			assertSameJson(paymentService.getById(row.getId()), row);
+		}
+		assertEquals(List.of(LocalDate.parse("2025-01-10"), LocalDate.parse("2025-02-10")),
+				page.getContent().stream().map(PaymentResponse::getPaymentDate).toList());
+	}
+
+	private void payment(String amount, PaymentCurrency currency, String date, String reference) {
+		paymentRepository.save(new PaymentEntity(GYM_ID, ana, new BigDecimal(amount), currency,
+				PaymentMethod.CASH, PaymentType.OTHER, PaymentStatus.PAID, reference, null, LocalDate.parse(date)));
+	}
+
+	// Ambos lados se leen de la BD para comparar con la misma precision
+	private void clearPersistenceContext() {
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private int managedEntities() {
+		return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+	}
+
+	private void assertSameJson(Object expected, Object actual) {
+		assertEquals(objectMapper.valueToTree(expected), objectMapper.valueToTree(actual));
+	}
+}
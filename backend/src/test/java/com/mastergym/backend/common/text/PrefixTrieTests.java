@@ -0,0 +1,61 @@
+package com.mastergym.backend.common.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixTrieTests {
+
+	@Test
+	void collectRanksExactTokenFirstThenShorterExtensions() {
+		PrefixTrie<Integer> trie = names();
+
+		assertEquals(List.of(4, 1, 2, 3), List.copyOf(trie.collect("an", 10, id -> true)));
+		assertEquals(List.of(4, 1), List.copyOf(trie.collect("an", 2, id -> true)));
+		assertEquals(List.of(4, 2, 3), List.copyOf(trie.collect("an", 10, id -> id != 1)));
+		assertTrue(trie.collect("bo", 10, id -> true).isEmpty());
+	}
+
+	@Test
+	void valueUnderSeveralTokensIsReturnedOnce() {
+		PrefixTrie<Integer> trie = new PrefixTrie<>();
+		trie.add("rojas", 7);
+		trie.add("rosa", 7);
+		trie.add("", 8);
+		trie.add(null, 8);
+
+		assertEquals(List.of(7), List.copyOf(trie.collect("ro", 10, id -> true)));
+		assertTrue(trie.collect("", 10, id -> id == 8).isEmpty());
+	}
+
+	@Test
+	void removeDropsOnlyThatValueAndPrunesEmptyBranches() {
+		PrefixTrie<Integer> trie = names();
+		trie.add("ana", 5);
+
+		trie.remove("ana", 1);
+		assertEquals(List.of(5), List.copyOf(trie.collect("ana", 10, id -> true)));
+
+		trie.remove("andrea", 2);
+		assertEquals(List.of(3), List.copyOf(trie.collect("andre", 10, id -> true)));
+		trie.remove("andres", 3);
+		assertTrue(trie.collect("and", 10, id -> true).isEmpty());
+
+		// Token o valor inexistente: no cambia nada
+		trie.remove("andrez", 3);
+		trie.remove("an", 99);
+		assertEquals(List.of(4, 5), List.copyOf(trie.collect("an", 10, id -> true)));
+	}
+
+	private static PrefixTrie<Integer> names() {
+		PrefixTrie<Integer> trie = new PrefixTrie<>();
+		trie.add("ana", 1);
+		trie.add("andrea", 2);
+		trie.add("andres", 3);
+		trie.add("an", 4);
+		return trie;
+	}
+}
@@ -0,0 +1,113 @@
+package com.mastergym.backend.events;
+
+import com.mastergym.backend.common.enums.ChangeOperation;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.events.dto.ChangeEvent;
+import com.mastergym.backend.events.dto.ResyncHint;
+import com.mastergym.backend.events.service.ChangeFeedService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "app.events.buffer-size=4")
+@Import(TestMailConfig.class)
+class ChangeFeedTests {
+
+	private static final Long GYM_ID = 9911L;
+
+	@Autowired
+	private ChangeFeedService changeFeedService;
+
+	private final List<ChangeFeedService.Subscription> subscriptions = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() {
+		subscriptions.forEach(ChangeFeedService.Subscription::close);
+	}
+
+	@Test
+	void slowSubscriberDropsOldestAndGetsResyncHint() throws Exception {
+		CountDownLatch sending = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingSink sink = new RecordingSink(sending, release);
+		subscriptions.add(changeFeedService.register(GYM_ID, null, sink));
+
+		changeFeedService.publish(GYM_ID, "payment", 1L, ChangeOperation.CREATED);
+		// El hilo del suscriptor queda bloqueado enviando el primero mientras llegan diez mas
+		assertTrue(sending.await(5, TimeUnit.SECONDS));
+		for (long id = 2; id <= 11; id++) {
+			changeFeedService.publish(GYM_ID, "payment", id, ChangeOperation.CREATED);
+		}
+		release.countDown();
+
+		assertEquals("change payment 1", sink.next());
+		assertEquals("resync overflow", sink.next());
+		// Solo quedan los cuatro mas recientes
+		for (long id = 8; id <= 11; id++) {
+			assertEquals("change payment " + id, sink.next());
+		}
+	}
+
+	@Test
+	void reconnectWithStaleVersionStartsWithResync() throws Exception {
+		changeFeedService.publish(GYM_ID, "client", 1L, ChangeOperation.UPDATED);
+		RecordingSink stale = new RecordingSink(null, null);
+		subscriptions.add(changeFeedService.register(GYM_ID, 0L, stale));
+		assertEquals("resync reconnect", stale.next());
+
+		changeFeedService.publish(GYM_ID, "measurement", 2L, ChangeOperation.DELETED);
+		assertEquals("change measurement 2", stale.next());
+		assertEquals(1, changeFeedService.subscriberCount(GYM_ID));
+	}
+
+	private static final class RecordingSink implements ChangeFeedService.EventSink {
+		private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+		private final CountDownLatch sending;
+		private final CountDownLatch release;
+		private boolean first = true;
+
+		RecordingSink(CountDownLatch sending, CountDownLatch release) {
+			this.sending = sending;
+			this.release = release;
+		}
+
+		@Override
+		public void send(String name, long id, Object data) {
+			if (first && sending != null) {
+				sending.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			first = false;
+			if (data instanceof ChangeEvent change) {
+				received.add(name + " " + change.entity() + " " + change.id());
+			} else if (data instanceof ResyncHint hint) {
+				received.add(name + " " + hint.reason());
+			}
+		}
+
+		@Override
+		public void ping() {
+		}
+
+		String next() throws InterruptedException {
+			String value = received.poll(5, TimeUnit.SECONDS);
+			return value == null ? "timeout" : value;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.mastergym.backend.overview;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.client.service.ClientService;
+import com.mastergym.backend.common.error.ApiErrorResponse;
+import com.mastergym.backend.common.error.GlobalExceptionHandler;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.common.error.ServiceUnavailableException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.measurement.service.MeasurementService;
+import com.mastergym.backend.overview.dto.ClientOverviewResponse;
+import com.mastergym.backend.overview.service.ClientOverviewService;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Sin @Transactional: las consultas del resumen corren en otros hilos con sus propias conexiones
+// y no verian datos sin confirmar; los datos se borran al terminar
+@SpringBootTest
+@Import(TestMailConfig.class)
+class ClientOverviewTests {
+
+	private static final Long GYM_ID = 8121L;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private MeasurementService measurementService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private ClientEntity client;
+
+	@BeforeEach
+	void setUp() {
+		GymContext.setGymId(GYM_ID);
+		client = clientRepository.save(new ClientEntity(GYM_ID, "Elena", "Castro", null, null, null, null));
+		payment("12500", "2025-01-10");
+		payment("12500", "2025-02-10");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM payments WHERE gym_id = ?", GYM_ID);
+		jdbcTemplate.update("DELETE FROM clients WHERE gym_id = ?", GYM_ID);
+		GymContext.clear();
+	}
+
+	@Test
+	void singlePermitStillServesConcurrentOverviews() throws Exception {
+		ClientOverviewService service = service(5000, 1);
+		ExecutorService callers = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<ClientOverviewResponse>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(callers.submit(GymContext.wrap(() -> service.overview(client.getId(), 5))));
+			}
+			for (Future<ClientOverviewResponse> result : results) {
+				ClientOverviewResponse overview = result.get(10, TimeUnit.SECONDS);
+				assertEquals(client.getId(), overview.client().getId());
+				assertEquals(2, overview.ultimosPagos().size());
+				assertEquals(0, new BigDecimal("25000").compareTo(overview.totalPagado().get(PaymentCurrency.CRC)));
+			}
+		} finally {
+			callers.shutdownNow();
+			service.shutdown();
+		}
+	}
+
+	@Test
+	void missingClientKeepsItsOwnError() {
+		ClientOverviewService service = service(5000, 2);
+		try {
+			assertThrows(NotFoundException.class, () -> service.overview(-1L, 5));
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	void timeoutIsReportedAsServiceUnavailable() {
+		ClientOverviewService service = service(0, 1);
+		ServiceUnavailableException ex;
+		try {
+			ex = assertThrows(ServiceUnavailableException.class, () -> service.overview(client.getId(), 5));
+		} finally {
+			service.shutdown();
+		}
+
+		ResponseEntity<ApiErrorResponse> response = new GlobalExceptionHandler()
+				.handleUnavailable(ex, new MockHttpServletRequest("GET", "/api/clients/" + client.getId() + "/overview"));
+		assertEquals(503, response.getStatusCode().value());
+		assertEquals(503, response.getBody().status());
+		assertEquals(ex.getMessage(), response.getBody().message());
+	}
+
+	private ClientOverviewService service(long timeoutMs, int maxConcurrentQueries) {
+		return new ClientOverviewService(clientService, paymentService, measurementService, timeoutMs, maxConcurrentQueries, 10);
+	}
+
+	private void payment(String amount, String date) {
+		paymentRepository.save(new PaymentEntity(GYM_ID, client, new BigDecimal(amount), PaymentCurrency.CRC,
+				PaymentMethod.CASH, PaymentType.OTHER, PaymentStatus.PAID, null, null, LocalDate.parse(date)));
+	}
+}
@@ -0,0 +1,144 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.MembershipLedgerRebuildResponse;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.dto.PaymentUpdateRequest;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.MembershipLedgerService;
+import com.mastergym.backend.payment.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class MembershipLedgerTests {
+
+	private static final Long GYM_ID = 9501L;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private MembershipLedgerService membershipLedgerService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private ClientEntity client;
+
+	@BeforeEach
+	void setUp() {
+		client = clientRepository.save(new ClientEntity(GYM_ID, "Laura", "Jimenez", null, null, null, null));
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void editAndDeleteRecomputeLaterPeriods() {
+		Long first = paymentService.create(monthly("2025-01-10")).getId();
+		paymentService.create(monthly("2025-03-01"));
+		// Hubo un corte: el segundo periodo arranca en la fecha del pago
+		assertMembership("2025-03-01", "2025-04-01");
+
+		PaymentUpdateRequest move = new PaymentUpdateRequest();
+		move.setPaymentDate(LocalDate.parse("2025-02-05"));
+		paymentService.update(first, move);
+		// Ahora el primero vence el 2025-03-05 y el segundo se encadena
+		assertMembership("2025-02-05", "2025-04-05");
+		assertEquals(2, countPeriods());
+
+		paymentService.delete(first);
+		assertMembership("2025-03-01", "2025-04-01");
+		assertEquals(1, countPeriods());
+	}
+
+	@Test
+	void cancellingPaymentShortensMembership() {
+		paymentService.create(monthly("2025-05-01"));
+		Long second = paymentService.create(monthly("2025-05-20")).getId();
+		assertMembership("2025-05-01", "2025-07-01");
+
+		PaymentUpdateRequest cancel = new PaymentUpdateRequest();
+		cancel.setStatus(PaymentStatus.CANCELLED);
+		paymentService.update(second, cancel);
+		assertMembership("2025-05-01", "2025-06-01");
+	}
+
+	@Test
+	void rebuildDerivesDatesFromPayments() {
+		// Pagos insertados sin pasar por PaymentService: el cliente no tiene fechas
+		save("2025-01-10", PaymentType.MONTHLY_MEMBERSHIP);
+		save("2025-02-10", PaymentType.QUARTERLY_MEMBERSHIP);
+		save("2025-02-11", PaymentType.REGISTRATION);
+		assertNull(clientRepository.findById(client.getId()).orElseThrow().getFechaVencimiento());
+
+		MembershipLedgerRebuildResponse result = membershipLedgerService.rebuild(GYM_ID, true);
+
+		assertEquals(1, result.clients());
+		assertEquals(2, result.periods());
+		assertEquals(1, result.clientsUpdated());
+		LocalDate vencimiento = jdbcTemplate.queryForObject(
+				"SELECT fecha_vencimiento FROM clients WHERE id = ?", LocalDate.class, client.getId());
+		assertEquals(LocalDate.parse("2025-05-10"), vencimiento);
+	}
+
+	private PaymentRequest monthly(String date) {
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(client.getId());
+		request.setAmount(new BigDecimal("12500"));
+		request.setPaymentMethod(PaymentMethod.CASH);
+		request.setPaymentType(PaymentType.MONTHLY_MEMBERSHIP);
+		request.setPaymentDate(LocalDate.parse(date));
+		return request;
+	}
+
+	private void save(String date, PaymentType type) {
+		paymentRepository.save(new PaymentEntity(GYM_ID, client, new BigDecimal("12500"), PaymentCurrency.CRC,
+				PaymentMethod.CASH, type, PaymentStatus.PAID, null, null, LocalDate.parse(date)));
+	}
+
+	private void assertMembership(String inicio, String vencimiento) {
+		ClientEntity current = clientRepository.findById(client.getId()).orElseThrow();
+		assertEquals(LocalDate.parse(inicio), current.getFechaInicioMembresia());
+		assertEquals(LocalDate.parse(vencimiento), current.getFechaVencimiento());
+	}
+
+	private int countPeriods() {
+		Integer count = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM membership_periods WHERE client_id = ? AND payment_id IS NOT NULL",
+				Integer.class, client.getId());
+		return count == null ? 0 : count;
+	}
+}
@@ -0,0 +1,102 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentBatchResponse;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.service.PaymentBatchService;
+import com.mastergym.backend.payment.service.PaymentRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class PaymentBatchTests {
+
+	private static final Long GYM_ID = 9201L;
+
+	@Autowired
+	private PaymentBatchService paymentBatchService;
+
+	@Autowired
+	private PaymentRollupService paymentRollupService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long clientId;
+
+	@BeforeEach
+	void setUp() {
+		clientId = clientRepository.save(new ClientEntity(GYM_ID, "Pedro", "Vargas", null, null, null, null)).getId();
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void renewsInRequestOrderAndReportsEachItem() {
+		LocalDate today = LocalDate.now();
+		PaymentRequest invalid = request(clientId, today);
+		invalid.setAmount(null);
+
+		PaymentBatchResponse response = paymentBatchService.createBatch(List.of(
+				request(clientId, today),
+				invalid,
+				request(999_999L, today),
+				request(clientId, today)
+		));
+
+		assertEquals(4, response.total());
+		assertEquals(2, response.created());
+		assertEquals(2, response.failed());
+		assertTrue(response.items().get(0).created());
+		assertNotNull(response.items().get(0).paymentId());
+		assertFalse(response.items().get(1).created());
+		assertFalse(response.items().get(2).created());
+
+		assertEquals(today.plusMonths(1), response.items().get(0).fechaVencimiento());
+		assertEquals(today.plusMonths(2), response.items().get(3).fechaVencimiento());
+		LocalDate stored = jdbcTemplate.queryForObject(
+				"SELECT fecha_vencimiento FROM clients WHERE id = ?", LocalDate.class, clientId);
+		assertEquals(today.plusMonths(2), stored);
+
+		assertTrue(paymentRollupService.check(GYM_ID, null, null).consistent());
+	}
+
+	private static PaymentRequest request(Long clientId, LocalDate date) {
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(clientId);
+		request.setAmount(new BigDecimal("15000"));
+		request.setPaymentMethod(PaymentMethod.CASH);
+		request.setPaymentType(PaymentType.MONTHLY_MEMBERSHIP);
+		request.setPaymentDate(date);
+		return request;
+	}
+}
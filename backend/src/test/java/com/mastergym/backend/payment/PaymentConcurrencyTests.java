@@ -0,0 +1,109 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Sin @Transactional: cada pago confirma en su propia transaccion, como en dos cajas a la vez.
+// Corre con el limite de reintentos por defecto: 8 pagos simultaneos necesitan a lo sumo 8 intentos
+@SpringBootTest
+@Import(TestMailConfig.class)
+class PaymentConcurrencyTests {
+
+	private static final Long GYM_ID = 9601L;
+	private static final int PARALLEL_PAYMENTS = 8;
+	private static final LocalDate PAYMENT_DATE = LocalDate.parse("2025-01-10");
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+		for (String table : List.of("membership_periods", "payment_daily_rollup", "payments", "clients")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE gym_id = ?", GYM_ID);
+		}
+	}
+
+	@Test
+	void parallelPaymentsForOneClientKeepEveryExtension() throws Exception {
+		Long clientId = clientRepository.save(new ClientEntity(GYM_ID, "Andrea", "Mora", null, null, null, null)).getId();
+
+		// Un primer pago en serie deja creadas la fila del rollup y el primer periodo
+		GymContext.setGymId(GYM_ID);
+		paymentService.create(monthly(clientId));
+		GymContext.clear();
+
+		ExecutorService pool = Executors.newFixedThreadPool(PARALLEL_PAYMENTS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<PaymentResponse>> futures = new ArrayList<>();
+			for (int i = 0; i < PARALLEL_PAYMENTS; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					GymContext.setGymId(GYM_ID);
+					try {
+						return paymentService.create(monthly(clientId));
+					} finally {
+						GymContext.clear();
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<PaymentResponse> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		// Todos los pagos tienen la misma fecha: cada uno encadena un mes sobre el anterior
+		LocalDate vencimiento = jdbcTemplate.queryForObject(
+				"SELECT fecha_vencimiento FROM clients WHERE id = ?", LocalDate.class, clientId);
+		assertEquals(PAYMENT_DATE.plusMonths(PARALLEL_PAYMENTS + 1), vencimiento);
+		Integer periods = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM membership_periods WHERE client_id = ? AND payment_id IS NOT NULL",
+				Integer.class, clientId);
+		assertEquals(PARALLEL_PAYMENTS + 1, periods);
+	}
+
+	private static PaymentRequest monthly(Long clientId) {
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(clientId);
+		request.setAmount(new BigDecimal("12500"));
+		request.setPaymentMethod(PaymentMethod.CASH);
+		request.setPaymentType(PaymentType.MONTHLY_MEMBERSHIP);
+		request.setPaymentDate(PAYMENT_DATE);
+		return request;
+	}
+}
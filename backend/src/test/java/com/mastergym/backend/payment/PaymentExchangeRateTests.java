@@ -0,0 +1,160 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.exchange.dto.ExchangeRateRequest;
+import com.mastergym.backend.exchange.dto.ExchangeRateResponse;
+import com.mastergym.backend.exchange.dto.NormalizedTotal;
+import com.mastergym.backend.exchange.service.ExchangeRateCatalog;
+import com.mastergym.backend.exchange.service.ExchangeRateService;
+import com.mastergym.backend.payment.dto.PaymentNormalizedRow;
+import com.mastergym.backend.payment.dto.PaymentSummaryResponse;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.PaymentRollupService;
+import com.mastergym.backend.payment.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class PaymentExchangeRateTests {
+
+	private static final Long GYM_ID = 9701L;
+
+	@Autowired
+	private ExchangeRateService exchangeRateService;
+
+	@Autowired
+	private ExchangeRateCatalog exchangeRateCatalog;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PaymentRollupService paymentRollupService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	private ClientEntity client;
+
+	// La invalidacion de la tabla de tasas ocurre despues del commit y estos tests terminan en rollback
+	@BeforeEach
+	void setUp() {
+		exchangeRateCatalog.invalidate(GYM_ID);
+		GymContext.setGymId(GYM_ID);
+		client = clientRepository.save(new ClientEntity(GYM_ID, "Carla", "Vargas", null, null, null, null));
+		exchangeRateService.create(rate(PaymentCurrency.USD, "2025-01-01", "510"));
+		exchangeRateService.create(rate(PaymentCurrency.USD, "2025-02-15", "505"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void lookupUsesRateInForceOnPaymentDate() {
+		assertEquals(Optional.empty(), rateOn("2024-12-31"));
+		assertRate("510", rateOn("2025-01-01"));
+		assertRate("510", rateOn("2025-02-14"));
+		assertRate("505", rateOn("2025-02-15"));
+		assertRate("505", rateOn("2026-06-30"));
+		assertRate("1", exchangeRateCatalog.rateOn(GYM_ID, PaymentCurrency.CRC, LocalDate.parse("2020-01-01")));
+
+		ExchangeRateResponse february = exchangeRateService.list(PaymentCurrency.USD).get(1);
+		exchangeRateService.update(february.id(), rate(PaymentCurrency.USD, "2025-02-10", "507.25"));
+		exchangeRateCatalog.invalidate(GYM_ID);
+		assertRate("510", rateOn("2025-02-09"));
+		assertRate("507.25", rateOn("2025-02-10"));
+	}
+
+	@Test
+	void summaryAndClientTotalNormalizeEachPaymentAtItsDate() {
+		save("15000", PaymentCurrency.CRC, "2025-01-10");
+		save("30", PaymentCurrency.USD, "2025-02-10");
+		save("20", PaymentCurrency.USD, "2025-02-20");
+		// Sin tasa cargada a esa fecha: se informa y no suma
+		save("10", PaymentCurrency.USD, "2024-12-20");
+		paymentRollupService.rebuild(GYM_ID, null, null);
+
+		PaymentSummaryResponse summary = paymentService.summary(
+				LocalDate.parse("2024-12-01"), LocalDate.parse("2025-02-28"), PaymentSummaryGroup.MONTH, true);
+
+		assertEquals(PaymentCurrency.CRC, summary.baseCurrency());
+		List<PaymentNormalizedRow> groups = summary.normalizedGroups();
+		assertEquals(List.of("2024-12", "2025-01", "2025-02"), groups.stream().map(PaymentNormalizedRow::group).toList());
+		assertEquals(1, groups.get(0).unconvertedCount());
+		assertAmount("0", groups.get(0).total());
+		assertAmount("15000", groups.get(1).total());
+		// 30 * 510 + 20 * 505
+		assertAmount("25400", groups.get(2).total());
+		assertAmount("40400", summary.normalizedTotal().total());
+		assertEquals(4, summary.normalizedTotal().count());
+
+		NormalizedTotal clientTotal = paymentService.totalPaidNormalized(client.getId());
+		assertAmount("40400", clientTotal.total());
+		assertEquals(1, clientTotal.unconvertedCount());
+	}
+
+	@Test
+	void baseCurrencyDoesNotTakeRates() {
+		assertThrows(BadRequestException.class,
+				() -> exchangeRateService.create(rate(PaymentCurrency.CRC, "2025-01-01", "1")));
+		assertThrows(BadRequestException.class,
+				() -> exchangeRateService.create(rate(PaymentCurrency.USD, "2025-01-01", "512")));
+	}
+
+	private Optional<BigDecimal> rateOn(String date) {
+		return exchangeRateCatalog.rateOn(GYM_ID, PaymentCurrency.USD, LocalDate.parse(date));
+	}
+
+	private void save(String amount, PaymentCurrency currency, String date) {
+		paymentRepository.save(new PaymentEntity(GYM_ID, client, new BigDecimal(amount), currency,
+				PaymentMethod.CASH, PaymentType.OTHER, PaymentStatus.PAID, null, null, LocalDate.parse(date)));
+	}
+
+	private static void assertRate(String expected, Optional<BigDecimal> actual) {
+		assertTrue(actual.isPresent());
+		assertAmount(expected, actual.get());
+	}
+
+	private static void assertAmount(String expected, BigDecimal actual) {
+		assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "esperado " + expected + ", obtenido " + actual);
+	}
+
+	private static ExchangeRateRequest rate(PaymentCurrency currency, String date, String value) {
+		ExchangeRateRequest request = new ExchangeRateRequest();
+		request.setCurrency(currency);
+		request.setEffectiveDate(LocalDate.parse(date));
+		request.setRate(new BigDecimal(value));
+		return request;
+	}
+}
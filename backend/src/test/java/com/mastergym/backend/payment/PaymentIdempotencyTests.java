@@ -0,0 +1,114 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.error.ConflictException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.common.idempotency.IdempotencyService;
+import com.mastergym.backend.common.idempotency.IdempotentResult;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class PaymentIdempotencyTests {
+
+	private static final Long GYM_ID = 9301L;
+	private static final String SCOPE = "POST /api/payments";
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Long clientId;
+
+	@BeforeEach
+	void setUp() {
+		clientId = clientRepository.save(new ClientEntity(GYM_ID, "Sofia", "Arias", null, null, null, null)).getId();
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void replayReturnsOriginalPaymentWithoutCreatingAnother() {
+		PaymentRequest request = request("15000");
+
+		IdempotentResult<PaymentResponse> first = create("retry-1", request);
+		IdempotentResult<PaymentResponse> second = create("retry-1", request);
+
+		assertFalse(first.replayed());
+		assertTrue(second.replayed());
+		assertEquals(first.body().getId(), second.body().getId());
+		assertEquals(LocalDate.now().plusMonths(1), clientRepository.findById(clientId).orElseThrow().getFechaVencimiento());
+		assertEquals(1, countPayments());
+	}
+
+	@Test
+	void reusingKeyWithDifferentBodyIsRejected() {
+		create("retry-2", request("15000"));
+
+		assertThrows(ConflictException.class, () -> create("retry-2", request("20000")));
+		assertEquals(1, countPayments());
+	}
+
+	@Test
+	void requestsWithoutKeyAreNotDeduplicated() {
+		PaymentRequest request = request("15000");
+		create(null, request);
+		create(null, request);
+
+		assertEquals(2, countPayments());
+	}
+
+	private IdempotentResult<PaymentResponse> create(String key, PaymentRequest request) {
+		return idempotencyService.execute(key, SCOPE, request, PaymentResponse.class, () -> paymentService.create(request));
+	}
+
+	private long countPayments() {
+		Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payments WHERE client_id = ?", Long.class, clientId);
+		return count == null ? 0 : count;
+	}
+
+	private PaymentRequest request(String amount) {
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(clientId);
+		request.setAmount(new BigDecimal(amount));
+		request.setPaymentMethod(PaymentMethod.CASH);
+		request.setPaymentType(PaymentType.MONTHLY_MEMBERSHIP);
+		request.setPaymentDate(LocalDate.now());
+		return request;
+	}
+}
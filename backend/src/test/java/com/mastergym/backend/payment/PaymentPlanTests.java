@@ -0,0 +1,171 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.dto.PaymentSummaryResponse;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.PaymentPlanMigrationService;
+import com.mastergym.backend.payment.service.PaymentRollupService;
+import com.mastergym.backend.payment.service.PaymentService;
+import com.mastergym.backend.plan.dto.MembershipPlanRequest;
+import com.mastergym.backend.plan.dto.MembershipPlanResponse;
+import com.mastergym.backend.plan.repository.MembershipPlanRepository;
+import com.mastergym.backend.plan.service.MembershipPlanCatalog;
+import com.mastergym.backend.plan.service.MembershipPlanService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class PaymentPlanTests {
+
+	private static final Long GYM_ID = 9401L;
+	private static final Long LEGACY_GYM_ID = 9402L;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private MembershipPlanService membershipPlanService;
+
+	@Autowired
+	private MembershipPlanCatalog membershipPlanCatalog;
+
+	@Autowired
+	private PaymentPlanMigrationService paymentPlanMigrationService;
+
+	@Autowired
+	private PaymentRollupService paymentRollupService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private MembershipPlanRepository membershipPlanRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// La invalidacion del catalogo ocurre despues del commit y estos tests terminan en rollback
+	@BeforeEach
+	void setUp() {
+		membershipPlanCatalog.invalidate(GYM_ID);
+		membershipPlanCatalog.invalidate(LEGACY_GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void planSetsPriceRenewalAndRevenueGroup() {
+		GymContext.setGymId(GYM_ID);
+		ClientEntity client = clientRepository.save(new ClientEntity(GYM_ID, "Sofia", "Rojas", null, null, null, null));
+		MembershipPlanResponse plan = membershipPlanService.create(planRequest("Bimestral", 2, "24000"));
+
+		LocalDate today = LocalDate.now();
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(client.getId());
+		request.setPlanId(plan.id());
+		request.setPaymentMethod(PaymentMethod.SINPE);
+		request.setPaymentType(PaymentType.OTHER);
+		request.setPaymentDate(today);
+		PaymentResponse created = paymentService.create(request);
+
+		assertEquals(0, new BigDecimal("24000").compareTo(created.getAmount()));
+		assertEquals(PaymentCurrency.CRC, created.getCurrency());
+		assertEquals(plan.id(), created.getPlanId());
+		assertEquals(today.plusMonths(2), clientRepository.findById(client.getId()).orElseThrow().getFechaVencimiento());
+
+		PaymentSummaryResponse summary = paymentService.summary(today, today, PaymentSummaryGroup.PLAN);
+		assertEquals(1, summary.groups().size());
+		assertEquals("Bimestral", summary.groups().get(0).group());
+		assertTrue(paymentRollupService.check(GYM_ID, null, null).consistent());
+	}
+
+	@Test
+	void rejectsPlanFromAnotherGym() {
+		GymContext.setGymId(LEGACY_GYM_ID);
+		MembershipPlanResponse foreign = membershipPlanService.create(planRequest("Mensual", 1, "12500"));
+
+		GymContext.setGymId(GYM_ID);
+		ClientEntity client = clientRepository.save(new ClientEntity(GYM_ID, "Mario", "Solis", null, null, null, null));
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(client.getId());
+		request.setPlanId(foreign.id());
+		request.setPaymentMethod(PaymentMethod.CASH);
+		request.setPaymentType(PaymentType.MONTHLY_MEMBERSHIP);
+		request.setPaymentDate(LocalDate.now());
+
+		assertThrows(BadRequestException.class, () -> paymentService.create(request));
+	}
+
+	@Test
+	void migrationCreatesDefaultPlansAndMapsHistoricalNotes() {
+		ClientEntity client = clientRepository.save(new ClientEntity(LEGACY_GYM_ID, "Rosa", "Campos", null, null, null, null));
+		PaymentEntity byNotes = save(client, PaymentType.OTHER, "Pago en efectivo. tipoPago: trimestral");
+		PaymentEntity byType = save(client, PaymentType.ANNUAL_MEMBERSHIP, null);
+		PaymentEntity unrelated = save(client, PaymentType.REGISTRATION, "Inscripcion");
+		paymentRollupService.rebuild(LEGACY_GYM_ID, null, null);
+
+		assertEquals(2, paymentPlanMigrationService.migrate(LEGACY_GYM_ID));
+
+		assertEquals(5, membershipPlanRepository.findByGymIdOrderByNameAsc(LEGACY_GYM_ID).size());
+		assertEquals("Trimestral", planNameOf(byNotes.getId()));
+		assertEquals("Anual", planNameOf(byType.getId()));
+		assertNull(planNameOf(unrelated.getId()));
+		assertTrue(paymentRollupService.check(LEGACY_GYM_ID, null, null).consistent());
+
+		// Reejecutarla no vuelve a tocar pagos ya migrados
+		assertEquals(0, paymentPlanMigrationService.migrate(LEGACY_GYM_ID));
+	}
+
+	private PaymentEntity save(ClientEntity client, PaymentType type, String notes) {
+		return paymentRepository.save(new PaymentEntity(client.getGymId(), client, new BigDecimal("10000"),
+				PaymentCurrency.CRC, PaymentMethod.CASH, type, PaymentStatus.PAID, null, notes, LocalDate.parse("2024-06-01")));
+	}
+
+	private String planNameOf(Long paymentId) {
+		return jdbcTemplate.queryForObject("""
+				SELECT m.name FROM payments p LEFT JOIN membership_plans m ON m.id = p.plan_id WHERE p.id = ?
+				""", String.class, paymentId);
+	}
+
+	private static MembershipPlanRequest planRequest(String name, int months, String price) {
+		MembershipPlanRequest request = new MembershipPlanRequest();
+		request.setName(name);
+		request.setDurationMonths(months);
+		request.setPrice(new BigDecimal(price));
+		return request;
+	}
+}
@@ -0,0 +1,105 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.error.NotFoundException;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.receipt.PaymentReceipt;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.PaymentReceiptService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Con 2 hilos el lote de 6 recibos pasa varias veces por la ventana de recibos en vuelo
+@SpringBootTest(properties = "app.payments.receipts.workers=2")
+@Import(TestMailConfig.class)
+@Transactional
+class PaymentReceiptTests {
+
+	private static final Long GYM_ID = 9901L;
+
+	@Autowired
+	private PaymentReceiptService paymentReceiptService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Test
+	void singleReceiptIsPdf() {
+		Long id = saveClientPayments(1).get(0);
+
+		assertPdf(paymentReceiptService.receiptPdf(GYM_ID, id));
+	}
+
+	@Test
+	void batchZipHasOnePdfPerPayment() throws Exception {
+		List<Long> ids = saveClientPayments(6);
+		List<PaymentReceipt> receipts = paymentReceiptService.load(GYM_ID, ids);
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		paymentReceiptService.writeZip(receipts, output);
+
+		Set<String> names = new HashSet<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				names.add(entry.getName());
+				assertPdf(zip.readAllBytes());
+			}
+		}
+		Set<String> expected = new HashSet<>();
+		ids.forEach(id -> expected.add("recibo_" + id + ".pdf"));
+		assertEquals(expected, names);
+	}
+
+	@Test
+	void unknownPaymentFailsBeforeStreaming() {
+		List<Long> ids = new ArrayList<>(saveClientPayments(1));
+		ids.add(-1L);
+
+		assertThrows(NotFoundException.class, () -> paymentReceiptService.load(GYM_ID, ids));
+	}
+
+	private List<Long> saveClientPayments(int count) {
+		ClientEntity client = clientRepository.save(new ClientEntity(GYM_ID, "Sofia", "Rojas", "101110111", null, null, null));
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ids.add(paymentRepository.save(new PaymentEntity(GYM_ID, client, new BigDecimal("12500"), PaymentCurrency.CRC,
+					PaymentMethod.SINPE, PaymentType.MONTHLY_MEMBERSHIP, PaymentStatus.PAID, "REF-" + i, null,
+					LocalDate.parse("2025-01-10").plusMonths(i))).getId());
+		}
+		return ids;
+	}
+
+	private static void assertPdf(byte[] pdf) {
+		assertTrue(pdf.length > 0);
+		assertEquals("%PDF", new String(pdf, 0, 4, StandardCharsets.US_ASCII));
+	}
+}
@@ -0,0 +1,134 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentRequest;
+import com.mastergym.backend.payment.dto.PaymentResponse;
+import com.mastergym.backend.payment.dto.PaymentRollupCheckResponse;
+import com.mastergym.backend.payment.dto.PaymentSummaryRow;
+import com.mastergym.backend.payment.dto.PaymentUpdateRequest;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.service.PaymentRollupService;
+import com.mastergym.backend.payment.service.PaymentService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class PaymentRollupTests {
+
+	private static final Long GYM_ID = 9101L;
+	private static final LocalDate FROM = LocalDate.parse("2025-03-01");
+	private static final LocalDate TO = LocalDate.parse("2025-03-31");
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PaymentRollupService paymentRollupService;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	private Long clientId;
+
+	@BeforeEach
+	void setUp() {
+		clientId = clientRepository.save(new ClientEntity(GYM_ID, "Marta", "Rojas", null, null, null, null)).getId();
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void createUpdateAndDeleteKeepRollupConsistent() {
+		PaymentResponse first = paymentService.create(request("10000", PaymentMethod.CASH, "2025-03-05"));
+		PaymentResponse second = paymentService.create(request("2500", PaymentMethod.CASH, "2025-03-05"));
+		paymentService.create(request("4000", PaymentMethod.SINPE, "2025-03-06"));
+		assertEquals(List.of(total("16500", 3)), totals());
+
+		PaymentUpdateRequest move = new PaymentUpdateRequest();
+		move.setPaymentDate(LocalDate.parse("2025-03-20"));
+		move.setAmount(new BigDecimal("3000"));
+		paymentService.update(second.getId(), move);
+		assertEquals(List.of(total("17000", 3)), totals());
+
+		PaymentUpdateRequest cancel = new PaymentUpdateRequest();
+		cancel.setStatus(PaymentStatus.CANCELLED);
+		paymentService.update(first.getId(), cancel);
+		assertEquals(List.of(total("7000", 2)), totals());
+
+		paymentService.delete(second.getId());
+		assertEquals(List.of(total("4000", 1)), totals());
+
+		// Los cambios JPA pendientes deben llegar a la base antes del chequeo por SQL
+		entityManager.flush();
+		assertTrue(paymentRollupService.check(GYM_ID, null, null).consistent());
+	}
+
+	@Test
+	void checkDetectsDriftAndRebuildRepairsIt() {
+		paymentService.create(request("10000", PaymentMethod.CASH, "2025-03-05"));
+		jdbcTemplate.update("UPDATE payment_daily_rollup SET total = total + 1 WHERE gym_id = ?", GYM_ID);
+
+		PaymentRollupCheckResponse drift = paymentRollupService.check(GYM_ID, FROM, TO);
+		assertFalse(drift.consistent());
+		assertEquals(1, drift.mismatchCount());
+		assertEquals(LocalDate.parse("2025-03-05"), drift.mismatches().get(0).date());
+
+		paymentRollupService.rebuild(GYM_ID, FROM, TO);
+		assertTrue(paymentRollupService.check(GYM_ID, FROM, TO).consistent());
+		assertEquals(List.of(total("10000", 1)), totals());
+	}
+
+	private List<PaymentSummaryRow> totals() {
+		return paymentService.summary(FROM, TO, PaymentSummaryGroup.MONTH).totals().stream()
+				.map(r -> new PaymentSummaryRow(r.group(), r.currency(), r.total().stripTrailingZeros(), r.count()))
+				.toList();
+	}
+
+	private static PaymentSummaryRow total(String amount, long count) {
+		return new PaymentSummaryRow("total", PaymentCurrency.CRC, new BigDecimal(amount).stripTrailingZeros(), count);
+	}
+
+	private PaymentRequest request(String amount, PaymentMethod method, String date) {
+		PaymentRequest request = new PaymentRequest();
+		request.setClientId(clientId);
+		request.setAmount(new BigDecimal(amount));
+		request.setPaymentMethod(method);
+		request.setPaymentType(PaymentType.REGISTRATION);
+		request.setPaymentDate(LocalDate.parse(date));
+		return request;
+	}
+}
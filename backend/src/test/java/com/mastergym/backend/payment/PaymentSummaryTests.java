@@ -0,0 +1,160 @@
+package com.mastergym.backend.payment;
+
+import com.mastergym.backend.client.model.ClientEntity;
+import com.mastergym.backend.client.repository.ClientRepository;
+import com.mastergym.backend.common.error.BadRequestException;
+import com.mastergym.backend.common.gym.GymContext;
+import com.mastergym.backend.config.TestMailConfig;
+import com.mastergym.backend.payment.dto.PaymentSummaryResponse;
+import com.mastergym.backend.payment.dto.PaymentSummaryRow;
+import com.mastergym.backend.payment.enums.PaymentCurrency;
+import com.mastergym.backend.payment.enums.PaymentMethod;
+import com.mastergym.backend.payment.enums.PaymentStatus;
+import com.mastergym.backend.payment.enums.PaymentSummaryGroup;
+import com.mastergym.backend.payment.enums.PaymentType;
+import com.mastergym.backend.payment.model.PaymentEntity;
+import com.mastergym.backend.payment.repository.PaymentRepository;
+import com.mastergym.backend.payment.service.PaymentRollupService;
+import com.mastergym.backend.payment.service.PaymentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Import(TestMailConfig.class)
+@Transactional
+class PaymentSummaryTests {
+
+	private static final Long GYM_ID = 9001L;
+	private static final Long OTHER_GYM_ID = 9002L;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private PaymentRollupService paymentRollupService;
+
+	@Autowired
+	private PaymentRepository paymentRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@BeforeEach
+	void setUp() {
+		ClientEntity client = clientRepository.save(new ClientEntity(GYM_ID, "Ana", "Mora", null, null, null, null));
+		ClientEntity other = clientRepository.save(new ClientEntity(OTHER_GYM_ID, "Luis", "Soto", null, null, null, null));
+
+		save(client, "15000", PaymentCurrency.CRC, PaymentMethod.CASH, PaymentType.MONTHLY_MEMBERSHIP, PaymentStatus.PAID, "2025-01-10");
+		save(client, "5000", PaymentCurrency.CRC, PaymentMethod.SINPE, PaymentType.REGISTRATION, PaymentStatus.PAID, "2025-01-10");
+		save(client, "15000", PaymentCurrency.CRC, PaymentMethod.SINPE, PaymentType.MONTHLY_MEMBERSHIP, PaymentStatus.PAID, "2025-02-10");
+		save(client, "30.50", PaymentCurrency.USD, PaymentMethod.CARD, PaymentType.MONTHLY_MEMBERSHIP, PaymentStatus.PAID, "2025-02-11");
+		// Excluidos: estado distinto de PAID, fuera de rango u otro gym
+		save(client, "99999", PaymentCurrency.CRC, PaymentMethod.CASH, PaymentType.OTHER, PaymentStatus.CANCELLED, "2025-01-15");
+		save(client, "15000", PaymentCurrency.CRC, PaymentMethod.CASH, PaymentType.MONTHLY_MEMBERSHIP, PaymentStatus.PAID, "2024-12-31");
+		save(other, "77777", PaymentCurrency.CRC, PaymentMethod.CASH, PaymentType.OTHER, PaymentStatus.PAID, "2025-01-10");
+
+		// Filas insertadas sin pasar por PaymentService: el rollup se genera con el rebuild
+		paymentRollupService.rebuild(GYM_ID, null, null);
+		paymentRollupService.rebuild(OTHER_GYM_ID, null, null);
+		GymContext.setGymId(GYM_ID);
+	}
+
+	@AfterEach
+	void tearDown() {
+		GymContext.clear();
+	}
+
+	@Test
+	void groupsByDayOnlyPaidPaymentsInRange() {
+		PaymentSummaryResponse summary = paymentService.summary(
+				LocalDate.parse("2025-01-01"), LocalDate.parse("2025-12-31"), PaymentSummaryGroup.DAY);
+
+		assertEquals(List.of(
+				row("2025-01-10", PaymentCurrency.CRC, "20000", 2),
+				row("2025-02-10", PaymentCurrency.CRC, "15000", 1),
+				row("2025-02-11", PaymentCurrency.USD, "30.50", 1)
+		), normalized(summary.groups()));
+	}
+
+	@Test
+	void groupsByMonthAndKeepsCurrenciesApart() {
+		PaymentSummaryResponse summary = paymentService.summary(
+				LocalDate.parse("2025-01-01"), LocalDate.parse("2025-12-31"), PaymentSummaryGroup.MONTH);
+
+		assertEquals(List.of(
+				row("2025-01", PaymentCurrency.CRC, "20000", 2),
+				row("2025-02", PaymentCurrency.CRC, "15000", 1),
+				row("2025-02", PaymentCurrency.USD, "30.50", 1)
+		), normalized(summary.groups()));
+		assertEquals(List.of(
+				row("total", PaymentCurrency.CRC, "35000", 3),
+				row("total", PaymentCurrency.USD, "30.50", 1)
+		), normalized(summary.totals()));
+	}
+
+	@Test
+	void groupsByMethodTypeAndCurrency() {
+		LocalDate from = LocalDate.parse("2025-01-01");
+		LocalDate to = LocalDate.parse("2025-12-31");
+
+		assertEquals(List.of(
+				row("CARD", PaymentCurrency.USD, "30.50", 1),
+				row("CASH", PaymentCurrency.CRC, "15000", 1),
+				row("SINPE", PaymentCurrency.CRC, "20000", 2)
+		), normalized(paymentService.summary(from, to, PaymentSummaryGroup.METHOD).groups()));
+
+		assertEquals(List.of(
+				row("MONTHLY_MEMBERSHIP", PaymentCurrency.CRC, "30000", 2),
+				row("MONTHLY_MEMBERSHIP", PaymentCurrency.USD, "30.50", 1),
+				row("REGISTRATION", PaymentCurrency.CRC, "5000", 1)
+		), normalized(paymentService.summary(from, to, PaymentSummaryGroup.TYPE).groups()));
+
+		assertEquals(List.of(
+				row("CRC", PaymentCurrency.CRC, "35000", 3),
+				row("USD", PaymentCurrency.USD, "30.50", 1)
+		), normalized(paymentService.summary(from, to, PaymentSummaryGroup.CURRENCY).groups()));
+	}
+
+	@Test
+	void emptyRangeReturnsNoGroups() {
+		PaymentSummaryResponse summary = paymentService.summary(
+				LocalDate.parse("2030-01-01"), LocalDate.parse("2030-01-31"), PaymentSummaryGroup.DAY);
+
+		assertEquals(List.of(), summary.groups());
+		assertEquals(List.of(), summary.totals());
+	}
+
+	@Test
+	void rejectsUnknownGroupBy() {
+		assertThrows(BadRequestException.class, () -> PaymentSummaryGroup.from("week"));
+	}
+
+	private void save(ClientEntity client, String amount, PaymentCurrency currency, PaymentMethod method,
+					  PaymentType type, PaymentStatus status, String date) {
+		paymentRepository.save(new PaymentEntity(client.getGymId(), client, new BigDecimal(amount), currency,
+				method, type, status, null, null, LocalDate.parse(date)));
+	}
+
+	private static PaymentSummaryRow row(String group, PaymentCurrency currency, String total, long count) {
+		return new PaymentSummaryRow(group, currency, new BigDecimal(total).stripTrailingZeros(), count);
+	}
+
+	// BigDecimal.equals compara la escala: se normaliza para comparar solo el valor
+	private static List<PaymentSummaryRow> normalized(List<PaymentSummaryRow> rows) {
+		return rows.stream()
+				.map(r -> new PaymentSummaryRow(r.group(), r.currency(), r.total().stripTrailingZeros(), r.count()))
+				.toList();
+	}
+}
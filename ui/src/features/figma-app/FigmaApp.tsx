@@ -13,7 +13,6 @@ import { apiGet, apiLogin, apiSend, getAuthToken, setAuthToken } from "@/lib/api
 import type {
   ClientCreateRequest,
   ClientResponse,
-  ClientStatus,
   ClientUpdateRequest,
   MeasurementCreateRequest,
   MeasurementResponse,
@@ -27,6 +26,7 @@ import { ClientesTab } from "./components/ClientesTab";
 import { MedicionesTab } from "./components/MedicionesTab";
 import { PagosTab } from "./components/PagosTab";
 import gymLogo from "../../../recursos/logo.jpg";
+import { computeEstado } from "./estado";
 import type { Cliente, ClienteFormData, Medicion, Pago } from "./types";
 
 type ClienteExtras = Pick<Cliente, "contactoEmergencia">;
@@ -99,18 +99,6 @@ function buildPhone(codigo: string, numero: string) {
   return `+${digitsCode}${digitsNumber}`;
 }
 
-function computeEstado(backendStatus: ClientStatus, fechaVencimiento?: string | null): Cliente["estado"] {
-  if (backendStatus === "INACTIVO") return "inactivo";
-  if (backendStatus === "MOROSO") return "vencido";
-  if (!fechaVencimiento) return "inactivo";
-  const vencimiento = new Date(fechaVencimiento);
-  const hoy = new Date();
-  const diasParaVencer = Math.ceil((vencimiento.getTime() - hoy.getTime()) / (1000 * 60 * 60 * 24));
-  if (vencimiento < hoy) return "vencido";
-  if (diasParaVencer <= 7) return "por-vencer";
-  return "activo";
-}
-
 function paymentMethodFromUi(metodoPago: Pago["metodoPago"]): PaymentMethod {
   if (metodoPago === "efectivo") return "CASH";
   if (metodoPago === "tarjeta") return "CARD";
@@ -0,0 +1,115 @@
+"use client";
+
+import { useEffect, useRef, useState } from "react";
+import { Input } from "@/components/ui/input";
+import { apiGet } from "@/lib/api";
+import type { ClientStatus, ClientSuggestion } from "@/lib/types";
+import { computeEstado } from "../estado";
+
+interface ClienteSuggestInputProps {
+  id?: string;
+  value: string;
+  onChange: (clienteId: string, cliente: ClientSuggestion | null) => void;
+  estado?: ClientStatus;
+  placeholder?: string;
+}
+
+const DEBOUNCE_MS = 250;
+const SUGGEST_LIMIT = 10;
+
+function fullName(cliente: Pick<ClientSuggestion, "nombre" | "apellido">) {
+  return `${cliente.nombre} ${cliente.apellido ?? ""}`.trim();
+}
+
+// Buscador de clientes: consulta /api/clients/suggest al dejar de escribir y muestra lo que devuelve el endpoint
+export function ClienteSuggestInput({ id, value, onChange, estado, placeholder }: ClienteSuggestInputProps) {
+  const [query, setQuery] = useState("");
+  const [suggestions, setSuggestions] = useState<ClientSuggestion[]>([]);
+  const [open, setOpen] = useState(false);
+  const [loading, setLoading] = useState(false);
+  const [chosen, setChosen] = useState<ClientSuggestion | null>(null);
+  const requestSeq = useRef(0);
+
+  // Si el formulario limpia el valor, se olvida el cliente elegido
+  const selected = chosen && String(chosen.id) === value ? chosen : null;
+
+  useEffect(() => {
+    const q = query.trim();
+    if (!q) return;
+    const seq = ++requestSeq.current;
+    const timer = window.setTimeout(async () => {
+      try {
+        const result = await apiGet<ClientSuggestion[]>(
+          `/api/clients/suggest?q=${encodeURIComponent(q)}&limit=${SUGGEST_LIMIT}${estado ? `&estado=${estado}` : ""}`
+        );
+        // Una respuesta vieja no pisa la de una busqueda posterior
+        if (seq === requestSeq.current) setSuggestions(result);
+      } catch {
+        if (seq === requestSeq.current) setSuggestions([]);
+      } finally {
+        if (seq === requestSeq.current) setLoading(false);
+      }
+    }, DEBOUNCE_MS);
+    return () => window.clearTimeout(timer);
+  }, [query, estado]);
+
+  const search = (text: string) => {
+    setQuery(text);
+    setOpen(true);
+    if (text.trim()) {
+      setLoading(true);
+    } else {
+      requestSeq.current += 1;
+      setSuggestions([]);
+      setLoading(false);
+    }
+    if (value) onChange("", null);
+    setChosen(null);
+  };
+
+  const choose = (cliente: ClientSuggestion) => {
+    setChosen(cliente);
+    onChange(String(cliente.id), cliente);
+    setQuery("");
+    setSuggestions([]);
+    setOpen(false);
+  };
+
+  return (
+    <div className="relative">
+      <Input
+        id={id}
+        value={open ? query : selected ? fullName(selected) : query}
+        onChange={(e) => search(e.target.value)}
+        onFocus={() => setOpen(true)}
+        onBlur={() => window.setTimeout(() => setOpen(false), 150)}
+        placeholder={placeholder ?? "Buscar por nombre o cédula"}
+        autoComplete="off"
+        className="rounded-xl"
+      />
+      {open && query.trim() && (
+        <div className="absolute z-50 mt-1 w-full overflow-hidden rounded-xl border border-gray-200 bg-white shadow-lg">
+          {loading && suggestions.length === 0 && <p className="px-4 py-2 text-sm text-gray-500">Buscando...</p>}
+          {!loading && suggestions.length === 0 && <p className="px-4 py-2 text-sm text-gray-500">Sin resultados</p>}
+          {suggestions.map((cliente) => {
+            const estadoCliente = computeEstado(cliente.estado, cliente.fechaVencimiento);
+            return (
+              <button
+                key={cliente.id}
+                type="button"
+                onMouseDown={(e) => e.preventDefault()}
+                onClick={() => choose(cliente)}
+                className="flex w-full items-center justify-between px-4 py-2 text-left text-sm hover:bg-[#ffe5e6]"
+              >
+                <span>
+                  {fullName(cliente)} {estadoCliente === "vencido" && "⏰"} {estadoCliente === "por-vencer" && "⚠️"}
+                </span>
+                {cliente.cedula && <span className="text-xs text-gray-500">{cliente.cedula}</span>}
+              </button>
+            );
+          })}
+        </div>
+      )}
+    </div>
+  );
+}
@@ -5,17 +5,16 @@ import { useForm, useWatch } from "react-hook-form";
 import { Button } from "@/components/ui/button";
 import { Input } from "@/components/ui/input";
 import { Label } from "@/components/ui/label";
-import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select";
-import type { Cliente, Medicion } from "../types";
+import type { Medicion } from "../types";
+import { ClienteSuggestInput } from "./ClienteSuggestInput";
 
 interface MedicionFormProps {
   onSubmit: (data: Omit<Medicion, "id">) => void;
   onCancel: () => void;
-  clientes: Cliente[];
   mediciones: Medicion[];
 }
 
-export function MedicionForm({ onSubmit, onCancel, clientes, mediciones }: MedicionFormProps) {
+export function MedicionForm({ onSubmit, onCancel, mediciones }: MedicionFormProps) {
   const { register, handleSubmit, setValue, control, formState } = useForm<Omit<Medicion, "id">>({
     defaultValues: {
       clienteId: "",
@@ -65,20 +64,12 @@ export function MedicionForm({ onSubmit, onCancel, clientes, mediciones }: Medic
     <form onSubmit={handleSubmit(onSubmit)} className="space-y-6">
       <div className="space-y-2">
         <Label htmlFor="clienteId">Cliente *</Label>
-        <Select value={clienteId} onValueChange={(value) => setValue("clienteId", value)}>
-          <SelectTrigger className="rounded-xl">
-            <SelectValue placeholder="Selecciona un cliente" />
-          </SelectTrigger>
-          <SelectContent>
-            {clientes
-              .filter((c) => c.estado === "activo")
-              .map((cliente) => (
-                <SelectItem key={cliente.id} value={cliente.id}>
-                  {cliente.nombre} {cliente.apellido}
-                </SelectItem>
-              ))}
-          </SelectContent>
-        </Select>
+        <ClienteSuggestInput
+          id="clienteId"
+          value={clienteId}
+          onChange={(value) => setValue("clienteId", value, { shouldValidate: true })}
+          estado="ACTIVO"
+        />
         {errors.clienteId && <p className="text-sm text-red-600">Debes seleccionar un cliente</p>}
       </div>
 
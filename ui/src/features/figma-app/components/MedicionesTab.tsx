@@ -161,7 +161,7 @@ export function MedicionesTab({ mediciones, clientes, onCreateMedicion, onDelete
                   <DialogTitle className="text-2xl">Nueva Medición</DialogTitle>
                   <DialogDescription>Registra las medidas corporales del cliente</DialogDescription>
                 </DialogHeader>
-                <MedicionForm onSubmit={handleAddMedicion} onCancel={() => setDialogOpen(false)} clientes={clientes} mediciones={mediciones} />
+                <MedicionForm onSubmit={handleAddMedicion} onCancel={() => setDialogOpen(false)} mediciones={mediciones} />
               </DialogContent>
             </Dialog>
           </div>
@@ -1,6 +1,6 @@
 "use client";
 
-import { useMemo } from "react";
+import { useMemo, useState } from "react";
 import { useForm, useWatch } from "react-hook-form";
 import { AlertCircle } from "lucide-react";
 import { Badge } from "@/components/ui/badge";
@@ -8,12 +8,14 @@ import { Button } from "@/components/ui/button";
 import { Input } from "@/components/ui/input";
 import { Label } from "@/components/ui/label";
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from "@/components/ui/select";
+import type { ClientSuggestion } from "@/lib/types";
+import { computeEstado } from "../estado";
 import type { Cliente, Pago } from "../types";
+import { ClienteSuggestInput } from "./ClienteSuggestInput";
 
 interface PagoFormProps {
   onSubmit: (data: Omit<Pago, "id">) => void;
   onCancel: () => void;
-  clientes: Cliente[];
 }
 
 const colones = new Intl.NumberFormat("es-CR", { style: "currency", currency: "CRC", maximumFractionDigits: 0 });
@@ -25,7 +27,7 @@ function localDateValue(date = new Date()) {
   return `${yyyy}-${mm}-${dd}`;
 }
 
-export function PagoForm({ onSubmit, onCancel, clientes }: PagoFormProps) {
+export function PagoForm({ onSubmit, onCancel }: PagoFormProps) {
   const today = localDateValue();
   const { register, handleSubmit, setValue, control, formState } = useForm<Omit<Pago, "id">>({
     defaultValues: {
@@ -51,10 +53,15 @@ export function PagoForm({ onSubmit, onCancel, clientes }: PagoFormProps) {
     anual: 120000,
   };
 
+  const [sugerencia, setSugerencia] = useState<ClientSuggestion | null>(null);
+
   const clienteSeleccionado = useMemo(() => {
-    if (!clienteId) return null;
-    return clientes.find((c) => c.id === clienteId) ?? null;
-  }, [clienteId, clientes]);
+    if (!clienteId || !sugerencia) return null;
+    return {
+      estado: computeEstado(sugerencia.estado, sugerencia.fechaVencimiento),
+      fechaVencimiento: sugerencia.fechaVencimiento ?? null,
+    };
+  }, [clienteId, sugerencia]);
 
   const handleFormSubmit = (data: Omit<Pago, "id">) => {
     if (!clienteSeleccionado) return;
@@ -79,27 +86,14 @@ export function PagoForm({ onSubmit, onCancel, clientes }: PagoFormProps) {
     <form onSubmit={handleSubmit(handleFormSubmit)} className="space-y-6">
       <div className="space-y-2">
         <Label htmlFor="clienteId">Cliente *</Label>
-        <Select value={clienteId} onValueChange={(value) => setValue("clienteId", value)}>
-          <SelectTrigger className="rounded-xl">
-            <SelectValue placeholder="Selecciona un cliente" />
-          </SelectTrigger>
-          <SelectContent>
-            {clientes
-              .slice()
-              .sort((a, b) => {
-                if (a.estado === "vencido" && b.estado !== "vencido") return -1;
-                if (b.estado === "vencido" && a.estado !== "vencido") return 1;
-                if (a.estado === "por-vencer" && b.estado === "activo") return -1;
-                if (b.estado === "por-vencer" && a.estado === "activo") return 1;
-                return 0;
-              })
-              .map((cliente) => (
-                <SelectItem key={cliente.id} value={cliente.id}>
-                  {cliente.nombre} {cliente.apellido} {cliente.estado === "vencido" && "⏰"} {cliente.estado === "por-vencer" && "⚠️"}
-                </SelectItem>
-              ))}
-          </SelectContent>
-        </Select>
+        <ClienteSuggestInput
+          id="clienteId"
+          value={clienteId}
+          onChange={(value, cliente) => {
+            setSugerencia(cliente);
+            setValue("clienteId", value, { shouldValidate: true });
+          }}
+        />
         {errors.clienteId && <p className="text-sm text-red-600">Debes seleccionar un cliente</p>}
       </div>
 
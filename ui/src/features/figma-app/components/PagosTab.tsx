@@ -382,7 +382,6 @@ export function PagosTab({ pagos, onCreatePago, onDeletePago, clientes }: PagosT
                     key={paymentFormKey}
                     onSubmit={handleAddPago}
                     onCancel={() => setDialogOpen(false)}
-                    clientes={clientes}
                   />
                 </DialogContent>
               </Dialog>
@@ -0,0 +1,14 @@
+import type { ClientStatus } from "@/lib/types";
+import type { Cliente } from "./types";
+
+export function computeEstado(backendStatus: ClientStatus, fechaVencimiento?: string | null): Cliente["estado"] {
+  if (backendStatus === "INACTIVO") return "inactivo";
+  if (backendStatus === "MOROSO") return "vencido";
+  if (!fechaVencimiento) return "inactivo";
+  const vencimiento = new Date(fechaVencimiento);
+  const hoy = new Date();
+  const diasParaVencer = Math.ceil((vencimiento.getTime() - hoy.getTime()) / (1000 * 60 * 60 * 24));
+  if (vencimiento < hoy) return "vencido";
+  if (diasParaVencer <= 7) return "por-vencer";
+  return "activo";
+}
@@ -112,6 +112,15 @@ export type ClientResponse = {
   notas?: string | null;
 };
 
+export type ClientSuggestion = {
+  id: number;
+  nombre: string;
+  apellido?: string | null;
+  cedula?: string | null;
+  estado: ClientStatus;
+  fechaVencimiento?: string | null;
+};
+
 export type ClientCreateRequest = {
   nombre: string;
   apellido?: string;